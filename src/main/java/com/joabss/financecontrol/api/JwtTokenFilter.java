@@ -1,6 +1,8 @@
 package com.joabss.financecontrol.api;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -10,23 +12,48 @@ import javax.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 import com.joabss.financecontrol.service.JwtService;
+import com.joabss.financecontrol.service.UsuarioAutenticado;
 import com.joabss.financecontrol.service.impl.SecurityUserDetailsService;
 
 public class JwtTokenFilter extends OncePerRequestFilter {
 	
 	private JwtService jwtService;
 	private SecurityUserDetailsService userDetailsService;
+	private boolean principalPorClaims;
+	private Timer tokensValidos;
+	private Timer tokensInvalidos;
 
+	/**
+	 * @param principalPorClaims monta o principal apenas com as claims do
+	 * token, sem consultar o usuário: um usuário removido continua autenticado
+	 * até o token expirar.
+	 */
 	public JwtTokenFilter(
 			JwtService jwtService,
-			SecurityUserDetailsService userDetailsService
+			SecurityUserDetailsService userDetailsService,
+			boolean principalPorClaims,
+			MeterRegistry registry
 			) {
 		this.jwtService = jwtService;
 		this.userDetailsService = userDetailsService;
+		this.principalPorClaims = principalPorClaims;
+		this.tokensValidos = timerVerificacao(registry, "valido");
+		this.tokensInvalidos = timerVerificacao(registry, "invalido");
+	}
+
+	private static Timer timerVerificacao(MeterRegistry registry, String resultado) {
+		return Timer.builder("jwt.verificacao")
+				.description("Duração da verificação do token JWT recebido")
+				.tag("resultado", resultado)
+				.register(registry);
 	}
 
 	@Override
@@ -42,20 +69,24 @@ public class JwtTokenFilter extends OncePerRequestFilter {
 		
 		if(authorization != null && authorization.startsWith("Bearer")) {
 			
-			String token = authorization.split(" ")[1];
-			boolean isTokenValid = jwtService.isTokenValido(token);
+			String token = authorization.substring("Bearer".length()).trim();
+			long inicio = System.nanoTime();
+			Optional<UsuarioAutenticado> usuarioDoToken = jwtService.verificar(token);
+			(usuarioDoToken.isPresent() ? tokensValidos : tokensInvalidos)
+					.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
 			
-			if(isTokenValid) {
-				String login = jwtService.obterLoginUsuario(token);
-				UserDetails usuarioAutenticado = userDetailsService.loadUserByUsername(login);
-				
-				UsernamePasswordAuthenticationToken user = 
-						new UsernamePasswordAuthenticationToken(
-								usuarioAutenticado, null, usuarioAutenticado.getAuthorities());
-				
-				user.setDetails( new WebAuthenticationDetailsSource().buildDetails(request) );
+			if(usuarioDoToken.isPresent()) {
+				UserDetails usuarioAutenticado = obterUsuarioAutenticado(usuarioDoToken.get());
 				
-				SecurityContextHolder.getContext().setAuthentication(user);
+				if (usuarioAutenticado != null) {
+					UsernamePasswordAuthenticationToken user = 
+							new UsernamePasswordAuthenticationToken(
+									usuarioAutenticado, null, usuarioAutenticado.getAuthorities());
+					
+					user.setDetails( new WebAuthenticationDetailsSource().buildDetails(request) );
+					
+					SecurityContextHolder.getContext().setAuthentication(user);
+				}
 				
 			}
 		}
@@ -63,4 +94,17 @@ public class JwtTokenFilter extends OncePerRequestFilter {
 		filterChain.doFilter(request, response);
 	}
 
+	private UserDetails obterUsuarioAutenticado(UsuarioAutenticado usuarioDoToken) {
+		if (principalPorClaims) {
+			return usuarioDoToken;
+		}
+
+		try {
+			return userDetailsService.carregarUsuarioAutenticado(usuarioDoToken.getUsername());
+		} catch (UsernameNotFoundException e) {
+			// token válido de um usuário que não existe mais
+			return null;
+		}
+	}
+
 }
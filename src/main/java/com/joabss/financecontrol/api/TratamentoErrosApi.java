@@ -0,0 +1,35 @@
+package com.joabss.financecontrol.api;
+
+import javax.persistence.EntityNotFoundException;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.jpa.JpaObjectRetrievalFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Erros de persistência causados pelos dados da requisição, que os
+ * controllers não tratam um a um. O caso comum é o principal montado pelas
+ * claims do token ({@code jwt.principal.origem=claims}): o usuário pode ter
+ * sido removido depois do login, e a gravação só falha na chave estrangeira.
+ */
+@Slf4j
+@RestControllerAdvice
+public class TratamentoErrosApi {
+
+	@ExceptionHandler(DataIntegrityViolationException.class)
+	public ResponseEntity<String> integridadeViolada(DataIntegrityViolationException e) {
+		log.debug("Gravação recusada pela base de dados.", e);
+		return ResponseEntity.badRequest()
+				.body("Os dados informados fazem referência a um registro inexistente ou violam uma restrição da base de dados.");
+	}
+
+	@ExceptionHandler({ EntityNotFoundException.class, JpaObjectRetrievalFailureException.class })
+	public ResponseEntity<String> registroNaoEncontrado(RuntimeException e) {
+		log.debug("Registro referenciado não encontrado.", e);
+		return ResponseEntity.badRequest().body("Registro não encontrado para o Id informado.");
+	}
+}
@@ -1,28 +1,68 @@
 package com.joabss.financecontrol.api.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import com.joabss.financecontrol.api.dto.AtualizaStatusDTO;
+import com.joabss.financecontrol.api.dto.AtualizaStatusLoteDTO;
+import com.joabss.financecontrol.api.dto.ErroLoteDTO;
 import com.joabss.financecontrol.api.dto.LancamentoDTO;
+import com.joabss.financecontrol.api.dto.PaginaLancamentoDTO;
+import com.joabss.financecontrol.api.dto.ResultadoLoteDTO;
+import com.joabss.financecontrol.exception.ConflitoVersaoException;
 import com.joabss.financecontrol.exception.RegraNegocioException;
 import com.joabss.financecontrol.model.entity.Lancamento;
 import com.joabss.financecontrol.model.entity.Usuario;
 import com.joabss.financecontrol.model.enums.StatusLancamento;
 import com.joabss.financecontrol.model.enums.TipoLancamento;
 import com.joabss.financecontrol.service.LancamentoService;
+import com.joabss.financecontrol.service.RecorrenciaService;
 import com.joabss.financecontrol.service.UsuarioService;
 
 import lombok.RequiredArgsConstructor;
@@ -34,13 +74,24 @@ public class LancamentoController {
 
 	private final LancamentoService service;
 	private final UsuarioService usuarioService;
+	private final RecorrenciaService recorrenciaService;
+	private final ObjectMapper objectMapper;
+	private final CsvMapper csvMapper = new CsvMapper();
+
+	@Value("${lancamento.lote.tamanho:1000}")
+	private int tamanhoLote;
 
+	/**
+	 * Com {@code projetar=true} e um ano informado, inclui as ocorrências de
+	 * recorrências ainda não materializadas no período, sem id.
+	 */
 	@GetMapping
 	public ResponseEntity<Object> buscar(
 			@RequestParam(value = "descricao", required = false) String descricao,
 			@RequestParam(value = "mes", required = false) Integer mes,
 			@RequestParam(value = "ano", required = false) Integer ano, 
-			@RequestParam("usuario") Long idUsuario
+			@RequestParam("usuario") Long idUsuario,
+			@RequestParam(value = "projetar", defaultValue = "false") boolean projetar
 	) {
 
 		Lancamento lancamentoFiltro = new Lancamento();
@@ -48,22 +99,149 @@ public class LancamentoController {
 		lancamentoFiltro.setMes(mes);
 		lancamentoFiltro.setAno(ano);
 
-		Optional<Usuario> usuario = usuarioService.obterPorId(idUsuario);
+		Optional<Usuario> usuario = usuarioService.obterReferencia(idUsuario);
 		if (usuario.isPresent()) {
 			lancamentoFiltro.setUsuario(usuario.get());
 		} else {
 			return ResponseEntity.badRequest().body("Não foi possível realizar a consulta. Usuário não econtrado para o Id informado.");
 		}
 
-		List<Lancamento> lancamentos = service.buscar(lancamentoFiltro);
+		List<LancamentoDTO> lancamentos = service.buscarDTO(lancamentoFiltro);
+		if (projetar) {
+			List<LancamentoDTO> projetados = recorrenciaService.projetar(lancamentoFiltro);
+			if (!projetados.isEmpty()) {
+				// a lista pode vir do cache, não deve ser alterada
+				lancamentos = new ArrayList<>(lancamentos);
+				lancamentos.addAll(projetados);
+				lancamentos.sort(Comparator.comparing(LancamentoDTO::getAno).thenComparing(LancamentoDTO::getMes));
+			}
+		}
 		return ResponseEntity.ok(lancamentos);
 	}
 
+	@GetMapping("pagina")
+	public ResponseEntity<Object> buscarPagina(
+			@RequestParam(value = "descricao", required = false) String descricao,
+			@RequestParam(value = "mes", required = false) Integer mes,
+			@RequestParam(value = "ano", required = false) Integer ano,
+			@RequestParam("usuario") Long idUsuario,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "tamanho", required = false) Integer tamanho
+	) {
+
+		Lancamento lancamentoFiltro = new Lancamento();
+		lancamentoFiltro.setDescricao(descricao);
+		lancamentoFiltro.setMes(mes);
+		lancamentoFiltro.setAno(ano);
+
+		Optional<Usuario> usuario = usuarioService.obterReferencia(idUsuario);
+		if (usuario.isPresent()) {
+			lancamentoFiltro.setUsuario(usuario.get());
+		} else {
+			return ResponseEntity.badRequest().body("Não foi possível realizar a consulta. Usuário não econtrado para o Id informado.");
+		}
+
+		Lancamento ultimo;
+		try {
+			ultimo = lerCursor(cursor);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body("Cursor de paginação inválido.");
+		}
+
+		Slice<Lancamento> pagina = service.buscarPagina(lancamentoFiltro, ultimo, tamanho);
+		List<Lancamento> lancamentos = pagina.getContent();
+
+		List<LancamentoDTO> itens = new ArrayList<>(lancamentos.size());
+		lancamentos.forEach(lancamento -> itens.add(converter(lancamento)));
+
+		String proximoCursor = null;
+		if (pagina.hasNext()) {
+			proximoCursor = gerarCursor(lancamentos.get(lancamentos.size() - 1));
+		}
+
+		return ResponseEntity.ok(PaginaLancamentoDTO.builder()
+				.itens(itens)
+				.proximoCursor(proximoCursor)
+				.build());
+	}
+
+	/**
+	 * Exporta todo o histórico do usuário em CSV ou NDJSON, opcionalmente
+	 * compactado em gzip. As linhas são escritas na resposta à medida que
+	 * são lidas do banco, então o consumo de memória não depende da
+	 * quantidade de lançamentos.
+	 */
+	@GetMapping("exportar")
+	public ResponseEntity<StreamingResponseBody> exportar(
+			@RequestParam("usuario") Long idUsuario,
+			@RequestParam(value = "formato", defaultValue = "csv") String formato,
+			@RequestParam(value = "gzip", defaultValue = "false") boolean gzip
+	) {
+		if (!usuarioService.obterReferencia(idUsuario).isPresent()) {
+			return erroDeExportacao("Não foi possível realizar a exportação. Usuário não econtrado para o Id informado.");
+		}
+
+		boolean csv = "csv".equalsIgnoreCase(formato);
+		if (!csv && !"ndjson".equalsIgnoreCase(formato)) {
+			return erroDeExportacao("Formato de exportação inválido, use csv ou ndjson.");
+		}
+
+		ObjectWriter escritor = csv
+				? csvMapper.writerFor(LancamentoDTO.class).with(csvMapper.schemaFor(LancamentoDTO.class)
+						.sortedBy("id", "descricao", "mes", "ano", "valor", "usuario", "tipo", "status").withHeader())
+				: objectMapper.writerFor(LancamentoDTO.class).withRootValueSeparator("\n");
+
+		StreamingResponseBody corpo = saida -> {
+			OutputStream destino = gzip ? new GZIPOutputStream(saida, 8192) : saida;
+			try (SequenceWriter linhas = escritor.writeValues(destino)) {
+				service.exportar(idUsuario, lancamento -> {
+					try {
+						linhas.write(lancamento);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			}
+		};
+
+		String arquivo = "lancamentos." + (csv ? "csv" : "ndjson") + (gzip ? ".gz" : "");
+		MediaType tipo = gzip ? MediaType.parseMediaType("application/gzip")
+				: csv ? MediaType.parseMediaType("text/csv;charset=UTF-8") : MediaType.parseMediaType("application/x-ndjson");
+
+		return ResponseEntity.ok()
+				.contentType(tipo)
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + arquivo + "\"")
+				.body(corpo);
+	}
+
+	/**
+	 * O retorno da exportação precisa ser declarado como
+	 * {@code ResponseEntity<StreamingResponseBody>} para o Spring tratá-lo de
+	 * forma assíncrona, então as mensagens de erro também são escritas assim.
+	 */
+	private static ResponseEntity<StreamingResponseBody> erroDeExportacao(String mensagem) {
+		return ResponseEntity.badRequest()
+				.contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+				.body(saida -> saida.write(mensagem.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Devolve a versão do lançamento no ETag, para ser enviada em
+	 * {@code If-Match} nas atualizações. Com {@code If-None-Match} igual à
+	 * versão atual, responde 304 sem corpo.
+	 */
 	@GetMapping("{id}")
-	public ResponseEntity<?> obterLancamento(@PathVariable("id") Long id) {
-		return service.obterPorId(id)
-					.map(lancamento -> new ResponseEntity<Object>(converter(lancamento), HttpStatus.OK))
-					.orElseGet(() -> new ResponseEntity<Object>(HttpStatus.NOT_FOUND));
+	public ResponseEntity<?> obterLancamento(@PathVariable("id") Long id, WebRequest request) {
+		Optional<LancamentoDTO> lancamento = service.obterDTOPorId(id);
+		if (!lancamento.isPresent()) {
+			return new ResponseEntity<Object>(HttpStatus.NOT_FOUND);
+		}
+
+		Long versao = lancamento.get().getVersao();
+		if (versao != null && request.checkNotModified(String.valueOf(versao))) {
+			return null;
+		}
+		return comVersao(lancamento.get(), HttpStatus.OK);
 	}
 
 	@PostMapping
@@ -71,20 +249,101 @@ public class LancamentoController {
 		try {
 			Lancamento entidade = converter(dto);
 			entidade = service.salvar(entidade);
-			return new ResponseEntity<Object>(entidade, HttpStatus.CREATED);
+			return new ResponseEntity<Object>(converter(entidade), HttpStatus.CREATED);
 		} catch (RegraNegocioException e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
 		}
 	}
 
+	/**
+	 * Importa lançamentos em massa a partir de um array JSON, NDJSON ou CSV
+	 * com cabeçalho. O corpo é lido em streaming e gravado em transações de
+	 * {@code lancamento.lote.tamanho} registros; registros inválidos são
+	 * informados pela linha do corpo em que começam, sem interromper a
+	 * importação dos demais.
+	 */
+	@PostMapping(value = "lote", consumes = { MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson", "text/csv" })
+	public ResponseEntity<ResultadoLoteDTO> salvarEmLote(HttpServletRequest request) throws IOException {
+		Map<Long, Optional<Usuario>> usuarios = new HashMap<>();
+		Function<Long, Optional<Usuario>> buscarUsuario = id -> id == null
+				? Optional.empty()
+				: usuarios.computeIfAbsent(id, usuarioService::obterReferencia);
+
+		List<ErroLoteDTO> erros = new ArrayList<>();
+		List<Lancamento> lote = new ArrayList<>(tamanhoLote);
+		int importados = 0;
+		boolean csv = isCsv(request);
+		// o parser de CSV conta as linhas a partir de zero, o de JSON a partir de um
+		int ajusteLinha = csv ? 1 : 0;
+
+		try (MappingIterator<LancamentoDTO> registros = leitorLote(csv).readValues(request.getInputStream())) {
+			while (true) {
+				LancamentoDTO dto;
+				int linha = registros.getParser().getCurrentLocation().getLineNr() + ajusteLinha;
+				try {
+					if (!registros.hasNext()) {
+						break;
+					}
+					linha = registros.getParser().getTokenLocation().getLineNr() + ajusteLinha;
+					dto = registros.next();
+				} catch (RuntimeJsonMappingException e) {
+					erros.add(new ErroLoteDTO(linha, "Registro com formato inválido."));
+					continue;
+				} catch (RuntimeException e) {
+					erros.add(new ErroLoteDTO(linha, "Conteúdo inválido, importação interrompida."));
+					break;
+				}
+
+				try {
+					Lancamento lancamento = converter(dto, buscarUsuario);
+					lancamento.setId(null);
+					service.validar(lancamento);
+					lote.add(lancamento);
+				} catch (RegraNegocioException e) {
+					erros.add(new ErroLoteDTO(linha, e.getMessage()));
+				} catch (IllegalArgumentException e) {
+					erros.add(new ErroLoteDTO(linha, "Informe um Tipo e um Status de Lançamento válidos."));
+				}
+
+				if (lote.size() == tamanhoLote) {
+					importados += service.salvarEmLote(lote).size();
+					lote = new ArrayList<>(tamanhoLote);
+				}
+			}
+		}
+
+		if (!lote.isEmpty()) {
+			importados += service.salvarEmLote(lote).size();
+		}
+
+		ResultadoLoteDTO resultado = ResultadoLoteDTO.builder()
+				.importados(importados)
+				.erros(erros)
+				.build();
+		return new ResponseEntity<>(resultado, importados > 0 || erros.isEmpty() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST);
+	}
+
+	/**
+	 * Com {@code If-Match}, só grava se o lançamento ainda estiver na versão
+	 * informada e responde 412 caso contrário. Sem o cabeçalho, grava sobre a
+	 * versão atual e responde 409 se outra atualização chegar primeiro.
+	 */
 	@PutMapping("{id}")
-	public ResponseEntity<?> atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto) {
-		return service.obterPorId(id).map(entity -> {
+	public ResponseEntity<?> atualizar(
+			@PathVariable("id") Long id,
+			@RequestBody LancamentoDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		// só confere se o lançamento existe: a versão em cache basta
+		return service.obterDTOPorId(id).map(entity -> {
 			try {
 				Lancamento lancamento = converter(dto);
 				lancamento.setId(entity.getId());
+				lancamento.setVersao(lerVersao(ifMatch));
 				service.atualizar(lancamento);
-				return ResponseEntity.ok(lancamento);
+				return comVersao(converter(lancamento), HttpStatus.OK);
+			} catch (ConflitoVersaoException e) {
+				return conflito(ifMatch, e);
 			} catch (RegraNegocioException e) {
 				return ResponseEntity.badRequest().body(e.getMessage());
 			}
@@ -92,8 +351,59 @@ public class LancamentoController {
 			new ResponseEntity<Object>("Lançamento não encontrado na base de Dados.", HttpStatus.BAD_REQUEST));
 	}
 
+	/**
+	 * Atualização parcial com JSON Merge Patch (RFC 7396): só os campos
+	 * presentes no corpo são alterados e validados, e só as colunas que mudam
+	 * são gravadas. Como no PUT, {@code If-Match} torna a gravação condicional.
+	 */
+	@PatchMapping(value = "{id}", consumes = { "application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE })
+	public ResponseEntity<?> atualizarParcialmente(
+			@PathVariable("id") Long id,
+			@RequestBody JsonNode patch,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		if (!patch.isObject()) {
+			return ResponseEntity.badRequest().body("Envie um objeto JSON com os campos a alterar.");
+		}
+
+		try {
+			Set<String> campos = new HashSet<>();
+			patch.fieldNames().forEachRemaining(campos::add);
+
+			LancamentoDTO dto = objectMapper.treeToValue(patch, LancamentoDTO.class);
+			Lancamento alteracoes = new Lancamento();
+			alteracoes.setDescricao(dto.getDescricao());
+			alteracoes.setMes(dto.getMes());
+			alteracoes.setAno(dto.getAno());
+			alteracoes.setValor(dto.getValor());
+			if (dto.getTipo() != null) {
+				alteracoes.setTipo(TipoLancamento.valueOf(dto.getTipo()));
+			}
+			if (dto.getStatus() != null) {
+				alteracoes.setStatus(StatusLancamento.valueOf(dto.getStatus()));
+			}
+			if (dto.getUsuario() != null) {
+				alteracoes.setUsuario(usuarioService.obterReferencia(dto.getUsuario())
+						.orElseThrow(() -> new RegraNegocioException("Usuário não encontrado para o Id informado.")));
+			}
+
+			Lancamento lancamento = service.atualizarCampos(id, lerVersao(ifMatch), alteracoes, campos);
+			return comVersao(converter(lancamento), HttpStatus.OK);
+		} catch (JsonProcessingException | IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body("Não foi possível ler as alterações: " + e.getMessage());
+		} catch (ConflitoVersaoException e) {
+			return conflito(ifMatch, e);
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
 	@PutMapping("{id}/atualiza-status")
-	public ResponseEntity<?> atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto) {
+	public ResponseEntity<?> atualizarStatus(
+			@PathVariable("id") Long id,
+			@RequestBody AtualizaStatusDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
 		return service.obterPorId(id).map(entity -> {
 			StatusLancamento statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
 
@@ -102,8 +412,15 @@ public class LancamentoController {
 			}
 
 			try {
-				service.atualizarStatus(entity, statusSelecionado);
-				return ResponseEntity.ok(entity);
+				// a entidade continua na sessão (open-in-view): alterada, seria gravada pelo flush automático
+				Lancamento lancamento = copiar(entity);
+				if (ifMatch != null) {
+					lancamento.setVersao(lerVersao(ifMatch));
+				}
+				service.atualizarStatus(lancamento, statusSelecionado);
+				return comVersao(converter(lancamento), HttpStatus.OK);
+			} catch (ConflitoVersaoException e) {
+				return conflito(ifMatch, e);
 			} catch (RegraNegocioException e) {
 				return ResponseEntity.badRequest().body(e.getMessage());
 			}
@@ -112,15 +429,123 @@ public class LancamentoController {
 		new ResponseEntity<Object>("Lançamento não encontrado na base de Dados.", HttpStatus.BAD_REQUEST));
 	}
 
+	@PutMapping("atualiza-status")
+	public ResponseEntity<Object> atualizarStatusEmLote(@RequestBody AtualizaStatusLoteDTO dto) {
+		Lancamento lancamentoFiltro = new Lancamento();
+		lancamentoFiltro.setAno(dto.getAno());
+		lancamentoFiltro.setMes(dto.getMes());
+
+		try {
+			if (dto.getUsuario() != null) {
+				Usuario usuario = usuarioService.obterReferencia(dto.getUsuario())
+						.orElseThrow(() -> new RegraNegocioException("Usuário não encontrado para o Id informado."));
+				lancamentoFiltro.setUsuario(usuario);
+			}
+
+			StatusLancamento status;
+			try {
+				status = dto.getStatus() == null ? null : StatusLancamento.valueOf(dto.getStatus());
+				if (dto.getStatusAtual() != null) {
+					lancamentoFiltro.setStatus(StatusLancamento.valueOf(dto.getStatusAtual()));
+				}
+			} catch (IllegalArgumentException e) {
+				return ResponseEntity.badRequest().body("Não foi possível atualizar o status dos lançamentos, envie um status válido.");
+			}
+
+			int atualizados = service.atualizarStatusEmLote(lancamentoFiltro, dto.getIds(), status);
+			return ResponseEntity.ok(atualizados);
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
 	@DeleteMapping("{id}")
 	public ResponseEntity<Object> deletar(@PathVariable("id") Long id) {
 		return service.obterPorId(id).map(entity -> {
-			service.deletar(entity);
-			return new ResponseEntity<Object>(HttpStatus.NO_CONTENT);
+			try {
+				service.deletar(entity);
+				return new ResponseEntity<Object>(HttpStatus.NO_CONTENT);
+			} catch (ConflitoVersaoException e) {
+				return conflito(null, e);
+			}
 		}).orElseGet(() -> 
 			new ResponseEntity<Object>("Lançamento não encontrado na base de Dados.", HttpStatus.BAD_REQUEST));
 	}
 
+	private static ResponseEntity<Object> comVersao(LancamentoDTO lancamento, HttpStatus status) {
+		ResponseEntity.BodyBuilder resposta = ResponseEntity.status(status);
+		if (lancamento.getVersao() != null) {
+			resposta.eTag(String.valueOf(lancamento.getVersao()));
+		}
+		return resposta.body(lancamento);
+	}
+
+	/**
+	 * Versão enviada em {@code If-Match}, como devolvida no ETag. Sem o
+	 * cabeçalho ou com {@code *}, retorna null e a atualização usa a versão
+	 * atual; um valor que não é uma versão nunca coincide com a atual.
+	 */
+	private static Long lerVersao(String ifMatch) {
+		if (ifMatch == null || ifMatch.trim().equals("*")) {
+			return null;
+		}
+
+		String versao = ifMatch.trim();
+		if (versao.startsWith("W/")) {
+			versao = versao.substring(2);
+		}
+		versao = versao.replace("\"", "");
+		try {
+			return Long.valueOf(versao);
+		} catch (NumberFormatException e) {
+			return -1L;
+		}
+	}
+
+	private static ResponseEntity<Object> conflito(String ifMatch, ConflitoVersaoException e) {
+		HttpStatus status = ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+		return new ResponseEntity<Object>(e.getMessage(), status);
+	}
+
+	private String gerarCursor(Lancamento ultimo) {
+		String posicao = ultimo.getAno() + ":" + ultimo.getMes() + ":" + ultimo.getId();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private Lancamento lerCursor(String cursor) {
+		if (cursor == null || cursor.isEmpty()) {
+			return null;
+		}
+
+		String[] posicao = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+		if (posicao.length != 3) {
+			throw new IllegalArgumentException("Cursor inválido: " + cursor);
+		}
+
+		Lancamento ultimo = new Lancamento();
+		ultimo.setAno(Integer.valueOf(posicao[0]));
+		ultimo.setMes(Integer.valueOf(posicao[1]));
+		ultimo.setId(Long.valueOf(posicao[2]));
+		return ultimo;
+	}
+
+	private static Lancamento copiar(Lancamento lancamento) {
+		return Lancamento.builder()
+				.id(lancamento.getId())
+				.descricao(lancamento.getDescricao())
+				.mes(lancamento.getMes())
+				.ano(lancamento.getAno())
+				.usuario(lancamento.getUsuario())
+				.valor(lancamento.getValor())
+				.dataCadastro(lancamento.getDataCadastro())
+				.tipo(lancamento.getTipo())
+				.status(lancamento.getStatus())
+				.versao(lancamento.getVersao())
+				.parcelamento(lancamento.getParcelamento())
+				.parcela(lancamento.getParcela())
+				.build();
+	}
+
 	private LancamentoDTO converter(Lancamento lancamento) {
 		return LancamentoDTO.builder()
 					.id(lancamento.getId())
@@ -131,10 +556,30 @@ public class LancamentoController {
 					.status(lancamento.getStatus().name())
 					.tipo(lancamento.getTipo().name())
 					.usuario(lancamento.getUsuario().getId())
+					.versao(lancamento.getVersao())
 					.build();
 	}
 
+	private boolean isCsv(HttpServletRequest request) {
+		String contentType = request.getContentType();
+		return contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf("text/csv"));
+	}
+
+	private ObjectReader leitorLote(boolean csv) {
+		if (csv) {
+			return csvMapper.readerFor(LancamentoDTO.class)
+					.with(CsvSchema.emptySchema().withHeader())
+					.without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+		}
+		// array JSON ou NDJSON: o MappingIterator percorre os dois formatos
+		return objectMapper.readerFor(LancamentoDTO.class);
+	}
+
 	private Lancamento converter(LancamentoDTO dto) {
+		return converter(dto, usuarioService::obterReferencia);
+	}
+
+	private Lancamento converter(LancamentoDTO dto, Function<Long, Optional<Usuario>> buscarUsuario) {
 		Lancamento lancamento = new Lancamento();
 		lancamento.setId(dto.getId());
 		lancamento.setDescricao(dto.getDescricao());
@@ -142,8 +587,8 @@ public class LancamentoController {
 		lancamento.setMes(dto.getMes());
 		lancamento.setValor(dto.getValor());
 
-		Usuario usuario = usuarioService
-			.obterPorId(dto.getUsuario())
+		Usuario usuario = buscarUsuario
+			.apply(dto.getUsuario())
 			.orElseThrow(() -> new RegraNegocioException("Usuário não encontrado para o Id informado."));
 
 		lancamento.setUsuario(usuario);
@@ -0,0 +1,134 @@
+package com.joabss.financecontrol.api.controller;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.joabss.financecontrol.api.dto.AtualizaParcelasDTO;
+import com.joabss.financecontrol.api.dto.LancamentoDTO;
+import com.joabss.financecontrol.api.dto.ParcelamentoDTO;
+import com.joabss.financecontrol.exception.RegraNegocioException;
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.Parcelamento;
+import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+import com.joabss.financecontrol.service.ParcelamentoService;
+import com.joabss.financecontrol.service.UsuarioService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Planos de parcelamento. As parcelas são lançamentos comuns, criados todos
+ * de uma vez a partir do valor total e da quantidade de parcelas.
+ */
+@RestController
+@RequestMapping("/api/parcelamentos")
+@RequiredArgsConstructor
+public class ParcelamentoController {
+
+	private final ParcelamentoService service;
+	private final UsuarioService usuarioService;
+
+	@PostMapping
+	public ResponseEntity<Object> salvar(@RequestBody ParcelamentoDTO dto) {
+		try {
+			Parcelamento entidade = converter(dto);
+			List<Lancamento> parcelas = service.salvar(entidade);
+			return new ResponseEntity<Object>(converter(entidade, parcelas.stream()
+					.map(this::converter)
+					.collect(Collectors.toList())), HttpStatus.CREATED);
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	@GetMapping("{id}")
+	public ResponseEntity<Object> obter(@PathVariable("id") Long id) {
+		return service.obterPorId(id)
+				.map(parcelamento -> ResponseEntity.<Object>ok(converter(parcelamento, service.buscarParcelas(parcelamento))))
+				.orElseGet(() -> new ResponseEntity<Object>(HttpStatus.NOT_FOUND));
+	}
+
+	@PutMapping("{id}/cancela-restantes")
+	public ResponseEntity<Object> cancelarRestantes(@PathVariable("id") Long id) {
+		return service.obterPorId(id).map(parcelamento -> {
+			int cancelados = service.cancelarRestantes(parcelamento);
+			return ResponseEntity.<Object>ok(cancelados);
+		}).orElseGet(() ->
+			new ResponseEntity<Object>("Parcelamento não encontrado na base de Dados.", HttpStatus.BAD_REQUEST));
+	}
+
+	@PutMapping("{id}/atualiza-restantes")
+	public ResponseEntity<Object> atualizarRestantes(@PathVariable("id") Long id, @RequestBody AtualizaParcelasDTO dto) {
+		try {
+			Parcelamento parcelamento = service.obterPorId(id)
+					.orElseThrow(() -> new RegraNegocioException("Parcelamento não encontrado na base de Dados."));
+			int atualizados = service.atualizarRestantes(parcelamento, dto.getValorRestante());
+			return ResponseEntity.ok(atualizados);
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	private ParcelamentoDTO converter(Parcelamento parcelamento, List<LancamentoDTO> parcelas) {
+		return ParcelamentoDTO.builder()
+					.id(parcelamento.getId())
+					.descricao(parcelamento.getDescricao())
+					.valorTotal(parcelamento.getValorTotal())
+					.quantidadeParcelas(parcelamento.getQuantidadeParcelas())
+					.usuario(parcelamento.getUsuario().getId())
+					.tipo(parcelamento.getTipo().name())
+					.mesInicial(parcelamento.getMesInicial())
+					.anoInicial(parcelamento.getAnoInicial())
+					.parcelas(parcelas)
+					.build();
+	}
+
+	private LancamentoDTO converter(Lancamento lancamento) {
+		return LancamentoDTO.builder()
+					.id(lancamento.getId())
+					.descricao(lancamento.getDescricao())
+					.valor(lancamento.getValor())
+					.mes(lancamento.getMes())
+					.ano(lancamento.getAno())
+					.status(lancamento.getStatus().name())
+					.tipo(lancamento.getTipo().name())
+					.usuario(lancamento.getUsuario().getId())
+					.build();
+	}
+
+	private Parcelamento converter(ParcelamentoDTO dto) {
+		Parcelamento parcelamento = new Parcelamento();
+		parcelamento.setDescricao(dto.getDescricao());
+		parcelamento.setValorTotal(dto.getValorTotal());
+		parcelamento.setQuantidadeParcelas(dto.getQuantidadeParcelas());
+		parcelamento.setMesInicial(dto.getMesInicial());
+		parcelamento.setAnoInicial(dto.getAnoInicial());
+
+		Usuario usuario = Optional.ofNullable(dto.getUsuario())
+			.flatMap(usuarioService::obterReferencia)
+			.orElseThrow(() -> new RegraNegocioException("Usuário não encontrado para o Id informado."));
+
+		parcelamento.setUsuario(usuario);
+
+		if (dto.getTipo() != null) {
+			try {
+				parcelamento.setTipo(TipoLancamento.valueOf(dto.getTipo()));
+			} catch (IllegalArgumentException e) {
+				throw new RegraNegocioException("Informe um Tipo de Lançamento válido.");
+			}
+		}
+
+		return parcelamento;
+	}
+}
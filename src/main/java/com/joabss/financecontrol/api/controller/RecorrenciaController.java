@@ -0,0 +1,121 @@
+package com.joabss.financecontrol.api.controller;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.joabss.financecontrol.api.dto.RecorrenciaDTO;
+import com.joabss.financecontrol.exception.RegraNegocioException;
+import com.joabss.financecontrol.model.entity.Recorrencia;
+import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.model.enums.PeriodicidadeRecorrencia;
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+import com.joabss.financecontrol.service.RecorrenciaService;
+import com.joabss.financecontrol.service.UsuarioService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Regras de lançamentos recorrentes. As ocorrências até o horizonte viram
+ * lançamentos comuns; as seguintes aparecem em {@code GET /api/lancamentos}
+ * com {@code projetar=true}.
+ */
+@RestController
+@RequestMapping("/api/recorrencias")
+@RequiredArgsConstructor
+public class RecorrenciaController {
+
+	private final RecorrenciaService service;
+	private final UsuarioService usuarioService;
+
+	@GetMapping
+	public ResponseEntity<Object> buscar(@RequestParam("usuario") Long idUsuario) {
+		Optional<Usuario> usuario = usuarioService.obterReferencia(idUsuario);
+		if (!usuario.isPresent()) {
+			return ResponseEntity.badRequest().body("Não foi possível realizar a consulta. Usuário não econtrado para o Id informado.");
+		}
+
+		List<RecorrenciaDTO> recorrencias = service.buscarPorUsuario(idUsuario).stream()
+				.map(this::converter)
+				.collect(Collectors.toList());
+		return ResponseEntity.ok(recorrencias);
+	}
+
+	@PostMapping
+	public ResponseEntity<Object> salvar(@RequestBody RecorrenciaDTO dto) {
+		try {
+			Recorrencia entidade = converter(dto);
+			entidade = service.salvar(entidade);
+			return new ResponseEntity<Object>(converter(entidade), HttpStatus.CREATED);
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	@DeleteMapping("{id}")
+	public ResponseEntity<Object> deletar(@PathVariable("id") Long id) {
+		return service.obterPorId(id).map(entity -> {
+			service.deletar(entity);
+			return new ResponseEntity<Object>(HttpStatus.NO_CONTENT);
+		}).orElseGet(() ->
+			new ResponseEntity<Object>("Recorrência não encontrada na base de Dados.", HttpStatus.BAD_REQUEST));
+	}
+
+	private RecorrenciaDTO converter(Recorrencia recorrencia) {
+		return RecorrenciaDTO.builder()
+					.id(recorrencia.getId())
+					.descricao(recorrencia.getDescricao())
+					.valor(recorrencia.getValor())
+					.usuario(recorrencia.getUsuario().getId())
+					.tipo(recorrencia.getTipo().name())
+					.periodicidade(recorrencia.getPeriodicidade().name())
+					.mesInicial(recorrencia.getMesInicial())
+					.anoInicial(recorrencia.getAnoInicial())
+					.mesFinal(recorrencia.getMesFinal())
+					.anoFinal(recorrencia.getAnoFinal())
+					.mesProximo(recorrencia.getMesProximo())
+					.anoProximo(recorrencia.getAnoProximo())
+					.build();
+	}
+
+	private Recorrencia converter(RecorrenciaDTO dto) {
+		Recorrencia recorrencia = new Recorrencia();
+		recorrencia.setDescricao(dto.getDescricao());
+		recorrencia.setValor(dto.getValor());
+		recorrencia.setMesInicial(dto.getMesInicial());
+		recorrencia.setAnoInicial(dto.getAnoInicial());
+		recorrencia.setMesFinal(dto.getMesFinal());
+		recorrencia.setAnoFinal(dto.getAnoFinal());
+
+		Usuario usuario = Optional.ofNullable(dto.getUsuario())
+			.flatMap(usuarioService::obterReferencia)
+			.orElseThrow(() -> new RegraNegocioException("Usuário não encontrado para o Id informado."));
+
+		recorrencia.setUsuario(usuario);
+
+		try {
+			if (dto.getTipo() != null) {
+				recorrencia.setTipo(TipoLancamento.valueOf(dto.getTipo()));
+			}
+
+			if (dto.getPeriodicidade() != null) {
+				recorrencia.setPeriodicidade(PeriodicidadeRecorrencia.valueOf(dto.getPeriodicidade()));
+			}
+		} catch (IllegalArgumentException e) {
+			throw new RegraNegocioException("Informe um Tipo de Lançamento e uma Periodicidade (MENSAL ou ANUAL) válidos.");
+		}
+
+		return recorrencia;
+	}
+}
@@ -1,6 +1,8 @@
 package com.joabss.financecontrol.api.controller;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.http.HttpStatus;
@@ -10,15 +12,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.joabss.financecontrol.api.dto.PeriodoRelatorioDTO;
+import com.joabss.financecontrol.api.dto.ResumoSaldoDTO;
 import com.joabss.financecontrol.api.dto.TokenDTO;
 import com.joabss.financecontrol.api.dto.UsuarioDTO;
 import com.joabss.financecontrol.exception.ErroAutenticacao;
 import com.joabss.financecontrol.exception.RegraNegocioException;
 import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+import com.joabss.financecontrol.model.projection.ResumoSaldo;
 import com.joabss.financecontrol.service.JwtService;
 import com.joabss.financecontrol.service.LancamentoService;
+import com.joabss.financecontrol.service.RecorrenciaService;
 import com.joabss.financecontrol.service.UsuarioService;
 
 import lombok.RequiredArgsConstructor;
@@ -30,6 +38,7 @@ public class UsuarioController {
 
 	private final UsuarioService service;
 	private final LancamentoService lancamentoService;
+	private final RecorrenciaService recorrenciaService;
 	private final JwtService jwtService;
 
 	@PostMapping("/autenticar")
@@ -65,7 +74,7 @@ public class UsuarioController {
 
 	@GetMapping("{id}/saldo")
 	public ResponseEntity<BigDecimal> obterSaldo(@PathVariable("id") Long id) {
-		Optional<Usuario> usuario = service.obterPorId(id);
+		Optional<Usuario> usuario = service.obterReferencia(id);
 
 		if (!usuario.isPresent()) {
 			return new ResponseEntity<BigDecimal>(HttpStatus.NOT_FOUND);
@@ -74,4 +83,73 @@ public class UsuarioController {
 		BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(id);
 		return ResponseEntity.ok(saldo);
 	}
+
+	/**
+	 * Com {@code anoProjecao} e {@code mesProjecao}, os pendentes incluem as
+	 * ocorrências de recorrências ainda não materializadas até esse mês.
+	 */
+	@GetMapping("{id}/resumo")
+	public ResponseEntity<?> obterResumo(
+			@PathVariable("id") Long id,
+			@RequestParam(value = "anoProjecao", required = false) Integer anoProjecao,
+			@RequestParam(value = "mesProjecao", required = false) Integer mesProjecao
+	) {
+		Optional<Usuario> usuario = service.obterReferencia(id);
+
+		if (!usuario.isPresent()) {
+			return new ResponseEntity<ResumoSaldoDTO>(HttpStatus.NOT_FOUND);
+		}
+
+		ResumoSaldo resumo = lancamentoService.obterResumoPorUsuario(id);
+		ResumoSaldoDTO dto = ResumoSaldoDTO.builder()
+				.receitas(resumo.getReceitas())
+				.despesas(resumo.getDespesas())
+				.saldo(resumo.getSaldo())
+				.receitasPendentes(resumo.getReceitasPendentes())
+				.despesasPendentes(resumo.getDespesasPendentes())
+				.build();
+
+		if (anoProjecao != null || mesProjecao != null) {
+			try {
+				Map<TipoLancamento, BigDecimal> projetados = recorrenciaService.projetarPendentes(id, anoProjecao, mesProjecao);
+				dto.setReceitasPendentes(dto.getReceitasPendentes().add(
+						projetados.getOrDefault(TipoLancamento.RECEITA, BigDecimal.ZERO)));
+				dto.setDespesasPendentes(dto.getDespesasPendentes().add(
+						projetados.getOrDefault(TipoLancamento.DESPESA, BigDecimal.ZERO)));
+			} catch (RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		}
+		return ResponseEntity.ok(dto);
+	}
+
+	/**
+	 * Totais por tipo e status e saldo acumulado, mês a mês ou ano a ano
+	 * ({@code agrupamento=anual}), para os gráficos do front end.
+	 */
+	@GetMapping("{id}/relatorio")
+	public ResponseEntity<?> obterRelatorio(
+			@PathVariable("id") Long id,
+			@RequestParam(value = "anoInicial", required = false) Integer anoInicial,
+			@RequestParam(value = "anoFinal", required = false) Integer anoFinal,
+			@RequestParam(value = "agrupamento", defaultValue = "mensal") String agrupamento
+	) {
+		Optional<Usuario> usuario = service.obterReferencia(id);
+
+		if (!usuario.isPresent()) {
+			return new ResponseEntity<Object>(HttpStatus.NOT_FOUND);
+		}
+
+		if (!"mensal".equalsIgnoreCase(agrupamento) && !"anual".equalsIgnoreCase(agrupamento)) {
+			return ResponseEntity.badRequest().body("Agrupamento inválido, use mensal ou anual.");
+		}
+
+		try {
+			List<PeriodoRelatorioDTO> relatorio = lancamentoService.obterRelatorioPorUsuario(
+					id, anoInicial, anoFinal, "anual".equalsIgnoreCase(agrupamento));
+			return ResponseEntity.ok(relatorio);
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
 }
@@ -0,0 +1,15 @@
+package com.joabss.financecontrol.api.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtualizaParcelasDTO {
+
+	private BigDecimal valorRestante;
+}
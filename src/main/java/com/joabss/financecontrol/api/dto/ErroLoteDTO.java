@@ -0,0 +1,16 @@
+package com.joabss.financecontrol.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErroLoteDTO {
+
+	private Integer linha;
+	private String mensagem;
+}
@@ -1,7 +1,12 @@
 package com.joabss.financecontrol.api.dto;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.joabss.financecontrol.model.enums.StatusLancamento;
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,7 +16,9 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class LancamentoDTO {
+public class LancamentoDTO implements Serializable {
+
+	private static final long serialVersionUID = 2L;
 
 	private Long id;
 	private String descricao;
@@ -22,5 +29,24 @@ public class LancamentoDTO {
 	private String tipo;
 	private String status;
 
-	
+	/** Enviada no cabeçalho ETag, não no corpo. */
+	@JsonIgnore
+	private Long versao;
+
+	/**
+	 * Usado nas consultas que projetam o lançamento direto no DTO, sem
+	 * carregar a entidade nem o usuário.
+	 */
+	public LancamentoDTO(Long id, String descricao, Integer mes, Integer ano, BigDecimal valor, Long usuario,
+			TipoLancamento tipo, StatusLancamento status) {
+		this(id, descricao, mes, ano, valor, usuario, tipo, status, null);
+	}
+
+	public LancamentoDTO(Long id, String descricao, Integer mes, Integer ano, BigDecimal valor, Long usuario,
+			TipoLancamento tipo, StatusLancamento status, Long versao) {
+		this(id, descricao, mes, ano, valor, usuario,
+				tipo == null ? null : tipo.name(),
+				status == null ? null : status.name(),
+				versao);
+	}
 }
@@ -0,0 +1,28 @@
+package com.joabss.financecontrol.api.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParcelamentoDTO {
+
+	private Long id;
+	private String descricao;
+	private BigDecimal valorTotal;
+	private Integer quantidadeParcelas;
+	private Long usuario;
+	private String tipo;
+	private Integer mesInicial;
+	private Integer anoInicial;
+
+	/** Preenchido apenas nas respostas. */
+	private List<LancamentoDTO> parcelas;
+}
@@ -0,0 +1,28 @@
+package com.joabss.financecontrol.api.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totais de um mês (ou de um ano, quando {@code mes} é nulo) por tipo e
+ * status. {@code saldo} é o resultado efetivado do período e
+ * {@code saldoAcumulado} o saldo efetivado ao fim dele, contando todos os
+ * períodos anteriores.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeriodoRelatorioDTO {
+
+	private Integer ano;
+	private Integer mes;
+	private List<TotalRelatorioDTO> totais;
+	private BigDecimal saldo;
+	private BigDecimal saldoAcumulado;
+}
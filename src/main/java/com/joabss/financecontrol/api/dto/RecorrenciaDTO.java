@@ -0,0 +1,30 @@
+package com.joabss.financecontrol.api.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecorrenciaDTO {
+
+	private Long id;
+	private String descricao;
+	private BigDecimal valor;
+	private Long usuario;
+	private String tipo;
+	private String periodicidade;
+	private Integer mesInicial;
+	private Integer anoInicial;
+	private Integer mesFinal;
+	private Integer anoFinal;
+
+	/** Primeira ocorrência ainda não gravada como lançamento; nula quando não há mais. */
+	private Integer mesProximo;
+	private Integer anoProximo;
+}
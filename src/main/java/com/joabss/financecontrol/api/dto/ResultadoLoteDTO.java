@@ -0,0 +1,18 @@
+package com.joabss.financecontrol.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteDTO {
+
+	private Integer importados;
+	private List<ErroLoteDTO> erros;
+}
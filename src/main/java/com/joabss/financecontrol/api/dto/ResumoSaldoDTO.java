@@ -0,0 +1,21 @@
+package com.joabss.financecontrol.api.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoSaldoDTO {
+
+	private BigDecimal receitas;
+	private BigDecimal despesas;
+	private BigDecimal saldo;
+	private BigDecimal receitasPendentes;
+	private BigDecimal despesasPendentes;
+}
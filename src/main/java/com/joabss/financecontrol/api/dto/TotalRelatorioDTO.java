@@ -0,0 +1,20 @@
+package com.joabss.financecontrol.api.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TotalRelatorioDTO {
+
+	private String tipo;
+	private String status;
+	private BigDecimal valor;
+	private Long quantidade;
+}
@@ -0,0 +1,40 @@
+package com.joabss.financecontrol.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Cache dos resultados do {@code LancamentoService}. O provedor vem de
+ * {@code spring.cache.type}: Caffeine local por padrão, Redis no profile
+ * {@code redis} e mapa simples nos testes. O Caffeine só serve a implantações
+ * de instância única; veja {@code CacheLancamentos}.
+ */
+@EnableCaching
+@Configuration
+public class CacheConfiguration {
+
+	/**
+	 * Taxa de acerto de cada cache Caffeine, além dos contadores
+	 * {@code cache.gets} que o Spring Boot já registra.
+	 */
+	@Bean
+	public MeterBinder taxaAcertoCaches(CacheManager cacheManager) {
+		return registry -> cacheManager.getCacheNames().forEach(nome -> {
+			Cache cache = cacheManager.getCache(nome);
+			if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache) {
+				com.github.benmanes.caffeine.cache.Cache<?, ?> nativo =
+						(com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache();
+				Gauge.builder("cache.taxa.acerto", nativo, c -> c.stats().hitRate())
+						.description("Fração das leituras do cache atendidas sem consultar a origem")
+						.tag("cache", nome)
+						.register(registry);
+			}
+		});
+	}
+}
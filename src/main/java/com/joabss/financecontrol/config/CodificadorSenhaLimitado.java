@@ -0,0 +1,88 @@
+package com.joabss.financecontrol.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.joabss.financecontrol.exception.ErroAutenticacao;
+
+/**
+ * Executa o hash de senhas em um pool próprio, com threads e fila limitadas,
+ * para que um pico de autenticações ocupe no máximo essas threads de CPU em
+ * vez de todas as threads do servidor. Quando a fila está cheia ou a espera
+ * passa do limite, a operação falha com {@link ErroAutenticacao}.
+ */
+public class CodificadorSenhaLimitado implements PasswordEncoder, DisposableBean {
+
+	private final PasswordEncoder codificador;
+	private final ThreadPoolExecutor executor;
+	private final long esperaMaximaMs;
+
+	public CodificadorSenhaLimitado(PasswordEncoder codificador, int threads, int fila, long esperaMaximaMs) {
+		this.codificador = codificador;
+		this.esperaMaximaMs = esperaMaximaMs;
+
+		AtomicInteger contador = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(fila),
+				tarefa -> {
+					Thread thread = new Thread(tarefa, "hash-senha-" + contador.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				},
+				new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	@Override
+	public String encode(CharSequence senha) {
+		return executar(() -> codificador.encode(senha));
+	}
+
+	@Override
+	public boolean matches(CharSequence senha, String hash) {
+		return executar(() -> codificador.matches(senha, hash));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String hash) {
+		return codificador.upgradeEncoding(hash);
+	}
+
+	private <T> T executar(Callable<T> operacao) {
+		Future<T> resultado;
+		try {
+			resultado = executor.submit(operacao);
+		} catch (RejectedExecutionException e) {
+			throw new ErroAutenticacao("Muitas autenticações simultâneas, tente novamente em instantes.");
+		}
+
+		try {
+			return resultado.get(esperaMaximaMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			resultado.cancel(true);
+			throw new ErroAutenticacao("Muitas autenticações simultâneas, tente novamente em instantes.");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ErroAutenticacao("Autenticação interrompida.");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+}
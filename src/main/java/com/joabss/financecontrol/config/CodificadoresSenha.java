@@ -0,0 +1,48 @@
+package com.joabss.financecontrol.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+/**
+ * Monta o codificador de senhas a partir do algoritmo configurado. Hashes são
+ * gravados com o prefixo do algoritmo ({@code {bcrypt}...}); hashes antigos,
+ * sem prefixo, são BCrypt e continuam sendo aceitos, mas são apontados por
+ * {@link PasswordEncoder#upgradeEncoding(String)} para serem refeitos.
+ */
+public final class CodificadoresSenha {
+
+	public static final String BCRYPT = "bcrypt";
+	public static final String PBKDF2 = "pbkdf2";
+	public static final String ARGON2 = "argon2";
+
+	private CodificadoresSenha() {
+	}
+
+	public static PasswordEncoder criar(String algoritmo, int custoBcrypt, int iteracoesPbkdf2,
+			int iteracoesArgon2, int memoriaArgon2Kb) {
+		Map<String, PasswordEncoder> codificadores = new HashMap<>();
+		codificadores.put(BCRYPT, new BCryptPasswordEncoder(custoBcrypt));
+		codificadores.put(PBKDF2, pbkdf2(iteracoesPbkdf2));
+		codificadores.put(ARGON2, new Argon2PasswordEncoder(16, 32, 1, memoriaArgon2Kb, iteracoesArgon2));
+
+		if (!codificadores.containsKey(algoritmo)) {
+			throw new IllegalArgumentException("Algoritmo de senha não suportado: " + algoritmo);
+		}
+
+		DelegatingPasswordEncoder codificador = new DelegatingPasswordEncoder(algoritmo, codificadores);
+		codificador.setDefaultPasswordEncoderForMatches(codificadores.get(BCRYPT));
+		return codificador;
+	}
+
+	private static PasswordEncoder pbkdf2(int iteracoes) {
+		Pbkdf2PasswordEncoder codificador = new Pbkdf2PasswordEncoder("", iteracoes, 256);
+		codificador.setAlgorithm(Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+		return codificador;
+	}
+}
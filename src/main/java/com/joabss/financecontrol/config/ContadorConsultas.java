@@ -0,0 +1,83 @@
+package com.joabss.financecontrol.config;
+
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import com.joabss.financecontrol.exception.ConsultasExcedidasException;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate na thread corrente, entre
+ * {@link #iniciar()} e {@link #encerrar()}. Fora desse intervalo os comandos
+ * não são contados.
+ *
+ * Com {@code consultas.falhar-acima-do-limite} o comando que ultrapassa
+ * {@code consultas.limite-por-requisicao} é interrompido com
+ * {@link ConsultasExcedidasException}, o que faz um N+1 quebrar o teste em vez
+ * de passar despercebido.
+ */
+@Component
+public class ContadorConsultas implements StatementInspector, HibernatePropertiesCustomizer {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final ThreadLocal<int[]> CONTAGEM = new ThreadLocal<>();
+
+	private final int limite;
+	private final boolean falharAcimaDoLimite;
+
+	public ContadorConsultas(
+			@Value("${consultas.limite-por-requisicao:0}") int limite,
+			@Value("${consultas.falhar-acima-do-limite:false}") boolean falharAcimaDoLimite) {
+		this.limite = limite;
+		this.falharAcimaDoLimite = falharAcimaDoLimite;
+	}
+
+	@Override
+	public void customize(Map<String, Object> hibernateProperties) {
+		hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+	}
+
+	@Override
+	public String inspect(String sql) {
+		int[] contagem = CONTAGEM.get();
+		if (contagem != null) {
+			contagem[0]++;
+			if (falharAcimaDoLimite && acimaDoLimite(contagem[0])) {
+				throw new ConsultasExcedidasException(
+						"Limite de " + limite + " comandos SQL excedido: " + sql);
+			}
+		}
+		return sql;
+	}
+
+	public void iniciar() {
+		CONTAGEM.set(new int[1]);
+	}
+
+	/**
+	 * @return comandos contados desde {@link #iniciar()}.
+	 */
+	public int encerrar() {
+		int total = contagem();
+		CONTAGEM.remove();
+		return total;
+	}
+
+	public int contagem() {
+		int[] contagem = CONTAGEM.get();
+		return contagem == null ? 0 : contagem[0];
+	}
+
+	public boolean acimaDoLimite(int total) {
+		return limite > 0 && total > limite;
+	}
+
+	public int getLimite() {
+		return limite;
+	}
+}
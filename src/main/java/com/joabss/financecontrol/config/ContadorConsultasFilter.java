@@ -0,0 +1,72 @@
+package com.joabss.financecontrol.config;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registra quantos comandos SQL cada requisição executou, no resumo
+ * {@code http.server.requests.consultas} e no atributo
+ * {@link #ATRIBUTO_CONSULTAS} da requisição, que os testes de endpoint podem
+ * consultar. Requisições acima do limite configurado geram um aviso no log.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ContadorConsultasFilter extends OncePerRequestFilter {
+
+	public static final String ATRIBUTO_CONSULTAS = ContadorConsultasFilter.class.getName() + ".consultas";
+
+	private ContadorConsultas contador;
+	private MeterRegistry registry;
+
+	public ContadorConsultasFilter(ContadorConsultas contador, MeterRegistry registry) {
+		this.contador = contador;
+		this.registry = registry;
+	}
+
+	@Override
+	protected void doFilterInternal(
+			HttpServletRequest request,
+			HttpServletResponse response,
+			FilterChain filterChain)
+			throws ServletException, IOException {
+
+		contador.iniciar();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			int total = contador.encerrar();
+			request.setAttribute(ATRIBUTO_CONSULTAS, total);
+
+			Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			String uri = padrao == null ? "UNKNOWN" : padrao.toString();
+
+			DistributionSummary.builder("http.server.requests.consultas")
+					.description("Comandos SQL executados por requisição")
+					.baseUnit("consultas")
+					.tag("method", request.getMethod())
+					.tag("uri", uri)
+					.register(registry)
+					.record(total);
+
+			if (contador.acimaDoLimite(total)) {
+				log.warn("{} {} executou {} comandos SQL (limite {})",
+						request.getMethod(), uri, total, contador.getLimite());
+			}
+		}
+	}
+}
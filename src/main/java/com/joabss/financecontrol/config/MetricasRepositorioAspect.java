@@ -0,0 +1,75 @@
+package com.joabss.financecontrol.config;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mede o tempo de cada chamada aos repositórios Spring Data do pacote
+ * {@code model.repository}, inclusive os métodos herdados de
+ * {@code JpaRepository}. Usa o nome e as tags de
+ * {@code spring.data.repository.invocations}, as mesmas das métricas de
+ * repositório das versões mais novas do Spring Boot.
+ */
+@Aspect
+@Component
+public class MetricasRepositorioAspect {
+
+	private static final String PACOTE_REPOSITORIOS = "com.joabss.financecontrol.model.repository";
+
+	private MeterRegistry registry;
+	private Map<Class<?>, Optional<String>> nomesRepositorios = new ConcurrentHashMap<>();
+
+	public MetricasRepositorioAspect(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	// o alvo é o proxy do Spring Data, não uma classe do pacote: within() não o alcança,
+	// então o pacote é conferido pela interface do repositório
+	@Around("target(org.springframework.data.repository.Repository)")
+	public Object medir(ProceedingJoinPoint chamada) throws Throwable {
+		Optional<String> repositorio = nomeRepositorio(chamada.getTarget());
+		if (!repositorio.isPresent()) {
+			return chamada.proceed();
+		}
+
+		Timer.Sample amostra = Timer.start(registry);
+		String estado = "SUCCESS";
+		String excecao = "None";
+		try {
+			return chamada.proceed();
+		} catch (Throwable e) {
+			estado = "ERROR";
+			excecao = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			amostra.stop(Timer.builder("spring.data.repository.invocations")
+					.description("Duração das chamadas aos repositórios")
+					.tag("repository", repositorio.get())
+					.tag("method", chamada.getSignature().getName())
+					.tag("state", estado)
+					.tag("exception", excecao)
+					.register(registry));
+		}
+	}
+
+	private Optional<String> nomeRepositorio(Object repositorio) {
+		return nomesRepositorios.computeIfAbsent(repositorio.getClass(), classe -> {
+			for (Class<?> interfaceRepositorio : AopProxyUtils.proxiedUserInterfaces(repositorio)) {
+				if (interfaceRepositorio.getName().startsWith(PACOTE_REPOSITORIOS + ".")) {
+					return Optional.of(interfaceRepositorio.getSimpleName());
+				}
+			}
+			return Optional.empty();
+		});
+	}
+}
@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.Ordered;
@@ -13,7 +14,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -21,6 +21,8 @@ import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 import com.joabss.financecontrol.api.JwtTokenFilter;
 import com.joabss.financecontrol.service.JwtService;
 import com.joabss.financecontrol.service.impl.SecurityUserDetailsService;
@@ -32,16 +34,39 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 	private SecurityUserDetailsService userDetailsService;
 	@Autowired
 	private JwtService jwtService;
+	@Autowired
+	private MeterRegistry meterRegistry;
+	@Value("${jwt.principal.origem:cache}")
+	private String origemPrincipal;
+
+	@Value("${seguranca.senha.algoritmo:bcrypt}")
+	private String algoritmoSenha;
+	@Value("${seguranca.senha.bcrypt.custo:10}")
+	private int custoBcrypt;
+	@Value("${seguranca.senha.pbkdf2.iteracoes:185000}")
+	private int iteracoesPbkdf2;
+	@Value("${seguranca.senha.argon2.iteracoes:3}")
+	private int iteracoesArgon2;
+	@Value("${seguranca.senha.argon2.memoria-kb:4096}")
+	private int memoriaArgon2Kb;
+	@Value("${seguranca.senha.executor.threads:2}")
+	private int threadsSenha;
+	@Value("${seguranca.senha.executor.fila:100}")
+	private int filaSenha;
+	@Value("${seguranca.senha.executor.espera-maxima-ms:5000}")
+	private long esperaMaximaSenhaMs;
 	
 	@Bean
 	public PasswordEncoder passwordEncoder() {
-		PasswordEncoder encoder = new BCryptPasswordEncoder();
-		return encoder;
+		PasswordEncoder encoder = CodificadoresSenha.criar(
+				algoritmoSenha, custoBcrypt, iteracoesPbkdf2, iteracoesArgon2, memoriaArgon2Kb);
+		return new CodificadorSenhaLimitado(encoder, threadsSenha, filaSenha, esperaMaximaSenhaMs);
 	}
 	
 	@Bean
 	public JwtTokenFilter jwtTokenFilter() {
-		return new JwtTokenFilter(jwtService, userDetailsService);
+		return new JwtTokenFilter(jwtService, userDetailsService,
+				"claims".equalsIgnoreCase(origemPrincipal), meterRegistry);
 	}
 
 	@Override
@@ -59,6 +84,7 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 				.requestMatchers(CorsUtils::isPreFlightRequest).permitAll()
 				.antMatchers(HttpMethod.POST, "/api/usuarios/autenticar").permitAll()
 				.antMatchers(HttpMethod.POST, "/api/usuarios").permitAll()
+				.antMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
 				.anyRequest().authenticated()	
 		.and()
 			.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
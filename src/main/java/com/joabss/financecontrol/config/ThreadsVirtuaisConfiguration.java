@@ -0,0 +1,59 @@
+package com.joabss.financecontrol.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Atende as requisições em threads virtuais quando
+ * {@code servidor.threads-virtuais=true} e a aplicação roda em um JDK 21 ou
+ * superior. O Tomcat passa a criar uma thread virtual por requisição em vez
+ * de usar o pool de {@code server.tomcat.max-threads}, e as respostas
+ * assíncronas (exportação) usam o mesmo executor.
+ *
+ * <p>A concorrência deixa de ser limitada pelas threads do servidor e passa a
+ * ser limitada pelo pool de conexões do Hikari e pelo pool de hash de senha
+ * ({@link CodificadorSenhaLimitado}), que continuam valendo.
+ *
+ * <p>O código é compilado para Java 8, então o executor é obtido por
+ * reflexão; em um JDK sem threads virtuais a aplicação não inicia.
+ */
+@Configuration
+@ConditionalOnProperty(name = "servidor.threads-virtuais", havingValue = "true")
+public class ThreadsVirtuaisConfiguration {
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<AbstractProtocol<?>> threadsVirtuaisTomcat() {
+		return protocolo -> protocolo.setExecutor(criarExecutor());
+	}
+
+	/**
+	 * Substitui o pool padrão do Spring Boot, que só é criado quando não há
+	 * outro executor no contexto.
+	 */
+	@Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, destroyMethod = "")
+	public AsyncTaskExecutor applicationTaskExecutor() {
+		return new TaskExecutorAdapter(criarExecutor());
+	}
+
+	static ExecutorService criarExecutor() {
+		try {
+			Method metodo = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) metodo.invoke(null);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException("servidor.threads-virtuais exige um JDK 21 ou superior, versão atual: "
+					+ System.getProperty("java.version"), e);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Não foi possível criar o executor de threads virtuais.", e);
+		}
+	}
+}
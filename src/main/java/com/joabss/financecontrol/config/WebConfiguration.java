@@ -1,6 +1,11 @@
 package com.joabss.financecontrol.config;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -9,8 +14,29 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebConfiguration implements WebMvcConfigurer {
 
+	private AsyncTaskExecutor taskExecutor;
+	private long tempoLimiteAssincrono;
+
+	public WebConfiguration(
+			@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor taskExecutor,
+			@Value("${lancamento.exportacao.tempo-limite-ms:600000}") long tempoLimiteAssincrono) {
+		this.taskExecutor = taskExecutor;
+		this.tempoLimiteAssincrono = tempoLimiteAssincrono;
+	}
+
 	@Override
 	public void addCorsMappings(CorsRegistry registry) {
-		registry.addMapping("/**").allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS");
+		registry.addMapping("/**").allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS");
+	}
+
+	/**
+	 * Com {@code @EnableWebMvc} o Spring Boot não configura as respostas
+	 * assíncronas: sem isto as exportações usariam uma thread nova por
+	 * requisição e o tempo limite padrão do Tomcat.
+	 */
+	@Override
+	public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+		configurer.setTaskExecutor(taskExecutor);
+		configurer.setDefaultTimeout(tempoLimiteAssincrono);
 	}
 }
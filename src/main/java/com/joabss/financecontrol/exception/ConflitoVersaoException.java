@@ -0,0 +1,10 @@
+package com.joabss.financecontrol.exception;
+
+public class ConflitoVersaoException extends RuntimeException {
+
+	private static final long serialVersionUID = 6412273503946187145L;
+
+	public ConflitoVersaoException(String msg) {
+		super(msg);
+	}
+}
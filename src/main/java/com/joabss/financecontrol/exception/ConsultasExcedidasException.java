@@ -0,0 +1,9 @@
+package com.joabss.financecontrol.exception;
+
+public class ConsultasExcedidasException extends RuntimeException {
+	private static final long serialVersionUID = 3021754370112935618L;
+
+	public ConsultasExcedidasException(String msg) {
+		super(msg);
+	}
+}
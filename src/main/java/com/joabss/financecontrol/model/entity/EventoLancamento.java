@@ -0,0 +1,90 @@
+package com.joabss.financecontrol.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import com.joabss.financecontrol.model.enums.StatusLancamento;
+import com.joabss.financecontrol.model.enums.TipoEventoLancamento;
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Alteração de um {@link Lancamento}, gravada na mesma transação da escrita
+ * (outbox) e removida depois de entregue aos assinantes. Guarda o estado do
+ * lançamento após a alteração, para que os assinantes não precisem lê-lo de
+ * novo. Um evento cuja entrega falhou guarda as tentativas feitas e o último
+ * erro; ao atingir {@code lancamento.eventos.max-tentativas} ele permanece na
+ * tabela, mas deixa de ser entregue.
+ */
+@Entity
+@Table(name = "evento_lancamento", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoLancamento {
+
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_evento_lancamento")
+	@SequenceGenerator(name = "seq_evento_lancamento", schema = "financas", sequenceName = "seq_evento_lancamento", allocationSize = 50)
+	private Long id;
+
+	@Column(name = "tipo_evento")
+	@Enumerated(value = EnumType.STRING)
+	private TipoEventoLancamento tipoEvento;
+
+	@Column(name = "id_lancamento")
+	private Long idLancamento;
+
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	@Column(name = "descricao")
+	private String descricao;
+
+	@Column(name = "mes")
+	private Integer mes;
+
+	@Column(name = "ano")
+	private Integer ano;
+
+	@Column(name = "valor")
+	private BigDecimal valor;
+
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+
+	@Column(name = "status")
+	@Enumerated(value = EnumType.STRING)
+	private StatusLancamento status;
+
+	@Column(name = "data_criacao")
+	@Convert(converter = Jsr310JpaConverters.LocalDateTimeConverter.class)
+	private LocalDateTime dataCriacao;
+
+	@Column(name = "tentativas")
+	@Builder.Default
+	private Integer tentativas = 0;
+
+	@Column(name = "erro")
+	private String erro;
+}
@@ -8,13 +8,17 @@ import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
 
 import com.joabss.financecontrol.model.enums.StatusLancamento;
@@ -24,9 +28,15 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
+/**
+ * As atualizações de uma entidade carregada gravam apenas as colunas
+ * alteradas ({@link DynamicUpdate}), verificando a versão.
+ */
 @Entity
 @Table(name = "lancamento", schema = "financas")
+@DynamicUpdate
 @Data
 @Builder
 @NoArgsConstructor
@@ -34,7 +44,8 @@ import lombok.NoArgsConstructor;
 public class Lancamento {
 	@Id
 	@Column(name = "id")
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_lancamento")
+	@SequenceGenerator(name = "seq_lancamento", schema = "financas", sequenceName = "seq_lancamento", allocationSize = 50)
 	private Long id;
 
 	@Column(name = "descricao")
@@ -46,8 +57,9 @@ public class Lancamento {
 	@Column(name = "ano")
 	private Integer ano;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "id_usuario")
+	@ToString.Exclude
 	private Usuario usuario;
 
 	@Column(name = "valor")
@@ -64,4 +76,17 @@ public class Lancamento {
 	@Column(name = "status")
 	@Enumerated(value = EnumType.STRING)
 	private StatusLancamento status;
+
+	@Version
+	@Column(name = "versao")
+	private Long versao;
+
+	/** Plano a que a parcela pertence; nulo para lançamentos avulsos. */
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_parcelamento")
+	@ToString.Exclude
+	private Parcelamento parcelamento;
+
+	@Column(name = "parcela")
+	private Integer parcela;
 }
@@ -0,0 +1,77 @@
+package com.joabss.financecontrol.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Compra ou receita dividida em {@code quantidadeParcelas} lançamentos
+ * mensais a partir de {@code mesInicial}/{@code anoInicial}. Cada parcela é
+ * um {@link Lancamento} com {@code parcelamento} e {@code parcela}
+ * preenchidos.
+ */
+@Entity
+@Table(name = "parcelamento", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Parcelamento {
+
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_parcelamento")
+	@SequenceGenerator(name = "seq_parcelamento", schema = "financas", sequenceName = "seq_parcelamento", allocationSize = 50)
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_usuario")
+	@ToString.Exclude
+	private Usuario usuario;
+
+	@Column(name = "descricao")
+	private String descricao;
+
+	@Column(name = "valor_total")
+	private BigDecimal valorTotal;
+
+	@Column(name = "quantidade_parcelas")
+	private Integer quantidadeParcelas;
+
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+
+	@Column(name = "mes_inicial")
+	private Integer mesInicial;
+
+	@Column(name = "ano_inicial")
+	private Integer anoInicial;
+
+	@Column(name = "data_cadastro")
+	@Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+	private LocalDate dataCadastro;
+}
@@ -0,0 +1,92 @@
+package com.joabss.financecontrol.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import com.joabss.financecontrol.model.enums.PeriodicidadeRecorrencia;
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Regra de um lançamento que se repete todo mês ou todo ano. As ocorrências
+ * viram {@link Lancamento} aos poucos, só até o horizonte de materialização;
+ * {@code mesProximo}/{@code anoProximo} apontam a primeira ainda não gravada
+ * e ficam nulos quando todas já foram. Sem {@code mesFinal}/{@code anoFinal},
+ * a regra não tem fim.
+ */
+@Entity
+@Table(name = "recorrencia", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Recorrencia {
+
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_recorrencia")
+	@SequenceGenerator(name = "seq_recorrencia", schema = "financas", sequenceName = "seq_recorrencia", allocationSize = 50)
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_usuario")
+	@ToString.Exclude
+	private Usuario usuario;
+
+	@Column(name = "descricao")
+	private String descricao;
+
+	@Column(name = "valor")
+	private BigDecimal valor;
+
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+
+	@Column(name = "periodicidade")
+	@Enumerated(value = EnumType.STRING)
+	private PeriodicidadeRecorrencia periodicidade;
+
+	@Column(name = "mes_inicial")
+	private Integer mesInicial;
+
+	@Column(name = "ano_inicial")
+	private Integer anoInicial;
+
+	@Column(name = "mes_final")
+	private Integer mesFinal;
+
+	@Column(name = "ano_final")
+	private Integer anoFinal;
+
+	@Column(name = "mes_proximo")
+	private Integer mesProximo;
+
+	@Column(name = "ano_proximo")
+	private Integer anoProximo;
+
+	@Column(name = "data_cadastro")
+	@Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+	private LocalDate dataCadastro;
+}
@@ -0,0 +1,17 @@
+package com.joabss.financecontrol.model.enums;
+
+public enum PeriodicidadeRecorrencia {
+
+	MENSAL(1), ANUAL(12);
+
+	private final int meses;
+
+	PeriodicidadeRecorrencia(int meses) {
+		this.meses = meses;
+	}
+
+	/** Intervalo em meses entre duas ocorrências. */
+	public int getMeses() {
+		return meses;
+	}
+}
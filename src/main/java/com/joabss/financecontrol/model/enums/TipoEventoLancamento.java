@@ -0,0 +1,6 @@
+package com.joabss.financecontrol.model.enums;
+
+public enum TipoEventoLancamento {
+
+	CRIADO, ATUALIZADO, REMOVIDO;
+}
@@ -0,0 +1,8 @@
+package com.joabss.financecontrol.model.projection;
+
+public interface DescricaoLancamento {
+
+	Long getId();
+
+	String getDescricao();
+}
@@ -0,0 +1,18 @@
+package com.joabss.financecontrol.model.projection;
+
+import java.math.BigDecimal;
+
+public interface ResumoSaldo {
+
+	BigDecimal getReceitas();
+
+	BigDecimal getDespesas();
+
+	BigDecimal getReceitasPendentes();
+
+	BigDecimal getDespesasPendentes();
+
+	default BigDecimal getSaldo() {
+		return getReceitas().subtract(getDespesas());
+	}
+}
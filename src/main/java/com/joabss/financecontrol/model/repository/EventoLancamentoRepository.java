@@ -0,0 +1,52 @@
+package com.joabss.financecontrol.model.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.joabss.financecontrol.model.entity.EventoLancamento;
+
+public interface EventoLancamentoRepository extends JpaRepository<EventoLancamento, Long> {
+
+	/**
+	 * Os eventos mais antigos ainda não entregues e com menos de
+	 * {@code maximoTentativas} falhas, bloqueados até o fim da transação.
+	 * Linhas já bloqueadas por outra instância são puladas ({@code skip locked}
+	 * no PostgreSQL), então várias instâncias podem despachar ao mesmo tempo
+	 * sem entregar o mesmo evento duas vezes.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+	@Query("select e from EventoLancamento e where e.tentativas < :maximoTentativas order by e.id")
+	List<EventoLancamento> buscarPendentes(@Param("maximoTentativas") int maximoTentativas, Pageable pageable);
+
+	/**
+	 * Um único evento pendente, bloqueado como em {@link #buscarPendentes};
+	 * vazio se já foi entregue, esgotou as tentativas ou está bloqueado por
+	 * outra instância.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+	@Query("select e from EventoLancamento e where e.id = :id and e.tentativas < :maximoTentativas")
+	Optional<EventoLancamento> bloquearPendente(@Param("id") Long id, @Param("maximoTentativas") int maximoTentativas);
+
+	@Modifying
+	@Query("update EventoLancamento e set e.tentativas = e.tentativas + 1, e.erro = :erro where e.id = :id")
+	int registrarFalha(@Param("id") Long id, @Param("erro") String erro);
+
+	/**
+	 * Se há eventos do usuário ainda não entregues, inclusive os que
+	 * esgotaram as tentativas.
+	 */
+	boolean existsByIdUsuario(Long idUsuario);
+}
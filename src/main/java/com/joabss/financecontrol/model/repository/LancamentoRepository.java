@@ -1,22 +1,96 @@
 package com.joabss.financecontrol.model.repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.joabss.financecontrol.api.dto.LancamentoDTO;
 import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.SaldoMensal;
 import com.joabss.financecontrol.model.enums.StatusLancamento;
-import com.joabss.financecontrol.model.enums.TipoLancamento;
-
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
-
-	@Query( value = 
-			  " select sum(l.valor) from Lancamento l join l.usuario u "
-			+ " where u.id = :idUsuario and l.tipo = :tipo and l.status = :status group by u")
-	BigDecimal obterSaldoPorTipoLancamentoEUsuarioEStatus(
-			@Param("idUsuario") Long idUsuario, 
-			@Param("tipo") TipoLancamento tipo,
-			@Param("status") StatusLancamento status);
-}
\ No newline at end of file
+import com.joabss.financecontrol.model.projection.DescricaoLancamento;
+
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long>, LancamentoRepositoryCustom {
+
+	/**
+	 * Contribuição do lançamento para o saldo, lida do banco e não da sessão:
+	 * a consulta não dispara flush, então alterações ainda pendentes na entidade
+	 * não são consideradas.
+	 */
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT"))
+	@Query( value =
+			  " select new com.joabss.financecontrol.model.entity.SaldoMensal( "
+			+ " u.id, l.ano, l.mes, l.tipo, l.status, l.valor, 1L) "
+			+ " from Lancamento l join l.usuario u where l.id = :id")
+	Optional<SaldoMensal> obterMovimentoSaldo(@Param("id") Long id);
+
+	@Query( value =
+			  " select new com.joabss.financecontrol.model.entity.SaldoMensal( "
+			+ " u.id, l.ano, l.mes, l.tipo, l.status, sum(l.valor), count(l)) "
+			+ " from Lancamento l join l.usuario u where u.id = :idUsuario "
+			+ " group by u.id, l.ano, l.mes, l.tipo, l.status")
+	List<SaldoMensal> agruparSaldoMensalPorUsuario(@Param("idUsuario") Long idUsuario);
+
+	/**
+	 * Contribuição para o saldo dos lançamentos {@code ids}, agrupada por mês,
+	 * tipo e status.
+	 */
+	@Query( value =
+			  " select new com.joabss.financecontrol.model.entity.SaldoMensal( "
+			+ " u.id, l.ano, l.mes, l.tipo, l.status, sum(l.valor), count(l)) "
+			+ " from Lancamento l join l.usuario u where l.id in (:ids) "
+			+ " group by u.id, l.ano, l.mes, l.tipo, l.status")
+	List<SaldoMensal> agruparMovimentosPorIds(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Bloqueia para escrita, em ordem de id, as parcelas do parcelamento em
+	 * {@code status} e retorna seus ids, que restringem o agrupamento e o
+	 * UPDATE feitos em seguida: parcelas criadas depois do bloqueio ficam de
+	 * fora de ambos.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select l.id from Lancamento l where l.parcelamento.id = :idParcelamento and l.status = :status order by l.id")
+	List<Long> bloquearParcelas(@Param("idParcelamento") Long idParcelamento, @Param("status") StatusLancamento status);
+
+	@Query("select min(l.parcela) from Lancamento l where l.id in (:ids)")
+	Integer obterPrimeiraParcela(@Param("ids") Collection<Long> ids);
+
+	@Query( value =
+			  " select new com.joabss.financecontrol.api.dto.LancamentoDTO( "
+			+ " l.id, l.descricao, l.mes, l.ano, l.valor, l.usuario.id, l.tipo, l.status, l.versao) "
+			+ " from Lancamento l where l.id = :id")
+	Optional<LancamentoDTO> obterDTOPorId(@Param("id") Long id);
+
+	/**
+	 * Todos os lançamentos do usuário, projetados no DTO e lidos do cursor em
+	 * blocos de {@code fetchSize}. Deve ser consumido dentro de uma transação
+	 * e fechado ao final.
+	 */
+	@QueryHints({
+		@QueryHint(name = org.hibernate.annotations.QueryHints.FETCH_SIZE, value = "500"),
+		@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true") })
+	@Query( value =
+			  " select new com.joabss.financecontrol.api.dto.LancamentoDTO( "
+			+ " l.id, l.descricao, l.mes, l.ano, l.valor, l.usuario.id, l.tipo, l.status) "
+			+ " from Lancamento l where l.usuario.id = :idUsuario order by l.ano, l.mes, l.id")
+	Stream<LancamentoDTO> exportarPorUsuario(@Param("idUsuario") Long idUsuario);
+
+	@Query("select l.versao from Lancamento l where l.id = :id")
+	Optional<Long> obterVersao(@Param("id") Long id);
+
+	@Query("select distinct l.usuario.id from Lancamento l")
+	List<Long> obterIdsUsuarios();
+
+	@Query("select l.id as id, l.descricao as descricao from Lancamento l where l.usuario.id = :idUsuario")
+	List<DescricaoLancamento> obterDescricoesPorUsuario(@Param("idUsuario") Long idUsuario);
+}
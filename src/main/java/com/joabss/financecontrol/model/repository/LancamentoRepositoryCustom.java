@@ -0,0 +1,80 @@
+package com.joabss.financecontrol.model.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+import com.joabss.financecontrol.api.dto.LancamentoDTO;
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.SaldoMensal;
+import com.joabss.financecontrol.model.enums.StatusLancamento;
+
+public interface LancamentoRepositoryCustom {
+
+	/**
+	 * Busca paginada por posição (keyset) ordenada por ano, mês e id. Retorna
+	 * até {@code limite} lançamentos posteriores a {@code ultimo}; se
+	 * {@code ultimo} for nulo, começa do primeiro lançamento do filtro.
+	 */
+	List<Lancamento> buscarPagina(Lancamento filtro, Lancamento ultimo, int limite);
+
+	/**
+	 * Lançamentos que atendem ao filtro, ordenados por ano, mês e id. Se
+	 * {@code ids} for informado, restringe a busca a esses lançamentos.
+	 */
+	List<Lancamento> buscar(Lancamento filtro, Collection<Long> ids);
+
+	/**
+	 * Mesmo resultado de {@link #buscar}, projetado direto em
+	 * {@link LancamentoDTO}: seleciona só as colunas do DTO, sem montar as
+	 * entidades no contexto de persistência.
+	 */
+	List<LancamentoDTO> buscarDTO(Lancamento filtro, Collection<Long> ids);
+
+	/**
+	 * Insere novos lançamentos descarregando e limpando o contexto de
+	 * persistência a cada {@code hibernate.jdbc.batch_size} registros, para
+	 * que cada descarga vire um único batch de JDBC e a memória não cresça com
+	 * o tamanho do lote. Os lançamentos retornados ficam desanexados.
+	 */
+	List<Lancamento> inserirEmLote(List<Lancamento> lancamentos);
+
+	/**
+	 * Bloqueia para escrita, em ordem de id, os lançamentos do filtro que
+	 * ainda não estão em {@code status} e retorna seus ids. Até o fim da
+	 * transação nenhum deles muda de status, valor ou mês em outra transação,
+	 * então o agrupamento e o UPDATE feitos com esses ids enxergam os mesmos
+	 * lançamentos.
+	 */
+	List<Long> bloquearParaStatus(Lancamento filtro, Collection<Long> ids, StatusLancamento status);
+
+	/**
+	 * Contribuição para o saldo, agrupada por usuário, mês, tipo e status, dos
+	 * lançamentos do filtro que ainda não estão em {@code status}, ou seja,
+	 * dos que {@link #atualizarStatus} vai alterar.
+	 */
+	List<SaldoMensal> agruparMovimentosParaStatus(Lancamento filtro, Collection<Long> ids, StatusLancamento status);
+
+	/**
+	 * Grava todos os campos do lançamento com um único UPDATE, sem carregá-lo,
+	 * se a versão no banco ainda for {@code lancamento.getVersao()}. Retorna
+	 * 0 quando o lançamento foi alterado ou removido por outra transação.
+	 */
+	int atualizar(Lancamento lancamento);
+
+	/**
+	 * Altera o status de todos os lançamentos do filtro com um único UPDATE.
+	 * O contexto de persistência é descarregado antes e limpo depois, para que
+	 * nenhuma entidade carregada fique com o status antigo.
+	 */
+	int atualizarStatus(Lancamento filtro, Collection<Long> ids, StatusLancamento status);
+
+	/**
+	 * Define o valor das parcelas {@code ids} com um único UPDATE:
+	 * {@code valorPrimeira} para a parcela
+	 * {@code primeiraParcela} e {@code valor} para as demais. Descarrega e
+	 * limpa o contexto de persistência como {@link #atualizarStatus}.
+	 */
+	int atualizarValorParcelas(Collection<Long> ids, Integer primeiraParcela, BigDecimal valorPrimeira,
+			BigDecimal valor);
+}
@@ -0,0 +1,286 @@
+package com.joabss.financecontrol.model.repository;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import com.joabss.financecontrol.api.dto.LancamentoDTO;
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.SaldoMensal;
+import com.joabss.financecontrol.model.enums.StatusLancamento;
+
+public class LancamentoRepositoryImpl implements LancamentoRepositoryCustom {
+
+	private static final char ESCAPE = '\\';
+	private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+	private static final String ACENTUADAS = "áàâãäéèêëíìîïóòôõöúùûüçñ";
+	private static final String SEM_ACENTO = "aaaaaeeeeiiiiooooouuuucn";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	private int tamanhoBatch;
+
+	@Override
+	public List<Lancamento> buscarPagina(Lancamento filtro, Lancamento ultimo, int limite) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Lancamento> query = cb.createQuery(Lancamento.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+
+		List<Predicate> predicados = filtrar(cb, root, filtro);
+
+		Path<Integer> ano = root.get("ano");
+		Path<Integer> mes = root.get("mes");
+		Path<Long> id = root.get("id");
+
+		if (ultimo != null) {
+			predicados.add(cb.or(
+					cb.greaterThan(ano, ultimo.getAno()),
+					cb.and(cb.equal(ano, ultimo.getAno()), cb.greaterThan(mes, ultimo.getMes())),
+					cb.and(cb.equal(ano, ultimo.getAno()), cb.equal(mes, ultimo.getMes()), cb.greaterThan(id, ultimo.getId()))));
+		}
+
+		query.select(root)
+			.where(predicados.toArray(new Predicate[0]))
+			.orderBy(cb.asc(ano), cb.asc(mes), cb.asc(id));
+
+		return entityManager.createQuery(query)
+				.setMaxResults(limite)
+				.getResultList();
+	}
+
+	@Override
+	public List<Lancamento> buscar(Lancamento filtro, Collection<Long> ids) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Lancamento> query = cb.createQuery(Lancamento.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+
+		List<Predicate> predicados = filtrar(cb, root, filtro);
+
+		if (ids != null) {
+			predicados.add(root.get("id").in(ids));
+		}
+
+		query.select(root)
+			.where(predicados.toArray(new Predicate[0]))
+			.orderBy(cb.asc(root.get("ano")), cb.asc(root.get("mes")), cb.asc(root.get("id")));
+
+		return entityManager.createQuery(query).getResultList();
+	}
+
+	@Override
+	public List<LancamentoDTO> buscarDTO(Lancamento filtro, Collection<Long> ids) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<LancamentoDTO> query = cb.createQuery(LancamentoDTO.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+
+		List<Predicate> predicados = filtrar(cb, root, filtro);
+
+		if (ids != null) {
+			predicados.add(root.get("id").in(ids));
+		}
+
+		query.select(cb.construct(LancamentoDTO.class, root.get("id"), root.get("descricao"), root.get("mes"),
+					root.get("ano"), root.get("valor"), root.get("usuario").get("id"), root.get("tipo"), root.get("status")))
+			.where(predicados.toArray(new Predicate[0]))
+			.orderBy(cb.asc(root.get("ano")), cb.asc(root.get("mes")), cb.asc(root.get("id")));
+
+		return entityManager.createQuery(query).getResultList();
+	}
+
+	@Override
+	public List<Lancamento> inserirEmLote(List<Lancamento> lancamentos) {
+		for (int i = 0; i < lancamentos.size(); i++) {
+			entityManager.persist(lancamentos.get(i));
+			if ((i + 1) % tamanhoBatch == 0) {
+				entityManager.flush();
+				entityManager.clear();
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+		return lancamentos;
+	}
+
+	@Override
+	public List<Long> bloquearParaStatus(Lancamento filtro, Collection<Long> ids, StatusLancamento status) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = cb.createQuery(Long.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+
+		query.select(root.get("id"))
+			.where(filtrarParaStatus(cb, root, filtro, ids, status))
+			.orderBy(cb.asc(root.get("id")));
+
+		return entityManager.createQuery(query)
+				.setLockMode(LockModeType.PESSIMISTIC_WRITE)
+				.getResultList();
+	}
+
+	@Override
+	public List<SaldoMensal> agruparMovimentosParaStatus(Lancamento filtro, Collection<Long> ids, StatusLancamento status) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<SaldoMensal> query = cb.createQuery(SaldoMensal.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+
+		Path<Long> usuario = root.get("usuario").get("id");
+		Path<Integer> ano = root.get("ano");
+		Path<Integer> mes = root.get("mes");
+		Path<Object> tipo = root.get("tipo");
+		Path<Object> statusAtual = root.get("status");
+
+		query.select(cb.construct(SaldoMensal.class, usuario, ano, mes, tipo, statusAtual,
+					cb.sum(root.get("valor")), cb.count(root)))
+			.where(filtrarParaStatus(cb, root, filtro, ids, status))
+			.groupBy(usuario, ano, mes, tipo, statusAtual);
+
+		return entityManager.createQuery(query).getResultList();
+	}
+
+	@Override
+	public int atualizar(Lancamento lancamento) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaUpdate<Lancamento> update = cb.createCriteriaUpdate(Lancamento.class);
+		Root<Lancamento> root = update.from(Lancamento.class);
+
+		Path<Long> versao = root.get("versao");
+		update.set(root.get("descricao"), lancamento.getDescricao())
+			.set(root.get("mes"), lancamento.getMes())
+			.set(root.get("ano"), lancamento.getAno())
+			.set(root.get("valor"), lancamento.getValor())
+			.set(root.get("tipo"), lancamento.getTipo())
+			.set(root.get("status"), lancamento.getStatus())
+			.set(root.get("usuario"), lancamento.getUsuario())
+			.set(versao, cb.sum(versao, 1L))
+			.where(cb.equal(root.get("id"), lancamento.getId()), cb.equal(versao, lancamento.getVersao()));
+
+		// se estiver na sessão, o Hibernate gravaria a entidade de novo no flush
+		if (entityManager.contains(lancamento)) {
+			entityManager.detach(lancamento);
+		}
+		entityManager.flush();
+		return entityManager.createQuery(update).executeUpdate();
+	}
+
+	@Override
+	public int atualizarStatus(Lancamento filtro, Collection<Long> ids, StatusLancamento status) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaUpdate<Lancamento> update = cb.createCriteriaUpdate(Lancamento.class);
+		Root<Lancamento> root = update.from(Lancamento.class);
+
+		Path<Long> versao = root.get("versao");
+		update.set(root.get("status"), status)
+			.set(versao, cb.sum(versao, 1L))
+			.where(filtrarParaStatus(cb, root, filtro, ids, status));
+
+		entityManager.flush();
+		int atualizados = entityManager.createQuery(update).executeUpdate();
+		entityManager.clear();
+		return atualizados;
+	}
+
+	@Override
+	public int atualizarValorParcelas(Collection<Long> ids, Integer primeiraParcela, BigDecimal valorPrimeira,
+			BigDecimal valor) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaUpdate<Lancamento> update = cb.createCriteriaUpdate(Lancamento.class);
+		Root<Lancamento> root = update.from(Lancamento.class);
+
+		Path<Long> versao = root.get("versao");
+		Expression<BigDecimal> novoValor = cb.<BigDecimal>selectCase()
+				.when(cb.equal(root.get("parcela"), primeiraParcela), cb.literal(valorPrimeira))
+				.otherwise(cb.literal(valor));
+		update.set(root.<BigDecimal>get("valor"), novoValor)
+			.set(versao, cb.sum(versao, 1L))
+			.where(root.get("id").in(ids));
+
+		entityManager.flush();
+		int atualizados = entityManager.createQuery(update).executeUpdate();
+		entityManager.clear();
+		return atualizados;
+	}
+
+	private Predicate[] filtrarParaStatus(CriteriaBuilder cb, Root<Lancamento> root, Lancamento filtro,
+			Collection<Long> ids, StatusLancamento status) {
+		List<Predicate> predicados = filtrar(cb, root, filtro);
+
+		if (ids != null) {
+			predicados.add(root.get("id").in(ids));
+		}
+
+		predicados.add(cb.notEqual(root.get("status"), status));
+		return predicados.toArray(new Predicate[0]);
+	}
+
+	private List<Predicate> filtrar(CriteriaBuilder cb, Root<Lancamento> root, Lancamento filtro) {
+		List<Predicate> predicados = new ArrayList<>();
+
+		if (filtro.getUsuario() != null) {
+			predicados.add(cb.equal(root.get("usuario").get("id"), filtro.getUsuario().getId()));
+		}
+
+		if (filtro.getAno() != null) {
+			predicados.add(cb.equal(root.get("ano"), filtro.getAno()));
+		}
+
+		if (filtro.getMes() != null) {
+			predicados.add(cb.equal(root.get("mes"), filtro.getMes()));
+		}
+
+		if (filtro.getStatus() != null) {
+			predicados.add(cb.equal(root.get("status"), filtro.getStatus()));
+		}
+
+		if (filtro.getTipo() != null) {
+			predicados.add(cb.equal(root.get("tipo"), filtro.getTipo()));
+		}
+
+		if (filtro.getParcelamento() != null) {
+			predicados.add(cb.equal(root.get("parcelamento").get("id"), filtro.getParcelamento().getId()));
+		}
+
+		String descricao = normalizar(filtro.getDescricao());
+		if (!descricao.isEmpty()) {
+			Expression<String> descricaoNormalizada = cb.function("translate", String.class,
+					cb.lower(root.get("descricao")), cb.literal(ACENTUADAS), cb.literal(SEM_ACENTO));
+			predicados.add(cb.like(descricaoNormalizada, "%" + escapar(descricao) + "%", ESCAPE));
+		}
+
+		return predicados;
+	}
+
+	/**
+	 * Mesma normalização do índice de descrições (sem acentos, minúsculas e
+	 * sem espaços nas pontas), para que a busca pelo banco e a busca pelo
+	 * índice retornem os mesmos lançamentos.
+	 */
+	private static String normalizar(String texto) {
+		if (texto == null) {
+			return "";
+		}
+		String semAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+		return semAcentos.toLowerCase(Locale.ROOT).trim();
+	}
+
+	private String escapar(String valor) {
+		return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+}
@@ -0,0 +1,8 @@
+package com.joabss.financecontrol.model.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.joabss.financecontrol.model.entity.Parcelamento;
+
+public interface ParcelamentoRepository extends JpaRepository<Parcelamento, Long>, ParcelamentoRepositoryCustom {
+}
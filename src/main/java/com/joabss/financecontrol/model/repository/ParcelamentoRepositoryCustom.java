@@ -0,0 +1,16 @@
+package com.joabss.financecontrol.model.repository;
+
+import java.util.Optional;
+
+import com.joabss.financecontrol.model.entity.Parcelamento;
+
+public interface ParcelamentoRepositoryCustom {
+
+	/**
+	 * O plano bloqueado para escrita até o fim da transação e relido do banco,
+	 * mesmo que já estivesse na sessão: as operações sobre as parcelas
+	 * restantes de um mesmo plano ficam em fila e partem do valor total
+	 * gravado pela anterior.
+	 */
+	Optional<Parcelamento> obterParaAtualizar(Long id);
+}
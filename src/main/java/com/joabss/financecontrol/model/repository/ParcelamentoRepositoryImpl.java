@@ -0,0 +1,25 @@
+package com.joabss.financecontrol.model.repository;
+
+import java.util.Optional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+
+import com.joabss.financecontrol.model.entity.Parcelamento;
+
+public class ParcelamentoRepositoryImpl implements ParcelamentoRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public Optional<Parcelamento> obterParaAtualizar(Long id) {
+		Parcelamento parcelamento = entityManager.find(Parcelamento.class, id);
+		if (parcelamento != null) {
+			// uma consulta com bloqueio não atualiza uma entidade já carregada na sessão
+			entityManager.refresh(parcelamento, LockModeType.PESSIMISTIC_WRITE);
+		}
+		return Optional.ofNullable(parcelamento);
+	}
+}
@@ -0,0 +1,67 @@
+package com.joabss.financecontrol.model.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.joabss.financecontrol.model.entity.Recorrencia;
+
+public interface RecorrenciaRepository extends JpaRepository<Recorrencia, Long> {
+
+	/**
+	 * Ids das regras com ocorrência ainda não gravada até {@code ano}/{@code mes}
+	 * e id maior que {@code depoisDe}, em ordem de id, sem bloqueio.
+	 */
+	@Query( value =
+			  " select r.id from Recorrencia r "
+			+ " where r.id > :depoisDe "
+			+ " and (r.anoProximo < :ano or (r.anoProximo = :ano and r.mesProximo <= :mes)) "
+			+ " order by r.id")
+	List<Long> buscarParaMaterializar(
+			@Param("ano") Integer ano,
+			@Param("mes") Integer mes,
+			@Param("depoisDe") Long depoisDe,
+			Pageable pageable);
+
+	/**
+	 * A regra, bloqueada até o fim da transação, se ainda tiver ocorrência
+	 * não gravada até {@code ano}/{@code mes}. Como em
+	 * {@link EventoLancamentoRepository#buscarPendentes}, uma linha já
+	 * bloqueada por outra instância é pulada e o resultado vem vazio.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+	@Query( value =
+			  " select r from Recorrencia r "
+			+ " where r.id = :id "
+			+ " and (r.anoProximo < :ano or (r.anoProximo = :ano and r.mesProximo <= :mes)) ")
+	Optional<Recorrencia> bloquearParaMaterializar(
+			@Param("id") Long id,
+			@Param("ano") Integer ano,
+			@Param("mes") Integer mes);
+
+	/**
+	 * Regras do usuário com ocorrência ainda não gravada até
+	 * {@code ano}/{@code mes}, sem bloqueio.
+	 */
+	@Query( value =
+			  " select r from Recorrencia r "
+			+ " where r.usuario.id = :idUsuario "
+			+ " and (r.anoProximo < :ano or (r.anoProximo = :ano and r.mesProximo <= :mes)) "
+			+ " order by r.id")
+	List<Recorrencia> buscarParaProjecao(
+			@Param("idUsuario") Long idUsuario,
+			@Param("ano") Integer ano,
+			@Param("mes") Integer mes);
+
+	List<Recorrencia> findByUsuarioIdOrderById(Long idUsuario);
+}
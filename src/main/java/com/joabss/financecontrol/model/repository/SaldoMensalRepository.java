@@ -0,0 +1,62 @@
+package com.joabss.financecontrol.model.repository;
+
+import java.util.List;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.joabss.financecontrol.model.entity.SaldoMensal;
+import com.joabss.financecontrol.model.enums.StatusLancamento;
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+import com.joabss.financecontrol.model.projection.ResumoSaldo;
+
+public interface SaldoMensalRepository extends JpaRepository<SaldoMensal, Long>, SaldoMensalRepositoryCustom {
+
+	/**
+	 * Receitas, despesas e valores pendentes do usuário em uma única leitura
+	 * da tabela, usando agregação condicional.
+	 */
+	@Query( value =
+			  " select "
+			+ " coalesce(sum(case when s.tipo = :receita and s.status = :efetivado then s.valor else 0 end), 0) as receitas, "
+			+ " coalesce(sum(case when s.tipo = :despesa and s.status = :efetivado then s.valor else 0 end), 0) as despesas, "
+			+ " coalesce(sum(case when s.tipo = :receita and s.status = :pendente then s.valor else 0 end), 0) as receitasPendentes, "
+			+ " coalesce(sum(case when s.tipo = :despesa and s.status = :pendente then s.valor else 0 end), 0) as despesasPendentes "
+			+ " from SaldoMensal s where s.idUsuario = :idUsuario")
+	ResumoSaldo obterResumoPorUsuario(
+			@Param("idUsuario") Long idUsuario,
+			@Param("receita") TipoLancamento receita,
+			@Param("despesa") TipoLancamento despesa,
+			@Param("efetivado") StatusLancamento efetivado,
+			@Param("pendente") StatusLancamento pendente);
+
+	List<SaldoMensal> findByIdUsuario(Long idUsuario);
+
+	/**
+	 * Saldos mensais do usuário bloqueados para escrita, sempre na mesma
+	 * ordem. Enquanto o bloqueio durar, nenhuma transação consegue acumular
+	 * movimentos nesses saldos.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query( value =
+			  " select s from SaldoMensal s where s.idUsuario = :idUsuario "
+			+ " order by s.ano, s.mes, s.tipo, s.status")
+	List<SaldoMensal> bloquearPorUsuario(@Param("idUsuario") Long idUsuario);
+
+	/**
+	 * Saldos mensais do usuário até {@code anoFinal}, em ordem cronológica,
+	 * sem os totais que voltaram a zero após estornos.
+	 */
+	@Query( value =
+			  " select s from SaldoMensal s "
+			+ " where s.idUsuario = :idUsuario and s.ano <= :anoFinal and s.quantidade <> 0 "
+			+ " order by s.ano, s.mes, s.tipo, s.status")
+	List<SaldoMensal> obterSaldosAte(@Param("idUsuario") Long idUsuario, @Param("anoFinal") Integer anoFinal);
+
+	@Query("select distinct s.idUsuario from SaldoMensal s")
+	List<Long> obterIdsUsuarios();
+}
@@ -0,0 +1,21 @@
+package com.joabss.financecontrol.model.repository;
+
+import com.joabss.financecontrol.model.entity.SaldoMensal;
+
+public interface SaldoMensalRepositoryCustom {
+
+	/**
+	 * Soma valor e quantidade do movimento ao saldo mensal correspondente,
+	 * criando-o se ainda não existir, em um único comando atômico ({@code on
+	 * conflict} no PostgreSQL, {@code merge} no H2). Duas transações que
+	 * criam o mesmo saldo ao mesmo tempo não violam a chave única: a segunda
+	 * espera a primeira e soma sobre o registro inserido.
+	 */
+	void acumular(SaldoMensal movimento);
+
+	/**
+	 * Insere o saldo mensal só se ainda não existir um para o mesmo usuário,
+	 * mês, tipo e status. Retorna a quantidade de registros inseridos.
+	 */
+	int inserirSeAusente(SaldoMensal saldo);
+}
@@ -0,0 +1,78 @@
+package com.joabss.financecontrol.model.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+
+import com.joabss.financecontrol.model.entity.SaldoMensal;
+
+public class SaldoMensalRepositoryImpl implements SaldoMensalRepositoryCustom {
+
+	private static final String ACUMULAR_POSTGRES =
+			  " insert into financas.saldo_mensal (id_usuario, ano, mes, tipo, status, valor, quantidade) "
+			+ " values (:idUsuario, :ano, :mes, :tipo, :status, :valor, :quantidade) "
+			+ " on conflict (id_usuario, ano, mes, tipo, status) do update set "
+			+ " valor = saldo_mensal.valor + excluded.valor, quantidade = saldo_mensal.quantidade + excluded.quantidade";
+
+	private static final String INSERIR_SE_AUSENTE_POSTGRES =
+			  " insert into financas.saldo_mensal (id_usuario, ano, mes, tipo, status, valor, quantidade) "
+			+ " values (:idUsuario, :ano, :mes, :tipo, :status, :valor, :quantidade) "
+			+ " on conflict (id_usuario, ano, mes, tipo, status) do nothing";
+
+	private static final String MERGE_H2 =
+			  " merge into financas.saldo_mensal s using (select "
+			+ " cast(:idUsuario as bigint) id_usuario, cast(:ano as integer) ano, cast(:mes as integer) mes, "
+			+ " cast(:tipo as varchar) tipo, cast(:status as varchar) status, "
+			+ " cast(:valor as numeric(19, 2)) valor, cast(:quantidade as bigint) quantidade) m "
+			+ " on (s.id_usuario = m.id_usuario and s.ano = m.ano and s.mes = m.mes "
+			+ " and s.tipo = m.tipo and s.status = m.status) ";
+
+	private static final String ACUMULAR_H2 = MERGE_H2
+			+ " when matched then update set s.valor = s.valor + m.valor, s.quantidade = s.quantidade + m.quantidade "
+			+ " when not matched then insert (id_usuario, ano, mes, tipo, status, valor, quantidade) "
+			+ " values (m.id_usuario, m.ano, m.mes, m.tipo, m.status, m.valor, m.quantidade)";
+
+	private static final String INSERIR_SE_AUSENTE_H2 = MERGE_H2
+			+ " when not matched then insert (id_usuario, ano, mes, tipo, status, valor, quantidade) "
+			+ " values (m.id_usuario, m.ano, m.mes, m.tipo, m.status, m.valor, m.quantidade)";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private volatile Boolean h2;
+
+	@Override
+	public void acumular(SaldoMensal movimento) {
+		executar(isH2() ? ACUMULAR_H2 : ACUMULAR_POSTGRES, movimento);
+	}
+
+	@Override
+	public int inserirSeAusente(SaldoMensal saldo) {
+		return executar(isH2() ? INSERIR_SE_AUSENTE_H2 : INSERIR_SE_AUSENTE_POSTGRES, saldo);
+	}
+
+	private int executar(String sql, SaldoMensal saldo) {
+		return entityManager.createNativeQuery(sql)
+				.setParameter("idUsuario", saldo.getIdUsuario())
+				.setParameter("ano", saldo.getAno())
+				.setParameter("mes", saldo.getMes())
+				.setParameter("tipo", saldo.getTipo().name())
+				.setParameter("status", saldo.getStatus().name())
+				.setParameter("valor", saldo.getValor())
+				.setParameter("quantidade", saldo.getQuantidade())
+				.executeUpdate();
+	}
+
+	/**
+	 * O upsert não tem sintaxe comum aos dois bancos: o H2, usado nos testes,
+	 * não aceita {@code on conflict}.
+	 */
+	private boolean isH2() {
+		if (h2 == null) {
+			h2 = entityManager.unwrap(Session.class)
+					.doReturningWork(conexao -> "H2".equals(conexao.getMetaData().getDatabaseProductName()));
+		}
+		return h2;
+	}
+}
@@ -0,0 +1,22 @@
+package com.joabss.financecontrol.service;
+
+import java.util.List;
+
+import com.joabss.financecontrol.model.entity.EventoLancamento;
+
+/**
+ * Mantém dados derivados dos lançamentos a partir dos eventos gravados pelas
+ * escritas, fora da requisição que os gerou. Os eventos chegam em lotes ou,
+ * depois de uma falha, um a um.
+ *
+ * <p>Não há ordem global: os ids são reservados em blocos por instância e
+ * várias instâncias podem despachar ao mesmo tempo, então eventos do mesmo
+ * lançamento podem chegar fora da ordem em que foram gravados. A entrega é
+ * pelo menos uma vez: se algum assinante falhar, os eventos são entregues de
+ * novo a todos. O processamento deve tolerar duplicatas e reordenação, por
+ * exemplo relendo o estado atual do lançamento em vez de aplicar o evento.
+ */
+public interface AssinanteEventosLancamento {
+
+	void processar(List<EventoLancamento> eventos);
+}
@@ -0,0 +1,20 @@
+package com.joabss.financecontrol.service;
+
+import java.util.Optional;
+import java.util.Set;
+
+import com.joabss.financecontrol.model.entity.Lancamento;
+
+public interface IndiceDescricaoService {
+
+	/**
+	 * Ids dos lançamentos do usuário cuja descrição contém o termo, ignorando
+	 * maiúsculas e acentos. Retorna vazio quando o índice não pode responder e
+	 * a busca deve ser feita diretamente no banco.
+	 */
+	Optional<Set<Long>> buscar(Long idUsuario, String descricao);
+
+	void indexar(Lancamento lancamento);
+
+	void remover(Lancamento lancamento);
+}
@@ -1,5 +1,7 @@
 package com.joabss.financecontrol.service;
 
+import java.util.Optional;
+
 import com.joabss.financecontrol.model.entity.Usuario;
 
 import io.jsonwebtoken.Claims;
@@ -12,6 +14,8 @@ public interface JwtService {
 	Claims obterClaims(String token) throws ExpiredJwtException;
 	
 	boolean isTokenValido(String token);
+
+	Optional<UsuarioAutenticado> verificar(String token);
 	
 	String obterLoginUsuario( String token );
 }
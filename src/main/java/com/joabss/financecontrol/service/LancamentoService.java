@@ -1,27 +1,62 @@
 package com.joabss.financecontrol.service;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import org.springframework.data.domain.Slice;
+
+import com.joabss.financecontrol.api.dto.LancamentoDTO;
+import com.joabss.financecontrol.api.dto.PeriodoRelatorioDTO;
 import com.joabss.financecontrol.model.entity.Lancamento;
 import com.joabss.financecontrol.model.enums.StatusLancamento;
+import com.joabss.financecontrol.model.projection.ResumoSaldo;
 
 public interface LancamentoService {
 
 	Lancamento salvar(Lancamento lancamento);
 
+	List<Lancamento> salvarEmLote(List<Lancamento> lancamentos);
+
 	Lancamento atualizar(Lancamento lancamento);
 
 	void deletar(Lancamento lancamento);
 
 	List<Lancamento> buscar(Lancamento lancamentoFiltro);
 
+	List<LancamentoDTO> buscarDTO(Lancamento lancamentoFiltro);
+
+	Slice<Lancamento> buscarPagina(Lancamento lancamentoFiltro, Lancamento ultimo, Integer tamanho);
+
 	void atualizarStatus(Lancamento lancamento, StatusLancamento status);
 
+	int atualizarStatusEmLote(Lancamento lancamentoFiltro, Collection<Long> ids, StatusLancamento status);
+
+	/**
+	 * Altera apenas os {@code campos} informados, copiados de
+	 * {@code alteracoes}, e valida só esses campos. Com {@code versao}, lança
+	 * {@code ConflitoVersaoException} se o lançamento estiver em outra versão.
+	 */
+	Lancamento atualizarCampos(Long id, Long versao, Lancamento alteracoes, Set<String> campos);
+
 	void validar(Lancamento lancamento);
 
 	Optional<Lancamento> obterPorId(Long id);
 
+	Optional<LancamentoDTO> obterDTOPorId(Long id);
+
+	/**
+	 * Entrega ao {@code destino}, um por vez, todos os lançamentos do usuário
+	 * em ordem cronológica, sem mantê-los em memória.
+	 */
+	void exportar(Long idUsuario, Consumer<LancamentoDTO> destino);
+
 	BigDecimal obterSaldoPorUsuario(Long id);
+
+	ResumoSaldo obterResumoPorUsuario(Long id);
+
+	List<PeriodoRelatorioDTO> obterRelatorioPorUsuario(Long id, Integer anoInicial, Integer anoFinal, boolean anual);
 }
@@ -0,0 +1,35 @@
+package com.joabss.financecontrol.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import com.joabss.financecontrol.api.dto.LancamentoDTO;
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.Parcelamento;
+
+public interface ParcelamentoService {
+
+	/**
+	 * Grava o plano e todas as parcelas em uma transação e retorna as
+	 * parcelas, em ordem.
+	 */
+	List<Lancamento> salvar(Parcelamento parcelamento);
+
+	Optional<Parcelamento> obterPorId(Long id);
+
+	List<LancamentoDTO> buscarParcelas(Parcelamento parcelamento);
+
+	/**
+	 * Cancela as parcelas ainda pendentes e retorna quantas foram canceladas.
+	 */
+	int cancelarRestantes(Parcelamento parcelamento);
+
+	/**
+	 * Redistribui {@code valorRestante} entre as parcelas ainda pendentes e
+	 * retorna quantas foram alteradas.
+	 */
+	int atualizarRestantes(Parcelamento parcelamento, BigDecimal valorRestante);
+
+	void validar(Parcelamento parcelamento);
+}
@@ -0,0 +1,55 @@
+package com.joabss.financecontrol.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.joabss.financecontrol.api.dto.LancamentoDTO;
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.Recorrencia;
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+
+public interface RecorrenciaService {
+
+	/**
+	 * Grava a regra e já materializa as ocorrências até o horizonte.
+	 */
+	Recorrencia salvar(Recorrencia recorrencia);
+
+	/**
+	 * Remove a regra; os lançamentos já materializados são mantidos.
+	 */
+	void deletar(Recorrencia recorrencia);
+
+	Optional<Recorrencia> obterPorId(Long id);
+
+	List<Recorrencia> buscarPorUsuario(Long idUsuario);
+
+	void validar(Recorrencia recorrencia);
+
+	/**
+	 * Ids de no máximo {@code tamanho} regras com ocorrência a materializar,
+	 * maiores que {@code depoisDe}, em ordem crescente.
+	 */
+	List<Long> buscarParaMaterializar(Long depoisDe, int tamanho);
+
+	/**
+	 * Materializa, em uma transação, as ocorrências até o horizonte da regra.
+	 * Retorna false se a regra já não tem ocorrência a materializar ou está
+	 * sendo materializada por outra instância.
+	 */
+	boolean materializar(Long id);
+
+	/**
+	 * Ocorrências ainda não materializadas que atendem ao filtro (usuário, ano
+	 * e, opcionalmente, mês, descrição e status), sem id. Sem ano, não projeta.
+	 */
+	List<LancamentoDTO> projetar(Lancamento lancamentoFiltro);
+
+	/**
+	 * Total por tipo das ocorrências ainda não materializadas do usuário até
+	 * {@code ano}/{@code mes}, que entrarão no saldo como pendentes.
+	 */
+	Map<TipoLancamento, BigDecimal> projetarPendentes(Long idUsuario, Integer ano, Integer mes);
+}
@@ -0,0 +1,47 @@
+package com.joabss.financecontrol.service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.joabss.financecontrol.api.dto.PeriodoRelatorioDTO;
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.SaldoMensal;
+import com.joabss.financecontrol.model.enums.StatusLancamento;
+import com.joabss.financecontrol.model.projection.ResumoSaldo;
+
+public interface SaldoService {
+
+	void registrar(Lancamento lancamento);
+
+	void registrarTodos(Collection<Lancamento> lancamentos);
+
+	/**
+	 * Soma ao saldo um movimento já agrupado, sem consultar os lançamentos.
+	 */
+	void registrar(SaldoMensal movimento);
+
+	/**
+	 * Retira do saldo a contribuição atual do lançamento.
+	 *
+	 * @return o movimento estornado, com o mês e o usuário que o lançamento
+	 * tinha no banco, ou vazio se o lançamento não existe.
+	 */
+	Optional<SaldoMensal> estornar(Long idLancamento);
+
+	/**
+	 * Retira do saldo um movimento já conhecido, sem consultar o lançamento.
+	 */
+	void estornar(SaldoMensal movimento);
+
+	void transferirStatus(List<SaldoMensal> movimentos, StatusLancamento status);
+
+	BigDecimal obterSaldo(Long idUsuario);
+
+	ResumoSaldo obterResumo(Long idUsuario);
+
+	List<PeriodoRelatorioDTO> obterRelatorio(Long idUsuario, Integer anoInicial, Integer anoFinal, boolean anual);
+
+	int reconciliar(Long idUsuario);
+}
@@ -0,0 +1,57 @@
+package com.joabss.financecontrol.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Principal das requisições autenticadas por token. Além do email, guarda o
+ * id e o nome do usuário, e não carrega a senha.
+ */
+public class UsuarioAutenticado extends User {
+
+	private static final long serialVersionUID = 1L;
+	private static final Collection<GrantedAuthority> AUTORIDADES =
+			Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+
+	private final Long id;
+	private final String nome;
+
+	public UsuarioAutenticado(Long id, String nome, String email) {
+		super(email, "", AUTORIDADES);
+		this.id = id;
+		this.nome = nome;
+	}
+
+	public static UsuarioAutenticado deClaims(Claims claims) {
+		return new UsuarioAutenticado(claims.get("userId", Long.class), claims.get("nome", String.class), claims.getSubject());
+	}
+
+	/**
+	 * Principal da requisição corrente, colocado no contexto de segurança
+	 * pelo {@code JwtTokenFilter}. Vazio em requisições não autenticadas.
+	 */
+	public static Optional<UsuarioAutenticado> atual() {
+		Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+		if (autenticacao != null && autenticacao.getPrincipal() instanceof UsuarioAutenticado) {
+			return Optional.of((UsuarioAutenticado) autenticacao.getPrincipal());
+		}
+		return Optional.empty();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+}
@@ -13,4 +13,14 @@ public interface UsuarioService {
 	void validarEmail(String email);
 
 	Optional<Usuario> obterPorId(Long id);
+
+	/**
+	 * Como {@link #obterPorId}, mas sem consultar o banco quando o id é o do
+	 * usuário autenticado na requisição: retorna uma referência não
+	 * inicializada, suficiente para associar o usuário a um lançamento ou
+	 * filtrar por ele. Se o usuário tiver sido removido depois da emissão do
+	 * token, a gravação que usar a referência falha com
+	 * {@code DataIntegrityViolationException}.
+	 */
+	Optional<Usuario> obterReferencia(Long id);
 }
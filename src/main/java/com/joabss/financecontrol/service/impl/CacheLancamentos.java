@@ -0,0 +1,104 @@
+package com.joabss.financecontrol.service.impl;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+import com.joabss.financecontrol.model.entity.Lancamento;
+
+/**
+ * Nomes, chaves e remoção das entradas de cache de lançamentos. As remoções
+ * feitas dentro de uma transação só acontecem após o commit: removidas antes,
+ * qualquer leitura até o commit voltaria a guardar o valor antigo. Isso não
+ * fecha a corrida inteira: uma leitura que consultou o banco antes do commit
+ * e grava no cache depois da remoção deixa o valor antigo até a entrada
+ * expirar ({@code expireAfterWrite} do Caffeine ou {@code time-to-live} do
+ * Redis), que é o limite de desatualização aceito.
+ * <p>
+ * O Caffeine padrão vive em cada processo e as remoções não chegam às outras
+ * instâncias: com mais de uma instância, rode com o profile {@code redis},
+ * em que todas compartilham o mesmo cache.
+ */
+@Component
+public class CacheLancamentos {
+
+	public static final String LANCAMENTO = "lancamento";
+	public static final String LANCAMENTOS_DO_MES = "lancamentosDoMes";
+	public static final String SALDO = "saldo";
+
+	private CacheManager cacheManager;
+
+	public CacheLancamentos(CacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	/**
+	 * Só a busca de um usuário por ano e mês, sem descrição nem status, é
+	 * guardada: é a consulta das telas mensais e a única que pode ser
+	 * removida com precisão quando um lançamento muda.
+	 */
+	public static boolean buscaDoMes(Lancamento filtro) {
+		return filtro.getUsuario() != null
+				&& filtro.getAno() != null
+				&& filtro.getMes() != null
+				&& filtro.getStatus() == null
+				&& (filtro.getDescricao() == null || filtro.getDescricao().trim().isEmpty());
+	}
+
+	public static String chaveMes(Long idUsuario, Integer ano, Integer mes) {
+		return idUsuario + ":" + ano + ":" + mes;
+	}
+
+	public void removerLancamento(Long id) {
+		cache(LANCAMENTO).evict(id);
+	}
+
+	public void removerLancamentos(Collection<Long> ids) {
+		Cache cache = cache(LANCAMENTO);
+		ids.forEach(cache::evict);
+	}
+
+	/**
+	 * Remove a busca do mês e o saldo do usuário.
+	 */
+	public void removerMes(Long idUsuario, Integer ano, Integer mes) {
+		cache(LANCAMENTOS_DO_MES).evict(chaveMes(idUsuario, ano, mes));
+		removerSaldo(idUsuario);
+	}
+
+	/**
+	 * Remove uma vez cada mês e usuário presentes nos lançamentos.
+	 */
+	public void removerMeses(Collection<Lancamento> lancamentos) {
+		Set<String> chaves = new HashSet<>();
+		Set<Long> usuarios = new HashSet<>();
+		Cache lancamentosDoMes = cache(LANCAMENTOS_DO_MES);
+		for (Lancamento lancamento : lancamentos) {
+			Long idUsuario = lancamento.getUsuario().getId();
+			String chave = chaveMes(idUsuario, lancamento.getAno(), lancamento.getMes());
+			if (chaves.add(chave)) {
+				lancamentosDoMes.evict(chave);
+			}
+			if (usuarios.add(idUsuario)) {
+				removerSaldo(idUsuario);
+			}
+		}
+	}
+
+	public void removerSaldo(Long idUsuario) {
+		cache(SALDO).evict(idUsuario);
+	}
+
+	public void limparSaldos() {
+		cache(SALDO).clear();
+	}
+
+	private Cache cache(String nome) {
+		return new TransactionAwareCacheDecorator(cacheManager.getCache(nome));
+	}
+}
@@ -0,0 +1,138 @@
+package com.joabss.financecontrol.service.impl;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.joabss.financecontrol.model.entity.EventoLancamento;
+import com.joabss.financecontrol.model.repository.EventoLancamentoRepository;
+import com.joabss.financecontrol.service.AssinanteEventosLancamento;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Entrega os eventos de lançamento pendentes aos assinantes, em lotes de
+ * {@code lancamento.eventos.lote}, a cada {@code lancamento.eventos.intervalo-ms}.
+ * Cada lote é lido, entregue e removido em uma transação. Se um assinante
+ * falhar, a transação é desfeita e os eventos do lote são entregues um a um,
+ * cada um em sua transação: os que falharem de novo têm a falha registrada e
+ * voltam no próximo ciclo, sem impedir a entrega dos demais. Depois de
+ * {@code lancamento.eventos.max-tentativas} falhas o evento deixa de ser
+ * entregue e fica na tabela para análise.
+ */
+@Slf4j
+@Component
+public class DespachanteEventosLancamento {
+
+	private static final int TAMANHO_MAXIMO_ERRO = 1000;
+
+	private EventoLancamentoRepository repository;
+	private List<AssinanteEventosLancamento> assinantes;
+	private TransactionTemplate transacao;
+
+	@Value("${lancamento.eventos.lote:500}")
+	private int tamanhoLote;
+
+	@Value("${lancamento.eventos.max-tentativas:10}")
+	private int maximoTentativas;
+
+	public DespachanteEventosLancamento(
+			EventoLancamentoRepository repository,
+			List<AssinanteEventosLancamento> assinantes,
+			PlatformTransactionManager transactionManager) {
+		this.repository = repository;
+		this.assinantes = assinantes;
+		this.transacao = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Esvazia a fila de eventos, lote a lote, e retorna quantos foram
+	 * entregues. Depois de um lote que falhou, entrega os eventos dele um a um
+	 * e encerra o ciclo.
+	 */
+	@Scheduled(fixedDelayString = "${lancamento.eventos.intervalo-ms:1000}")
+	public int despachar() {
+		int despachados = 0;
+		int lote;
+		do {
+			try {
+				lote = transacao.execute(status -> despacharLote());
+			} catch (RuntimeException e) {
+				log.warn("Falha ao despachar um lote de eventos de lançamento, os eventos serão entregues um a um.", e);
+				return despachados + despacharIndividualmente();
+			}
+			despachados += lote;
+		} while (lote == tamanhoLote);
+		return despachados;
+	}
+
+	private int despacharLote() {
+		List<EventoLancamento> eventos = buscarPendentes();
+		if (eventos.isEmpty()) {
+			return 0;
+		}
+
+		assinantes.forEach(assinante -> assinante.processar(eventos));
+		repository.deleteInBatch(eventos);
+		return eventos.size();
+	}
+
+	private int despacharIndividualmente() {
+		List<EventoLancamento> eventos;
+		try {
+			eventos = transacao.execute(status -> buscarPendentes());
+		} catch (RuntimeException e) {
+			log.error("Falha ao buscar os eventos de lançamento pendentes.", e);
+			return 0;
+		}
+
+		int despachados = 0;
+		for (EventoLancamento evento : eventos) {
+			try {
+				despachados += transacao.execute(status -> despachar(evento.getId()));
+			} catch (RuntimeException e) {
+				registrarFalha(evento, e);
+			}
+		}
+		return despachados;
+	}
+
+	private int despachar(Long id) {
+		return repository.bloquearPendente(id, maximoTentativas)
+				.map(evento -> {
+					List<EventoLancamento> eventos = Collections.singletonList(evento);
+					assinantes.forEach(assinante -> assinante.processar(eventos));
+					repository.delete(evento);
+					return 1;
+				})
+				.orElse(0);
+	}
+
+	private void registrarFalha(EventoLancamento evento, RuntimeException erro) {
+		String mensagem = String.valueOf(erro);
+		String mensagemGravada = mensagem.length() > TAMANHO_MAXIMO_ERRO ? mensagem.substring(0, TAMANHO_MAXIMO_ERRO) : mensagem;
+		try {
+			transacao.execute(status -> repository.registrarFalha(evento.getId(), mensagemGravada));
+		} catch (RuntimeException e) {
+			log.error("Falha ao registrar a tentativa de entrega do evento de lançamento {}.", evento.getId(), e);
+			return;
+		}
+
+		if (evento.getTentativas() + 1 >= maximoTentativas) {
+			log.error("O evento de lançamento {} falhou {} vezes e não será mais entregue.",
+					evento.getId(), maximoTentativas, erro);
+		} else {
+			log.warn("Falha ao entregar o evento de lançamento {}, será entregue novamente.", evento.getId(), erro);
+		}
+	}
+
+	private List<EventoLancamento> buscarPendentes() {
+		return repository.buscarPendentes(maximoTentativas, PageRequest.of(0, tamanhoLote));
+	}
+}
@@ -0,0 +1,52 @@
+package com.joabss.financecontrol.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.joabss.financecontrol.model.entity.EventoLancamento;
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.enums.TipoEventoLancamento;
+import com.joabss.financecontrol.model.repository.EventoLancamentoRepository;
+
+/**
+ * Grava os eventos de alteração de lançamentos na transação corrente, para
+ * serem entregues depois por {@link DespachanteEventosLancamento}.
+ */
+@Component
+public class EventosLancamento {
+
+	private EventoLancamentoRepository repository;
+
+	public EventosLancamento(EventoLancamentoRepository repository) {
+		this.repository = repository;
+	}
+
+	public void registrar(TipoEventoLancamento tipoEvento, Lancamento lancamento) {
+		repository.save(criar(tipoEvento, lancamento, LocalDateTime.now()));
+	}
+
+	public void registrarTodos(TipoEventoLancamento tipoEvento, List<Lancamento> lancamentos) {
+		LocalDateTime agora = LocalDateTime.now();
+		repository.saveAll(lancamentos.stream()
+				.map(lancamento -> criar(tipoEvento, lancamento, agora))
+				.collect(Collectors.toList()));
+	}
+
+	private EventoLancamento criar(TipoEventoLancamento tipoEvento, Lancamento lancamento, LocalDateTime dataCriacao) {
+		return EventoLancamento.builder()
+				.tipoEvento(tipoEvento)
+				.idLancamento(lancamento.getId())
+				.idUsuario(lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId())
+				.descricao(lancamento.getDescricao())
+				.mes(lancamento.getMes())
+				.ano(lancamento.getAno())
+				.valor(lancamento.getValor())
+				.tipo(lancamento.getTipo())
+				.status(lancamento.getStatus())
+				.dataCriacao(dataCriacao)
+				.build();
+	}
+}
@@ -0,0 +1,154 @@
+package com.joabss.financecontrol.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.model.enums.StatusLancamento;
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+import com.joabss.financecontrol.model.repository.UsuarioRepository;
+import com.joabss.financecontrol.service.LancamentoService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gera uma massa de dados para testes de carga no perfil {@code carga}:
+ * {@code carga.usuarios} usuários ({@code usuario<n>@carga.local}, todos com a
+ * senha {@code carga.senha}) com {@code carga.lancamentos-por-usuario}
+ * lançamentos cada. Os lançamentos passam pela importação em lote e pela
+ * atualização de status em lote, então saldo mensal e índice de descrições
+ * ficam consistentes. Não faz nada se a massa já existir.
+ */
+@Slf4j
+@Component
+@Profile("carga")
+public class GeradorDadosCarga implements ApplicationRunner {
+
+	private static final int TAMANHO_LOTE = 1000;
+	private static final String[] RECEITAS = { "Salário", "Freelance", "Rendimento poupança", "Reembolso", "Venda" };
+	private static final String[] DESPESAS = {
+			"Aluguel", "Condomínio", "Mercado", "Farmácia", "Combustível", "Energia", "Internet", "Academia",
+			"Restaurante", "Padaria", "Plano de saúde", "Seguro do carro", "Cinema", "Escola", "Telefone" };
+
+	private UsuarioRepository usuarioRepository;
+	private LancamentoService lancamentoService;
+	private PasswordEncoder encoder;
+
+	@Value("${carga.usuarios:100}")
+	private int quantidadeUsuarios;
+
+	@Value("${carga.lancamentos-por-usuario:1000}")
+	private int lancamentosPorUsuario;
+
+	@Value("${carga.senha:carga}")
+	private String senha;
+
+	public GeradorDadosCarga(
+			UsuarioRepository usuarioRepository,
+			LancamentoService lancamentoService,
+			PasswordEncoder encoder) {
+		this.usuarioRepository = usuarioRepository;
+		this.lancamentoService = lancamentoService;
+		this.encoder = encoder;
+	}
+
+	public static String email(int usuario) {
+		return "usuario" + usuario + "@carga.local";
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (usuarioRepository.existsByEmail(email(1))) {
+			log.info("Massa de carga já existente, geração ignorada.");
+			return;
+		}
+
+		long inicio = System.currentTimeMillis();
+		Random aleatorio = new Random(42);
+		// o hash é caro de propósito: calculado uma vez e repetido em todos os usuários
+		String senhaCriptografada = encoder.encode(senha);
+
+		for (int i = 1; i <= quantidadeUsuarios; i++) {
+			Usuario usuario = usuarioRepository.save(Usuario.builder()
+					.nome("Usuário " + i)
+					.email(email(i))
+					.senha(senhaCriptografada)
+					.build());
+			gerarLancamentos(usuario, aleatorio);
+		}
+
+		log.info("Massa de carga gerada: {} usuário(s) com {} lançamento(s) cada em {} ms.",
+				quantidadeUsuarios, lancamentosPorUsuario, System.currentTimeMillis() - inicio);
+	}
+
+	private void gerarLancamentos(Usuario usuario, Random aleatorio) {
+		LocalDate hoje = LocalDate.now();
+		Map<StatusLancamento, List<Long>> idsPorStatus = new EnumMap<>(StatusLancamento.class);
+		List<Lancamento> lote = new ArrayList<>(TAMANHO_LOTE);
+		List<StatusLancamento> statusDoLote = new ArrayList<>(TAMANHO_LOTE);
+
+		for (int i = 0; i < lancamentosPorUsuario; i++) {
+			// meses recentes concentram mais lançamentos: até três anos para trás
+			int mesesAtras = (int) Math.min(35, Math.abs(aleatorio.nextGaussian() * 12));
+			LocalDate competencia = hoje.minusMonths(mesesAtras);
+			boolean receita = aleatorio.nextInt(100) < 20;
+
+			Lancamento lancamento = new Lancamento();
+			lancamento.setUsuario(usuario);
+			lancamento.setAno(competencia.getYear());
+			lancamento.setMes(competencia.getMonthValue());
+			lancamento.setTipo(receita ? TipoLancamento.RECEITA : TipoLancamento.DESPESA);
+			lancamento.setDescricao(receita
+					? RECEITAS[aleatorio.nextInt(RECEITAS.length)]
+					: DESPESAS[aleatorio.nextInt(DESPESAS.length)]);
+			lancamento.setValor(BigDecimal.valueOf(receita ? 50000 + aleatorio.nextInt(900000) : 500 + aleatorio.nextInt(60000), 2));
+			lancamento.setDataCadastro(hoje);
+			lote.add(lancamento);
+			statusDoLote.add(sortearStatus(mesesAtras, aleatorio));
+
+			if (lote.size() == TAMANHO_LOTE || i == lancamentosPorUsuario - 1) {
+				lancamentoService.salvarEmLote(lote);
+				for (int j = 0; j < lote.size(); j++) {
+					idsPorStatus.computeIfAbsent(statusDoLote.get(j), s -> new ArrayList<>()).add(lote.get(j).getId());
+				}
+				lote = new ArrayList<>(TAMANHO_LOTE);
+				statusDoLote.clear();
+			}
+		}
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		idsPorStatus.forEach((status, ids) -> {
+			if (status != StatusLancamento.PENDENTE) {
+				for (int i = 0; i < ids.size(); i += TAMANHO_LOTE) {
+					lancamentoService.atualizarStatusEmLote(filtro, ids.subList(i, Math.min(ids.size(), i + TAMANHO_LOTE)), status);
+				}
+			}
+		});
+	}
+
+	private StatusLancamento sortearStatus(int mesesAtras, Random aleatorio) {
+		int sorteio = aleatorio.nextInt(100);
+		if (sorteio < 3) {
+			return StatusLancamento.CANCELADO;
+		}
+		if (mesesAtras == 0) {
+			// mês corrente: a maior parte ainda não foi efetivada
+			return sorteio < 60 ? StatusLancamento.PENDENTE : StatusLancamento.EFETIVADO;
+		}
+		return sorteio < 8 ? StatusLancamento.PENDENTE : StatusLancamento.EFETIVADO;
+	}
+}
@@ -0,0 +1,249 @@
+package com.joabss.financecontrol.service.impl;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.joabss.financecontrol.model.entity.EventoLancamento;
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.enums.TipoEventoLancamento;
+import com.joabss.financecontrol.model.projection.DescricaoLancamento;
+import com.joabss.financecontrol.model.repository.EventoLancamentoRepository;
+import com.joabss.financecontrol.model.repository.LancamentoRepository;
+import com.joabss.financecontrol.service.AssinanteEventosLancamento;
+import com.joabss.financecontrol.service.IndiceDescricaoService;
+
+/**
+ * Índice invertido em memória, por usuário, dos trigramas das descrições dos
+ * lançamentos. O índice de um usuário é carregado na primeira busca e mantido
+ * pelos eventos de escrita entregues por {@code DespachanteEventosLancamento}.
+ * Enquanto houver eventos do usuário na fila o índice pode não conhecer as
+ * últimas escritas, então a busca não responde e a consulta vai ao banco.
+ * Como vive no processo e cada evento é entregue a uma única instância, em
+ * implantações com várias instâncias deve ser desabilitado com
+ * {@code lancamento.busca.indice.habilitado}.
+ */
+@Service
+public class IndiceDescricaoServiceImpl implements IndiceDescricaoService, AssinanteEventosLancamento {
+
+	private static final int TAMANHO_TRIGRAMA = 3;
+	private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+
+	private LancamentoRepository repository;
+	private EventoLancamentoRepository eventoRepository;
+	private Map<Long, IndiceUsuario> indices;
+
+	@Value("${lancamento.busca.indice.habilitado:true}")
+	private boolean habilitado;
+
+	@Value("${lancamento.busca.indice.max-candidatos:1000}")
+	private int maxCandidatos;
+
+	public IndiceDescricaoServiceImpl(
+			LancamentoRepository repository,
+			EventoLancamentoRepository eventoRepository,
+			@Value("${lancamento.busca.indice.max-usuarios:10000}") int maxUsuarios) {
+		this.repository = repository;
+		this.eventoRepository = eventoRepository;
+		this.indices = Collections.synchronizedMap(new LinkedHashMap<Long, IndiceUsuario>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, IndiceUsuario> eldest) {
+				return size() > maxUsuarios;
+			}
+		});
+	}
+
+	@Override
+	public Optional<Set<Long>> buscar(Long idUsuario, String descricao) {
+		if (!habilitado || idUsuario == null || descricao == null) {
+			return Optional.empty();
+		}
+
+		String termo = normalizar(descricao);
+		if (termo.isEmpty() || eventoRepository.existsByIdUsuario(idUsuario)) {
+			return Optional.empty();
+		}
+
+		IndiceUsuario indice = indices.computeIfAbsent(idUsuario, id -> new IndiceUsuario());
+		Set<Long> encontrados = indice.buscar(idUsuario, termo);
+		if (encontrados.size() > maxCandidatos) {
+			// pouco seletivo: a consulta por ids ficaria maior que a própria varredura
+			return Optional.empty();
+		}
+		return Optional.of(encontrados);
+	}
+
+	@Override
+	public void indexar(Lancamento lancamento) {
+		aposCommit(() -> indexar(lancamento.getUsuario().getId(), lancamento.getId(), lancamento.getDescricao()));
+	}
+
+	@Override
+	public void remover(Lancamento lancamento) {
+		aposCommit(() -> remover(lancamento.getUsuario().getId(), lancamento.getId()));
+	}
+
+	/**
+	 * Aplica as escritas recebidas pela fila de eventos. Reaplicar um evento
+	 * não altera o índice, então entregas repetidas são inofensivas. Os eventos
+	 * descrevem escritas já confirmadas, por isso são aplicados antes de saírem
+	 * da fila: quando a fila do usuário esvazia, o índice já os contém.
+	 */
+	@Override
+	public void processar(List<EventoLancamento> eventos) {
+		if (!habilitado) {
+			return;
+		}
+
+		for (EventoLancamento evento : eventos) {
+			if (evento.getIdUsuario() == null) {
+				continue;
+			}
+			if (evento.getTipoEvento() == TipoEventoLancamento.REMOVIDO) {
+				remover(evento.getIdUsuario(), evento.getIdLancamento());
+			} else {
+				indexar(evento.getIdUsuario(), evento.getIdLancamento(), evento.getDescricao());
+			}
+		}
+	}
+
+	private void indexar(Long idUsuario, Long id, String descricao) {
+		IndiceUsuario indice = indices.get(idUsuario);
+		if (indice != null) {
+			indice.adicionar(id, normalizar(descricao));
+		}
+	}
+
+	private void remover(Long idUsuario, Long id) {
+		IndiceUsuario indice = indices.get(idUsuario);
+		if (indice != null) {
+			indice.remover(id);
+		}
+	}
+
+	private void aposCommit(Runnable acao) {
+		if (!habilitado) {
+			return;
+		}
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCompletion(int status) {
+					if (status == TransactionSynchronization.STATUS_COMMITTED) {
+						acao.run();
+					}
+				}
+			});
+		} else {
+			acao.run();
+		}
+	}
+
+	static String normalizar(String texto) {
+		if (texto == null) {
+			return "";
+		}
+		String semAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+		return semAcentos.toLowerCase(Locale.ROOT).trim();
+	}
+
+	private static Set<String> trigramas(String texto) {
+		Set<String> trigramas = new HashSet<>();
+		for (int i = 0; i + TAMANHO_TRIGRAMA <= texto.length(); i++) {
+			trigramas.add(texto.substring(i, i + TAMANHO_TRIGRAMA));
+		}
+		return trigramas;
+	}
+
+	private class IndiceUsuario {
+
+		private final Map<Long, String> descricoes = new HashMap<>();
+		private final Map<String, Set<Long>> postagens = new HashMap<>();
+		private boolean carregado;
+
+		synchronized Set<Long> buscar(Long idUsuario, String termo) {
+			if (!carregado) {
+				carregar(idUsuario);
+			}
+
+			if (termo.length() < TAMANHO_TRIGRAMA) {
+				return filtrar(descricoes.keySet(), termo);
+			}
+
+			List<Set<Long>> listas = new ArrayList<>();
+			for (String trigrama : trigramas(termo)) {
+				Set<Long> lista = postagens.get(trigrama);
+				if (lista == null) {
+					return Collections.emptySet();
+				}
+				listas.add(lista);
+			}
+			listas.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+			Set<Long> candidatos = new HashSet<>(listas.get(0));
+			for (int i = 1; i < listas.size() && !candidatos.isEmpty(); i++) {
+				candidatos.retainAll(listas.get(i));
+			}
+			return filtrar(candidatos, termo);
+		}
+
+		private Set<Long> filtrar(Set<Long> candidatos, String termo) {
+			Set<Long> encontrados = new HashSet<>();
+			for (Long id : candidatos) {
+				if (descricoes.get(id).contains(termo)) {
+					encontrados.add(id);
+				}
+			}
+			return encontrados;
+		}
+
+		private void carregar(Long idUsuario) {
+			// escritas aplicadas antes da carga são mais recentes que a leitura do banco
+			for (DescricaoLancamento lancamento : repository.obterDescricoesPorUsuario(idUsuario)) {
+				if (!descricoes.containsKey(lancamento.getId())) {
+					adicionar(lancamento.getId(), normalizar(lancamento.getDescricao()));
+				}
+			}
+			carregado = true;
+		}
+
+		synchronized void adicionar(Long id, String descricao) {
+			remover(id);
+			descricoes.put(id, descricao);
+			for (String trigrama : trigramas(descricao)) {
+				postagens.computeIfAbsent(trigrama, t -> new HashSet<>()).add(id);
+			}
+		}
+
+		synchronized void remover(Long id) {
+			String anterior = descricoes.remove(id);
+			if (anterior == null) {
+				return;
+			}
+			for (String trigrama : trigramas(anterior)) {
+				Set<Long> lista = postagens.get(trigrama);
+				if (lista != null && lista.remove(id) && lista.isEmpty()) {
+					postagens.remove(trigrama);
+				}
+			}
+		}
+	}
+}
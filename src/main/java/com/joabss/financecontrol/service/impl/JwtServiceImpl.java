@@ -1,30 +1,65 @@
 package com.joabss.financecontrol.service.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.spec.SecretKeySpec;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.joabss.financecontrol.model.entity.Usuario;
 import com.joabss.financecontrol.service.JwtService;
+import com.joabss.financecontrol.service.UsuarioAutenticado;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 @Service
 public class JwtServiceImpl implements JwtService {
 	
-	@Value("${jwt.expiracao}")
 	private String expiracao;
-	
-	@Value("${jwt.chave-assinatura}")
-	private String chaveAssinatura;
+	private Key chave;
+	private JwtParser parser;
+	private Cache<String, TokenVerificado> tokensVerificados;
+
+	public JwtServiceImpl(
+			@Value("${jwt.expiracao}") String expiracao,
+			@Value("${jwt.chave-assinatura}") String chaveAssinatura,
+			@Value("${jwt.cache.max-tokens:10000}") long maxTokens,
+			MeterRegistry meterRegistry) {
+		this.expiracao = expiracao;
+		this.chave = new SecretKeySpec(TextCodec.BASE64.decode(chaveAssinatura), SignatureAlgorithm.HS512.getJcaName());
+		this.parser = Jwts.parser().setSigningKey(chave);
+		this.tokensVerificados = Caffeine.newBuilder()
+				.maximumSize(maxTokens)
+				.expireAfter(new ExpiracaoDoToken())
+				.recordStats()
+				.build();
+		// mesmas tags dos caches do Spring, exigência do formato Prometheus
+		CaffeineCacheMetrics.monitor(meterRegistry, tokensVerificados, "tokenVerificado",
+				"cacheManager", "seguranca", "name", "tokenVerificado");
+	}
 
 	@Override
 	public String gerarToken(Usuario usuario) {
@@ -43,7 +78,7 @@ public class JwtServiceImpl implements JwtService {
 							.claim("userId", usuario.getId())
 							.claim("nome", usuario.getNome())
 							.claim("horaExpiracao", horaExpiracaoToken)
-							.signWith( SignatureAlgorithm.HS512 , chaveAssinatura )
+							.signWith( SignatureAlgorithm.HS512 , chave )
 							.compact();
 		
 		return token;
@@ -51,25 +86,40 @@ public class JwtServiceImpl implements JwtService {
 
 	@Override
 	public Claims obterClaims(String token) throws ExpiredJwtException {
-		return Jwts
-				.parser()
-				.setSigningKey(chaveAssinatura)
+		return parser
 				.parseClaimsJws(token)
 				.getBody();
 	}
 
+	/**
+	 * Verifica assinatura e expiração uma única vez por token: o resultado fica
+	 * em cache, pelo hash do token, até a expiração do próprio token, e as
+	 * requisições seguintes com o mesmo token não repetem a verificação.
+	 */
 	@Override
-	public boolean isTokenValido(String token) {
-		try {
-			Claims claims = obterClaims(token);
-			java.util.Date dataEx = claims.getExpiration();
-			LocalDateTime dataExpiracao = dataEx.toInstant()
-					.atZone(ZoneId.systemDefault()).toLocalDateTime();
-			boolean dataHoraAtualIsAfterDataExpiracao = LocalDateTime.now().isAfter(dataExpiracao);
-			return !dataHoraAtualIsAfterDataExpiracao;
-		}catch(ExpiredJwtException e) {
-			return false;
+	public Optional<UsuarioAutenticado> verificar(String token) {
+		String hash = hash(token);
+		TokenVerificado verificado = tokensVerificados.getIfPresent(hash);
+
+		if (verificado == null) {
+			try {
+				Claims claims = obterClaims(token);
+				verificado = new TokenVerificado(UsuarioAutenticado.deClaims(claims), claims.getExpiration().getTime());
+			} catch (JwtException | IllegalArgumentException e) {
+				return Optional.empty();
+			}
+			tokensVerificados.put(hash, verificado);
 		}
+
+		if (verificado.expiracao <= System.currentTimeMillis()) {
+			return Optional.empty();
+		}
+		return Optional.of(verificado.usuario);
+	}
+
+	@Override
+	public boolean isTokenValido(String token) {
+		return verificar(token).isPresent();
 	}
 
 	@Override
@@ -78,4 +128,41 @@ public class JwtServiceImpl implements JwtService {
 		return claims.getSubject();
 	}
 
+	private String hash(String token) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static class TokenVerificado {
+
+		private final UsuarioAutenticado usuario;
+		private final long expiracao;
+
+		TokenVerificado(UsuarioAutenticado usuario, long expiracao) {
+			this.usuario = usuario;
+			this.expiracao = expiracao;
+		}
+	}
+
+	private static class ExpiracaoDoToken implements Expiry<String, TokenVerificado> {
+
+		@Override
+		public long expireAfterCreate(String hash, TokenVerificado token, long agora) {
+			return TimeUnit.MILLISECONDS.toNanos(Math.max(0, token.expiracao - System.currentTimeMillis()));
+		}
+
+		@Override
+		public long expireAfterUpdate(String hash, TokenVerificado token, long agora, long duracaoAtual) {
+			return expireAfterCreate(hash, token, agora);
+		}
+
+		@Override
+		public long expireAfterRead(String hash, TokenVerificado token, long agora, long duracaoAtual) {
+			return duracaoAtual;
+		}
+	}
 }
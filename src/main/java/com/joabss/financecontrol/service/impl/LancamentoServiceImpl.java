@@ -1,30 +1,81 @@
 package com.joabss.financecontrol.service.impl;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
-import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.joabss.financecontrol.api.dto.LancamentoDTO;
+import com.joabss.financecontrol.api.dto.PeriodoRelatorioDTO;
+import com.joabss.financecontrol.exception.ConflitoVersaoException;
 import com.joabss.financecontrol.exception.RegraNegocioException;
 import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.SaldoMensal;
 import com.joabss.financecontrol.model.enums.StatusLancamento;
-import com.joabss.financecontrol.model.enums.TipoLancamento;
+import com.joabss.financecontrol.model.enums.TipoEventoLancamento;
+import com.joabss.financecontrol.model.projection.ResumoSaldo;
 import com.joabss.financecontrol.model.repository.LancamentoRepository;
+import com.joabss.financecontrol.service.IndiceDescricaoService;
 import com.joabss.financecontrol.service.LancamentoService;
+import com.joabss.financecontrol.service.SaldoService;
 
 @Service
 public class LancamentoServiceImpl implements LancamentoService {
 
+	private static final String CONFLITO_VERSAO =
+			"O lançamento foi alterado por outra requisição, obtenha a versão atual e tente novamente.";
+
+	/** Campos com regra em {@link #validar(Lancamento)}. */
+	private static final Set<String> CAMPOS_VALIDADOS = Collections.unmodifiableSet(new HashSet<>(
+			Arrays.asList("descricao", "mes", "ano", "usuario", "valor", "tipo")));
+
+	/** Campos que {@link #atualizarCampos} pode alterar. */
+	private static final Set<String> CAMPOS_ALTERAVEIS = Collections.unmodifiableSet(new HashSet<>(
+			Arrays.asList("descricao", "mes", "ano", "usuario", "valor", "tipo", "status")));
+
 	private LancamentoRepository repository;
+	private SaldoService saldoService;
+	private IndiceDescricaoService indiceDescricaoService;
+	private CacheLancamentos cacheLancamentos;
+	private EventosLancamento eventosLancamento;
+
+	@Value("${lancamento.pagina.tamanho-padrao:20}")
+	private int tamanhoPaginaPadrao;
+
+	@Value("${lancamento.pagina.tamanho-maximo:100}")
+	private int tamanhoPaginaMaximo;
+
+	@Value("${lancamento.lote.tamanho:1000}")
+	private int tamanhoLote;
 
-	public LancamentoServiceImpl(LancamentoRepository repository) {
+	public LancamentoServiceImpl(
+			LancamentoRepository repository,
+			SaldoService saldoService,
+			IndiceDescricaoService indiceDescricaoService,
+			CacheLancamentos cacheLancamentos,
+			EventosLancamento eventosLancamento) {
 		this.repository = repository;
+		this.saldoService = saldoService;
+		this.indiceDescricaoService = indiceDescricaoService;
+		this.cacheLancamentos = cacheLancamentos;
+		this.eventosLancamento = eventosLancamento;
 	}
 
 	@Override
@@ -32,65 +83,292 @@ public class LancamentoServiceImpl implements LancamentoService {
 	public Lancamento salvar(Lancamento lancamento) {
 		validar(lancamento);
 		lancamento.setStatus(StatusLancamento.PENDENTE);
-		return repository.save(lancamento);
+		Lancamento lancamentoSalvo = repository.save(lancamento);
+		saldoService.registrar(lancamentoSalvo);
+		eventosLancamento.registrar(TipoEventoLancamento.CRIADO, lancamentoSalvo);
+		removerDoCache(lancamentoSalvo);
+		return lancamentoSalvo;
 	}
 
+	/**
+	 * Insere os lançamentos de uma vez, aproveitando o batch de JDBC do
+	 * Hibernate. O saldo mensal é atualizado uma vez por mês, tipo e status
+	 * presentes no lote. Não valida os lançamentos: quem monta o lote já os
+	 * validou, um a um com {@link #validar} ou pela regra que os gerou, para
+	 * poder tratar os inválidos sem descartar o lote inteiro.
+	 */
+	@Override
+	@Transactional
+	public List<Lancamento> salvarEmLote(List<Lancamento> lancamentos) {
+		lancamentos.forEach(lancamento -> lancamento.setStatus(StatusLancamento.PENDENTE));
+		List<Lancamento> lancamentosSalvos = repository.inserirEmLote(lancamentos);
+		saldoService.registrarTodos(lancamentosSalvos);
+		eventosLancamento.registrarTodos(TipoEventoLancamento.CRIADO, lancamentosSalvos);
+		cacheLancamentos.removerMeses(lancamentosSalvos);
+		return lancamentosSalvos;
+	}
+
+	/**
+	 * Grava o lançamento com um UPDATE condicionado à versão informada em
+	 * {@code lancamento.getVersao()}. Sem versão, usa a atual do banco, o que
+	 * ainda impede que duas atualizações simultâneas estornem o mesmo saldo.
+	 * Se outra transação alterou o lançamento antes, lança
+	 * {@link ConflitoVersaoException} e nada é gravado.
+	 */
 	@Override
 	@Transactional
 	public Lancamento atualizar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
 		validar(lancamento);
-		return repository.save(lancamento);
+		if (lancamento.getVersao() == null) {
+			lancamento.setVersao(repository.obterVersao(lancamento.getId())
+					.orElseThrow(() -> new RegraNegocioException("Lançamento não encontrado na base de Dados.")));
+		}
+
+		saldoService.estornar(lancamento.getId()).ifPresent(anterior ->
+				cacheLancamentos.removerMes(anterior.getIdUsuario(), anterior.getAno(), anterior.getMes()));
+		if (repository.atualizar(lancamento) == 0) {
+			throw new ConflitoVersaoException(CONFLITO_VERSAO);
+		}
+		lancamento.setVersao(lancamento.getVersao() + 1);
+
+		saldoService.registrar(lancamento);
+		eventosLancamento.registrar(TipoEventoLancamento.ATUALIZADO, lancamento);
+		removerDoCache(lancamento);
+		return lancamento;
 	}
 
+	/**
+	 * O DELETE confere a versão carregada; se outra transação alterou o
+	 * lançamento antes, lança {@link ConflitoVersaoException}.
+	 */
 	@Override
 	@Transactional
 	public void deletar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
-		repository.delete(lancamento);
+		saldoService.estornar(lancamento.getId());
+		try {
+			repository.delete(lancamento);
+			repository.flush();
+		} catch (OptimisticLockingFailureException e) {
+			throw new ConflitoVersaoException(CONFLITO_VERSAO);
+		}
+		eventosLancamento.registrar(TipoEventoLancamento.REMOVIDO, lancamento);
+		removerDoCache(lancamento);
+	}
+
+	/**
+	 * Carrega o lançamento e altera só os campos recebidos; com
+	 * {@code @DynamicUpdate}, o UPDATE gravado contém apenas as colunas que
+	 * mudaram e confere a versão carregada. O saldo só é movimentado quando
+	 * mês, ano, valor, tipo, status ou usuário mudam de fato.
+	 */
+	@Override
+	@Transactional
+	public Lancamento atualizarCampos(Long id, Long versao, Lancamento alteracoes, Set<String> campos) {
+		for (String campo : campos) {
+			if (!CAMPOS_ALTERAVEIS.contains(campo)) {
+				throw new RegraNegocioException("O campo " + campo + " não pode ser alterado.");
+			}
+		}
+		if (campos.contains("status") && alteracoes.getStatus() == null) {
+			throw new RegraNegocioException("Não foi possível atualizar o status do lançamento, envie um status válido.");
+		}
+
+		Lancamento lancamento = repository.findById(id)
+				.orElseThrow(() -> new RegraNegocioException("Lançamento não encontrado na base de Dados."));
+		if (versao != null && !versao.equals(lancamento.getVersao())) {
+			throw new ConflitoVersaoException(CONFLITO_VERSAO);
+		}
+		SaldoMensal anterior = movimento(lancamento);
+
+		if (campos.contains("descricao")) {
+			lancamento.setDescricao(alteracoes.getDescricao());
+		}
+		if (campos.contains("mes")) {
+			lancamento.setMes(alteracoes.getMes());
+		}
+		if (campos.contains("ano")) {
+			lancamento.setAno(alteracoes.getAno());
+		}
+		if (campos.contains("usuario")) {
+			lancamento.setUsuario(alteracoes.getUsuario());
+		}
+		if (campos.contains("valor")) {
+			lancamento.setValor(alteracoes.getValor());
+		}
+		if (campos.contains("tipo")) {
+			lancamento.setTipo(alteracoes.getTipo());
+		}
+		if (campos.contains("status")) {
+			lancamento.setStatus(alteracoes.getStatus());
+		}
+		validar(lancamento, campos);
+
+		if (!mesmoMovimento(anterior, movimento(lancamento))) {
+			saldoService.estornar(anterior);
+			saldoService.registrar(lancamento);
+			cacheLancamentos.removerMes(anterior.getIdUsuario(), anterior.getAno(), anterior.getMes());
+		}
+
+		try {
+			repository.flush();
+		} catch (OptimisticLockingFailureException e) {
+			throw new ConflitoVersaoException(CONFLITO_VERSAO);
+		}
+
+		eventosLancamento.registrar(TipoEventoLancamento.ATUALIZADO, lancamento);
+		removerDoCache(lancamento);
+		return lancamento;
+	}
+
+	private static SaldoMensal movimento(Lancamento lancamento) {
+		return new SaldoMensal(lancamento.getUsuario().getId(), lancamento.getAno(), lancamento.getMes(),
+				lancamento.getTipo(), lancamento.getStatus(), lancamento.getValor(), 1L);
+	}
+
+	private static boolean mesmoMovimento(SaldoMensal anterior, SaldoMensal atual) {
+		return Objects.equals(anterior.getIdUsuario(), atual.getIdUsuario())
+				&& Objects.equals(anterior.getAno(), atual.getAno())
+				&& Objects.equals(anterior.getMes(), atual.getMes())
+				&& anterior.getTipo() == atual.getTipo()
+				&& anterior.getStatus() == atual.getStatus()
+				&& anterior.getValor().compareTo(atual.getValor()) == 0;
+	}
+
+	private void removerDoCache(Lancamento lancamento) {
+		cacheLancamentos.removerLancamento(lancamento.getId());
+		if (lancamento.getUsuario() != null) {
+			cacheLancamentos.removerMes(lancamento.getUsuario().getId(), lancamento.getAno(), lancamento.getMes());
+		}
 	}
 
 	@Override
 	@Transactional(readOnly = true)
 	public List<Lancamento> buscar(Lancamento lancamentoFiltro) {
-		Example<Lancamento> example = Example.of(lancamentoFiltro, 
-				ExampleMatcher.matching()
-				.withIgnoreCase()
-				.withStringMatcher(StringMatcher.CONTAINING));
-		
-		return repository.findAll(example);
+		return buscar(lancamentoFiltro, repository::buscar);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	@Cacheable(cacheNames = CacheLancamentos.LANCAMENTOS_DO_MES,
+			condition = "T(com.joabss.financecontrol.service.impl.CacheLancamentos).buscaDoMes(#lancamentoFiltro)",
+			key = "T(com.joabss.financecontrol.service.impl.CacheLancamentos).chaveMes("
+					+ "#lancamentoFiltro.usuario.id, #lancamentoFiltro.ano, #lancamentoFiltro.mes)")
+	public List<LancamentoDTO> buscarDTO(Lancamento lancamentoFiltro) {
+		return buscar(lancamentoFiltro, repository::buscarDTO);
+	}
+
+	/**
+	 * Usa o índice de descrições para restringir a {@code consulta} aos ids
+	 * candidatos; a descrição continua no filtro, então candidatos que o índice
+	 * ainda não sabe que mudaram são descartados pelo banco. Sem índice,
+	 * filtra apenas no banco.
+	 */
+	private <T> List<T> buscar(Lancamento lancamentoFiltro, BiFunction<Lancamento, Collection<Long>, List<T>> consulta) {
+		String descricao = lancamentoFiltro.getDescricao();
+
+		if (descricao != null && !descricao.trim().isEmpty() && lancamentoFiltro.getUsuario() != null) {
+			Optional<Set<Long>> ids = indiceDescricaoService.buscar(lancamentoFiltro.getUsuario().getId(), descricao);
+
+			if (ids.isPresent()) {
+				if (ids.get().isEmpty()) {
+					return Collections.emptyList();
+				}
+				return consulta.apply(lancamentoFiltro, ids.get());
+			}
+		}
+
+		return consulta.apply(lancamentoFiltro, null);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
+	public Slice<Lancamento> buscarPagina(Lancamento lancamentoFiltro, Lancamento ultimo, Integer tamanho) {
+		int limite = tamanho == null || tamanho < 1 ? tamanhoPaginaPadrao : Math.min(tamanho, tamanhoPaginaMaximo);
+
+		List<Lancamento> lancamentos = repository.buscarPagina(lancamentoFiltro, ultimo, limite + 1);
+		boolean haMais = lancamentos.size() > limite;
+		if (haMais) {
+			lancamentos = lancamentos.subList(0, limite);
+		}
+
+		return new SliceImpl<>(lancamentos, PageRequest.of(0, limite), haMais);
+	}
+
+	@Override
+	@Transactional
 	public void atualizarStatus(Lancamento lancamento, StatusLancamento status) {
 		lancamento.setStatus(status);
 		atualizar(lancamento);
 	}
 
+	/**
+	 * Altera o status dos lançamentos informados por id ou pelo filtro
+	 * (usuário, ano, mês e status atual). Os lançamentos afetados são
+	 * bloqueados primeiro, para que uma escrita concorrente não mude um deles
+	 * entre o agrupamento e o UPDATE; depois, a cada
+	 * {@code lancamento.lote.tamanho} ids, um agrupamento e um único UPDATE.
+	 * O saldo mensal é ajustado uma vez por grupo de mês, tipo e status, não
+	 * por lançamento; os eventos de atualização são gravados por lançamento.
+	 */
+	@Override
+	@Transactional
+	public int atualizarStatusEmLote(Lancamento lancamentoFiltro, Collection<Long> ids, StatusLancamento status) {
+		if (status == null) {
+			throw new RegraNegocioException("Não foi possível atualizar o status dos lançamentos, envie um status válido.");
+		}
+
+		boolean semIds = ids == null || ids.isEmpty();
+		if (semIds && lancamentoFiltro.getUsuario() == null) {
+			throw new RegraNegocioException("Informe os lançamentos ou o Usuário dos lançamentos a atualizar.");
+		}
+
+		List<Long> bloqueados = repository.bloquearParaStatus(lancamentoFiltro, semIds ? null : ids, status);
+
+		int atualizados = 0;
+		for (int inicio = 0; inicio < bloqueados.size(); inicio += tamanhoLote) {
+			List<Long> parte = bloqueados.subList(inicio, Math.min(inicio + tamanhoLote, bloqueados.size()));
+			List<SaldoMensal> movimentos = repository.agruparMovimentosParaStatus(lancamentoFiltro, parte, status);
+			atualizados += repository.atualizarStatus(lancamentoFiltro, parte, status);
+			saldoService.transferirStatus(movimentos, status);
+			eventosLancamento.registrarTodos(TipoEventoLancamento.ATUALIZADO, repository.buscar(new Lancamento(), parte));
+
+			movimentos.forEach(movimento ->
+					cacheLancamentos.removerMes(movimento.getIdUsuario(), movimento.getAno(), movimento.getMes()));
+		}
+		cacheLancamentos.removerLancamentos(bloqueados);
+		return atualizados;
+	}
+
 	@Override
 	public void validar(Lancamento lancamento) {
+		validar(lancamento, CAMPOS_VALIDADOS);
+	}
+
+	private void validar(Lancamento lancamento, Set<String> campos) {
 
-		if(lancamento.getDescricao() == null || lancamento.getDescricao().trim().equals("")) {
+		if(campos.contains("descricao") && (lancamento.getDescricao() == null || lancamento.getDescricao().trim().equals(""))) {
 			throw new RegraNegocioException("Informe uma descrição válida.");
 		}
 
-		if(lancamento.getMes() == null || lancamento.getMes() < 1 ||lancamento.getMes() > 12) {
+		if(campos.contains("mes") && (lancamento.getMes() == null || lancamento.getMes() < 1 ||lancamento.getMes() > 12)) {
 			throw new RegraNegocioException("Informe um Mês válido.");
 		}
 
-		if(lancamento.getAno() == null || lancamento.getAno().toString().length() != 4) {
+		if(campos.contains("ano") && (lancamento.getAno() == null || lancamento.getAno().toString().length() != 4)) {
 			throw new RegraNegocioException("Informe um Ano válido.");
 		}
 
-		if(lancamento.getUsuario() == null || lancamento.getUsuario().getId() == null) {
+		if(campos.contains("usuario") && (lancamento.getUsuario() == null || lancamento.getUsuario().getId() == null)) {
 			throw new RegraNegocioException("Informe um Usuário.");
 		}
 
-		if(lancamento.getValor() == null || lancamento.getValor().compareTo(BigDecimal.ZERO) < 1) {
+		if(campos.contains("valor") && (lancamento.getValor() == null || lancamento.getValor().compareTo(BigDecimal.ZERO) < 1)) {
 			throw new RegraNegocioException("Informe um Valor válido.");
 		}
 
-		if(lancamento.getTipo() == null) {
+		if(campos.contains("tipo") && lancamento.getTipo() == null) {
 			throw new RegraNegocioException("Informe um Tipo de Lançamento.");
 		}
 	}
@@ -102,18 +380,35 @@ public class LancamentoServiceImpl implements LancamentoService {
 
 	@Override
 	@Transactional(readOnly = true)
-	public BigDecimal obterSaldoPorUsuario(Long id) {
-
-		BigDecimal receitas = repository.obterSaldoPorTipoLancamentoEUsuarioEStatus(id, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
-		BigDecimal despesas = repository.obterSaldoPorTipoLancamentoEUsuarioEStatus(id, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
+	@Cacheable(cacheNames = CacheLancamentos.LANCAMENTO, key = "#id", unless = "#result == null")
+	public Optional<LancamentoDTO> obterDTOPorId(Long id) {
+		return repository.obterDTOPorId(id);
+	}
 
-		if (receitas == null) {
-			receitas = BigDecimal.ZERO;
+	@Override
+	@Transactional(readOnly = true)
+	public void exportar(Long idUsuario, Consumer<LancamentoDTO> destino) {
+		try (Stream<LancamentoDTO> lancamentos = repository.exportarPorUsuario(idUsuario)) {
+			lancamentos.forEach(destino);
 		}
+	}
 
-		if (despesas == null) {
-			despesas = BigDecimal.ZERO;
-		}
-		return receitas.subtract(despesas);
+	@Override
+	@Transactional(readOnly = true)
+	@Cacheable(cacheNames = CacheLancamentos.SALDO, key = "#id")
+	public BigDecimal obterSaldoPorUsuario(Long id) {
+		return saldoService.obterSaldo(id);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public ResumoSaldo obterResumoPorUsuario(Long id) {
+		return saldoService.obterResumo(id);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<PeriodoRelatorioDTO> obterRelatorioPorUsuario(Long id, Integer anoInicial, Integer anoFinal, boolean anual) {
+		return saldoService.obterRelatorio(id, anoInicial, anoFinal, anual);
 	}
 }
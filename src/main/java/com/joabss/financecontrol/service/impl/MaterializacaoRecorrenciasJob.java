@@ -0,0 +1,82 @@
+package com.joabss.financecontrol.service.impl;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.joabss.financecontrol.service.RecorrenciaService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Avança o horizonte das recorrências: grava como lançamentos as ocorrências
+ * que passaram a caber nele, uma regra por transação, para que uma regra com
+ * problema não impeça as demais. Os ids são lidos em páginas de
+ * {@code recorrencia.materializacao.lote}. Roda na inicialização e conforme
+ * {@code recorrencia.materializacao.cron}.
+ */
+@Slf4j
+@Component
+public class MaterializacaoRecorrenciasJob {
+
+	private RecorrenciaService recorrenciaService;
+
+	@Value("${recorrencia.materializacao.lote:200}")
+	private int tamanhoLote;
+
+	@Value("${recorrencia.materializacao.na-inicializacao:true}")
+	private boolean naInicializacao;
+
+	public MaterializacaoRecorrenciasJob(RecorrenciaService recorrenciaService) {
+		this.recorrenciaService = recorrenciaService;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void materializarNaInicializacao() {
+		if (naInicializacao) {
+			materializar();
+		}
+	}
+
+	/**
+	 * Percorre as regras com ocorrência dentro do horizonte e retorna quantas
+	 * foram materializadas. Uma regra que falhar é registrada no log e
+	 * refeita na próxima execução; as seguintes continuam sendo processadas.
+	 */
+	@Scheduled(cron = "${recorrencia.materializacao.cron:0 30 2 * * *}")
+	public int materializar() {
+		int materializadas = 0;
+		int falhas = 0;
+		try {
+			Long ultimo = 0L;
+			List<Long> ids;
+			do {
+				ids = recorrenciaService.buscarParaMaterializar(ultimo, tamanhoLote);
+				for (Long id : ids) {
+					try {
+						if (recorrenciaService.materializar(id)) {
+							materializadas++;
+						}
+					} catch (RuntimeException e) {
+						falhas++;
+						log.error("Falha ao materializar a recorrência {}, será refeita na próxima execução.", id, e);
+					}
+				}
+				if (!ids.isEmpty()) {
+					ultimo = ids.get(ids.size() - 1);
+				}
+			} while (ids.size() == tamanhoLote);
+		} catch (RuntimeException e) {
+			log.error("Falha ao buscar as recorrências a materializar, a busca será refeita na próxima execução.", e);
+		}
+
+		if (materializadas > 0 || falhas > 0) {
+			log.info("Materialização de recorrências concluída para {} regra(s), {} falha(s).", materializadas, falhas);
+		}
+		return materializadas;
+	}
+}
@@ -0,0 +1,238 @@
+package com.joabss.financecontrol.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.joabss.financecontrol.api.dto.LancamentoDTO;
+import com.joabss.financecontrol.exception.RegraNegocioException;
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.Parcelamento;
+import com.joabss.financecontrol.model.entity.SaldoMensal;
+import com.joabss.financecontrol.model.enums.StatusLancamento;
+import com.joabss.financecontrol.model.enums.TipoEventoLancamento;
+import com.joabss.financecontrol.model.repository.LancamentoRepository;
+import com.joabss.financecontrol.model.repository.ParcelamentoRepository;
+import com.joabss.financecontrol.service.LancamentoService;
+import com.joabss.financecontrol.service.ParcelamentoService;
+import com.joabss.financecontrol.service.SaldoService;
+
+/**
+ * O valor é dividido em centavos inteiros: todas as parcelas recebem o
+ * quociente truncado e a primeira recebe também a sobra, de modo que a soma
+ * das parcelas é sempre igual ao total. As operações sobre as parcelas
+ * restantes agem sobre todas de uma vez, com um UPDATE por plano.
+ */
+@Service
+public class ParcelamentoServiceImpl implements ParcelamentoService {
+
+	private ParcelamentoRepository repository;
+	private LancamentoRepository lancamentoRepository;
+	private LancamentoService lancamentoService;
+	private SaldoService saldoService;
+	private CacheLancamentos cacheLancamentos;
+	private EventosLancamento eventosLancamento;
+
+	@Value("${parcelamento.maximo-parcelas:360}")
+	private int maximoParcelas;
+
+	public ParcelamentoServiceImpl(
+			ParcelamentoRepository repository,
+			LancamentoRepository lancamentoRepository,
+			LancamentoService lancamentoService,
+			SaldoService saldoService,
+			CacheLancamentos cacheLancamentos,
+			EventosLancamento eventosLancamento) {
+		this.repository = repository;
+		this.lancamentoRepository = lancamentoRepository;
+		this.lancamentoService = lancamentoService;
+		this.saldoService = saldoService;
+		this.cacheLancamentos = cacheLancamentos;
+		this.eventosLancamento = eventosLancamento;
+	}
+
+	/**
+	 * Gera as parcelas em memória e as insere com um único
+	 * {@link LancamentoService#salvarEmLote}: batch de JDBC e uma atualização
+	 * do saldo por mês, em vez de um ciclo completo por parcela.
+	 */
+	@Override
+	@Transactional
+	public List<Lancamento> salvar(Parcelamento parcelamento) {
+		validar(parcelamento);
+		parcelamento.setDataCadastro(LocalDate.now());
+		Parcelamento parcelamentoSalvo = repository.save(parcelamento);
+
+		int quantidade = parcelamentoSalvo.getQuantidadeParcelas();
+		BigDecimal[] valores = dividir(parcelamentoSalvo.getValorTotal(), quantidade);
+		YearMonth inicio = YearMonth.of(parcelamentoSalvo.getAnoInicial(), parcelamentoSalvo.getMesInicial());
+		LocalDate hoje = LocalDate.now();
+
+		List<Lancamento> parcelas = new ArrayList<>(quantidade);
+		for (int parcela = 1; parcela <= quantidade; parcela++) {
+			YearMonth mes = inicio.plusMonths(parcela - 1);
+			parcelas.add(Lancamento.builder()
+					.descricao(parcelamentoSalvo.getDescricao() + " (" + parcela + "/" + quantidade + ")")
+					.mes(mes.getMonthValue())
+					.ano(mes.getYear())
+					.valor(parcela == 1 ? valores[0] : valores[1])
+					.tipo(parcelamentoSalvo.getTipo())
+					.usuario(parcelamentoSalvo.getUsuario())
+					.parcelamento(parcelamentoSalvo)
+					.parcela(parcela)
+					.dataCadastro(hoje)
+					.build());
+		}
+
+		return lancamentoService.salvarEmLote(parcelas);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Parcelamento> obterPorId(Long id) {
+		return repository.findById(id);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<LancamentoDTO> buscarParcelas(Parcelamento parcelamento) {
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(parcelamento.getUsuario());
+		filtro.setParcelamento(parcelamento);
+		return lancamentoRepository.buscarDTO(filtro, null);
+	}
+
+	/**
+	 * O plano é bloqueado antes das parcelas, na mesma ordem de
+	 * {@link #atualizarRestantes}, para que as duas operações sobre o mesmo
+	 * plano não se intercalem.
+	 */
+	@Override
+	@Transactional
+	public int cancelarRestantes(Parcelamento parcelamento) {
+		Parcelamento bloqueado = bloquear(parcelamento);
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(bloqueado.getUsuario());
+		filtro.setParcelamento(bloqueado);
+		filtro.setStatus(StatusLancamento.PENDENTE);
+		return lancamentoService.atualizarStatusEmLote(filtro, null, StatusLancamento.CANCELADO);
+	}
+
+	/**
+	 * O plano e as parcelas pendentes são bloqueados primeiro: o valor total
+	 * parte do que está gravado e nenhuma parcela muda de status ou valor em
+	 * outra transação até o fim desta. Um UPDATE grava os novos valores das
+	 * parcelas bloqueadas; o saldo é ajustado por mês a partir de dois
+	 * agrupamentos, antes e depois, e as parcelas atualizadas são relidas para
+	 * gravar os eventos de atualização.
+	 */
+	@Override
+	@Transactional
+	public int atualizarRestantes(Parcelamento parcelamento, BigDecimal valorRestante) {
+		validarValor(valorRestante, "Informe um Valor restante válido, com no máximo duas casas decimais.");
+
+		Parcelamento bloqueado = bloquear(parcelamento);
+		Long id = bloqueado.getId();
+		List<Long> pendentes = lancamentoRepository.bloquearParcelas(id, StatusLancamento.PENDENTE);
+		if (pendentes.isEmpty()) {
+			throw new RegraNegocioException("O parcelamento não possui parcelas pendentes.");
+		}
+
+		List<SaldoMensal> anteriores = lancamentoRepository.agruparMovimentosPorIds(pendentes);
+		long quantidade = 0;
+		BigDecimal valorAnterior = BigDecimal.ZERO;
+		for (SaldoMensal anterior : anteriores) {
+			quantidade += anterior.getQuantidade();
+			valorAnterior = valorAnterior.add(anterior.getValor());
+		}
+		if (valorRestante.compareTo(BigDecimal.valueOf(quantidade, 2)) < 0) {
+			throw new RegraNegocioException("O Valor restante deve ser de pelo menos um centavo por parcela.");
+		}
+
+		bloqueado.setValorTotal(bloqueado.getValorTotal().subtract(valorAnterior).add(valorRestante));
+		repository.save(bloqueado);
+
+		BigDecimal[] valores = dividir(valorRestante, quantidade);
+		Integer primeira = lancamentoRepository.obterPrimeiraParcela(pendentes);
+		int atualizados = lancamentoRepository.atualizarValorParcelas(pendentes, primeira, valores[0], valores[1]);
+
+		anteriores.forEach(saldoService::estornar);
+		lancamentoRepository.agruparMovimentosPorIds(pendentes).forEach(saldoService::registrar);
+		eventosLancamento.registrarTodos(TipoEventoLancamento.ATUALIZADO,
+				lancamentoRepository.buscar(new Lancamento(), pendentes));
+
+		anteriores.forEach(anterior ->
+				cacheLancamentos.removerMes(anterior.getIdUsuario(), anterior.getAno(), anterior.getMes()));
+		cacheLancamentos.removerLancamentos(pendentes);
+		return atualizados;
+	}
+
+	private Parcelamento bloquear(Parcelamento parcelamento) {
+		return repository.obterParaAtualizar(parcelamento.getId())
+				.orElseThrow(() -> new RegraNegocioException("Parcelamento não encontrado na base de Dados."));
+	}
+
+	@Override
+	public void validar(Parcelamento parcelamento) {
+
+		if(parcelamento.getDescricao() == null || parcelamento.getDescricao().trim().equals("")) {
+			throw new RegraNegocioException("Informe uma descrição válida.");
+		}
+
+		if(parcelamento.getUsuario() == null || parcelamento.getUsuario().getId() == null) {
+			throw new RegraNegocioException("Informe um Usuário.");
+		}
+
+		if(parcelamento.getTipo() == null) {
+			throw new RegraNegocioException("Informe um Tipo de Lançamento.");
+		}
+
+		if(parcelamento.getQuantidadeParcelas() == null || parcelamento.getQuantidadeParcelas() < 2
+				|| parcelamento.getQuantidadeParcelas() > maximoParcelas) {
+			throw new RegraNegocioException("Informe uma Quantidade de parcelas entre 2 e " + maximoParcelas + ".");
+		}
+
+		validarValor(parcelamento.getValorTotal(), "Informe um Valor total válido, com no máximo duas casas decimais.");
+		if(parcelamento.getValorTotal().compareTo(BigDecimal.valueOf(parcelamento.getQuantidadeParcelas(), 2)) < 0) {
+			throw new RegraNegocioException("O Valor total deve ser de pelo menos um centavo por parcela.");
+		}
+
+		if(parcelamento.getMesInicial() == null || parcelamento.getMesInicial() < 1 || parcelamento.getMesInicial() > 12) {
+			throw new RegraNegocioException("Informe um Mês inicial válido.");
+		}
+
+		if(parcelamento.getAnoInicial() == null || parcelamento.getAnoInicial().toString().length() != 4) {
+			throw new RegraNegocioException("Informe um Ano inicial válido.");
+		}
+
+		int anoFinal = YearMonth.of(parcelamento.getAnoInicial(), parcelamento.getMesInicial())
+				.plusMonths(parcelamento.getQuantidadeParcelas() - 1).getYear();
+		if(anoFinal > 9999) {
+			throw new RegraNegocioException("A última parcela deve cair em um Ano válido.");
+		}
+	}
+
+	private static void validarValor(BigDecimal valor, String mensagem) {
+		if (valor == null || valor.signum() < 1 || valor.stripTrailingZeros().scale() > 2) {
+			throw new RegraNegocioException(mensagem);
+		}
+	}
+
+	/**
+	 * Valor da primeira parcela e das demais: o quociente truncado em
+	 * centavos, com a sobra somada à primeira.
+	 */
+	private static BigDecimal[] dividir(BigDecimal total, long quantidade) {
+		BigDecimal parcela = total.divide(BigDecimal.valueOf(quantidade), 2, RoundingMode.DOWN);
+		BigDecimal sobra = total.subtract(parcela.multiply(BigDecimal.valueOf(quantidade)));
+		return new BigDecimal[] { parcela.add(sobra), parcela };
+	}
+}
@@ -0,0 +1,76 @@
+package com.joabss.financecontrol.service.impl;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.joabss.financecontrol.model.repository.LancamentoRepository;
+import com.joabss.financecontrol.model.repository.SaldoMensalRepository;
+import com.joabss.financecontrol.service.SaldoService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recalcula os saldos mensais a partir da tabela de lançamentos e corrige
+ * qualquer divergência encontrada. Roda periodicamente conforme
+ * {@code saldo.reconciliacao.cron} e, se
+ * {@code saldo.reconciliacao.na-inicializacao} estiver ligado, também na
+ * inicialização. Bases que já possuíam lançamentos são populadas pela
+ * migração {@code V9__popular_saldo_mensal}, não por este job. Como percorre
+ * todos os usuários, a execução na inicialização fica desligada por padrão:
+ * com várias instâncias, cada uma que subisse repetiria a varredura completa.
+ */
+@Slf4j
+@Component
+public class ReconciliacaoSaldoJob {
+
+	private SaldoService saldoService;
+	private LancamentoRepository lancamentoRepository;
+	private SaldoMensalRepository saldoMensalRepository;
+	private CacheLancamentos cacheLancamentos;
+
+	@Value("${saldo.reconciliacao.na-inicializacao:false}")
+	private boolean naInicializacao;
+
+	public ReconciliacaoSaldoJob(
+			SaldoService saldoService,
+			LancamentoRepository lancamentoRepository,
+			SaldoMensalRepository saldoMensalRepository,
+			CacheLancamentos cacheLancamentos) {
+		this.saldoService = saldoService;
+		this.lancamentoRepository = lancamentoRepository;
+		this.saldoMensalRepository = saldoMensalRepository;
+		this.cacheLancamentos = cacheLancamentos;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void reconciliarNaInicializacao() {
+		if (naInicializacao) {
+			reconciliar();
+		}
+	}
+
+	@Scheduled(cron = "${saldo.reconciliacao.cron:0 0 3 * * *}")
+	public int reconciliar() {
+		Set<Long> usuarios = new TreeSet<>(lancamentoRepository.obterIdsUsuarios());
+		usuarios.addAll(saldoMensalRepository.obterIdsUsuarios());
+
+		int divergencias = 0;
+		for (Long idUsuario : usuarios) {
+			divergencias += saldoService.reconciliar(idUsuario);
+		}
+
+		if (divergencias > 0) {
+			cacheLancamentos.limparSaldos();
+			log.warn("Reconciliação de saldos corrigiu {} divergência(s) em {} usuário(s).", divergencias, usuarios.size());
+		} else {
+			log.info("Reconciliação de saldos concluída sem divergências ({} usuário(s)).", usuarios.size());
+		}
+		return divergencias;
+	}
+}
@@ -0,0 +1,309 @@
+package com.joabss.financecontrol.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.joabss.financecontrol.api.dto.LancamentoDTO;
+import com.joabss.financecontrol.exception.RegraNegocioException;
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.Recorrencia;
+import com.joabss.financecontrol.model.enums.StatusLancamento;
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+import com.joabss.financecontrol.model.repository.RecorrenciaRepository;
+import com.joabss.financecontrol.service.LancamentoService;
+import com.joabss.financecontrol.service.RecorrenciaService;
+
+/**
+ * Grava as ocorrências das regras como lançamentos só até o horizonte
+ * ({@code recorrencia.horizonte-meses} após o mês atual). As ocorrências
+ * seguintes não existem no banco: a busca e o resumo do saldo as calculam a
+ * partir da regra quando pedidas.
+ */
+@Service
+public class RecorrenciaServiceImpl implements RecorrenciaService {
+
+	private RecorrenciaRepository repository;
+	private LancamentoService lancamentoService;
+
+	@Value("${recorrencia.horizonte-meses:1}")
+	private int horizonteMeses;
+
+	public RecorrenciaServiceImpl(RecorrenciaRepository repository, LancamentoService lancamentoService) {
+		this.repository = repository;
+		this.lancamentoService = lancamentoService;
+	}
+
+	@Override
+	@Transactional
+	public Recorrencia salvar(Recorrencia recorrencia) {
+		validar(recorrencia);
+		recorrencia.setMesProximo(recorrencia.getMesInicial());
+		recorrencia.setAnoProximo(recorrencia.getAnoInicial());
+		recorrencia.setDataCadastro(LocalDate.now());
+
+		Recorrencia recorrenciaSalva = repository.save(recorrencia);
+		materializar(Collections.singletonList(recorrenciaSalva), horizonte());
+		return recorrenciaSalva;
+	}
+
+	@Override
+	@Transactional
+	public void deletar(Recorrencia recorrencia) {
+		repository.delete(recorrencia);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Recorrencia> obterPorId(Long id) {
+		return repository.findById(id);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Recorrencia> buscarPorUsuario(Long idUsuario) {
+		return repository.findByUsuarioIdOrderById(idUsuario);
+	}
+
+	@Override
+	public void validar(Recorrencia recorrencia) {
+
+		if(recorrencia.getDescricao() == null || recorrencia.getDescricao().trim().equals("")) {
+			throw new RegraNegocioException("Informe uma descrição válida.");
+		}
+
+		if(recorrencia.getUsuario() == null || recorrencia.getUsuario().getId() == null) {
+			throw new RegraNegocioException("Informe um Usuário.");
+		}
+
+		if(recorrencia.getValor() == null || recorrencia.getValor().compareTo(BigDecimal.ZERO) < 1) {
+			throw new RegraNegocioException("Informe um Valor válido.");
+		}
+
+		if(recorrencia.getTipo() == null) {
+			throw new RegraNegocioException("Informe um Tipo de Lançamento.");
+		}
+
+		if(recorrencia.getPeriodicidade() == null) {
+			throw new RegraNegocioException("Informe a Periodicidade da recorrência.");
+		}
+
+		if(!mesValido(recorrencia.getMesInicial()) || !anoValido(recorrencia.getAnoInicial())) {
+			throw new RegraNegocioException("Informe um Mês e um Ano iniciais válidos.");
+		}
+
+		if(recorrencia.getMesFinal() != null || recorrencia.getAnoFinal() != null) {
+			if(!mesValido(recorrencia.getMesFinal()) || !anoValido(recorrencia.getAnoFinal())) {
+				throw new RegraNegocioException("Informe um Mês e um Ano finais válidos, ou nenhum dos dois.");
+			}
+
+			if(ultima(recorrencia).isBefore(inicio(recorrencia))) {
+				throw new RegraNegocioException("O fim da recorrência deve ser igual ou posterior ao início.");
+			}
+		}
+	}
+
+	private static boolean mesValido(Integer mes) {
+		return mes != null && mes >= 1 && mes <= 12;
+	}
+
+	private static boolean anoValido(Integer ano) {
+		return ano != null && ano.toString().length() == 4;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Long> buscarParaMaterializar(Long depoisDe, int tamanho) {
+		YearMonth horizonte = horizonte();
+		return repository.buscarParaMaterializar(
+				horizonte.getYear(), horizonte.getMonthValue(), depoisDe, PageRequest.of(0, tamanho));
+	}
+
+	/**
+	 * A regra é relida bloqueada e conferida de novo: entre a busca dos ids e
+	 * esta transação, outra instância pode tê-la materializado.
+	 */
+	@Override
+	@Transactional
+	public boolean materializar(Long id) {
+		YearMonth horizonte = horizonte();
+		Optional<Recorrencia> recorrencia = repository.bloquearParaMaterializar(
+				id, horizonte.getYear(), horizonte.getMonthValue());
+		recorrencia.ifPresent(regra -> materializar(Collections.singletonList(regra), horizonte));
+		return recorrencia.isPresent();
+	}
+
+	/**
+	 * Grava as ocorrências até {@code horizonte} de todas as regras com um
+	 * único {@link LancamentoService#salvarEmLote} e avança o próximo mês de
+	 * cada regra. As regras são alteradas antes da inserção, que faz flush e
+	 * limpa a sessão.
+	 */
+	private void materializar(List<Recorrencia> recorrencias, YearMonth horizonte) {
+		List<Lancamento> lancamentos = new ArrayList<>();
+		LocalDate hoje = LocalDate.now();
+
+		for (Recorrencia recorrencia : recorrencias) {
+			List<YearMonth> ocorrencias = ocorrencias(recorrencia, proxima(recorrencia), horizonte);
+			if (ocorrencias.isEmpty()) {
+				continue;
+			}
+
+			for (YearMonth ocorrencia : ocorrencias) {
+				lancamentos.add(Lancamento.builder()
+						.descricao(recorrencia.getDescricao())
+						.mes(ocorrencia.getMonthValue())
+						.ano(ocorrencia.getYear())
+						.valor(recorrencia.getValor())
+						.tipo(recorrencia.getTipo())
+						.usuario(recorrencia.getUsuario())
+						.dataCadastro(hoje)
+						.build());
+			}
+
+			YearMonth seguinte = ocorrencias.get(ocorrencias.size() - 1).plusMonths(recorrencia.getPeriodicidade().getMeses());
+			YearMonth ultima = ultima(recorrencia);
+			if (ultima != null && seguinte.isAfter(ultima)) {
+				recorrencia.setMesProximo(null);
+				recorrencia.setAnoProximo(null);
+			} else {
+				recorrencia.setMesProximo(seguinte.getMonthValue());
+				recorrencia.setAnoProximo(seguinte.getYear());
+			}
+		}
+
+		if (!lancamentos.isEmpty()) {
+			lancamentoService.salvarEmLote(lancamentos);
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<LancamentoDTO> projetar(Lancamento lancamentoFiltro) {
+		Integer ano = lancamentoFiltro.getAno();
+		Integer mes = lancamentoFiltro.getMes();
+		if (lancamentoFiltro.getUsuario() == null || !anoValido(ano) || (mes != null && !mesValido(mes))) {
+			return Collections.emptyList();
+		}
+		if (lancamentoFiltro.getStatus() != null && lancamentoFiltro.getStatus() != StatusLancamento.PENDENTE) {
+			return Collections.emptyList();
+		}
+
+		YearMonth de = YearMonth.of(ano, mes == null ? 1 : mes);
+		YearMonth ate = YearMonth.of(ano, mes == null ? 12 : mes);
+		String descricao = lancamentoFiltro.getDescricao() == null || lancamentoFiltro.getDescricao().trim().isEmpty()
+				? null
+				: lancamentoFiltro.getDescricao().toLowerCase();
+		Long idUsuario = lancamentoFiltro.getUsuario().getId();
+
+		List<LancamentoDTO> lancamentos = new ArrayList<>();
+		for (Recorrencia recorrencia : repository.buscarParaProjecao(idUsuario, ate.getYear(), ate.getMonthValue())) {
+			if (descricao != null && !recorrencia.getDescricao().toLowerCase().contains(descricao)) {
+				continue;
+			}
+
+			for (YearMonth ocorrencia : ocorrencias(recorrencia, de, ate)) {
+				lancamentos.add(new LancamentoDTO(null, recorrencia.getDescricao(), ocorrencia.getMonthValue(),
+						ocorrencia.getYear(), recorrencia.getValor(), idUsuario, recorrencia.getTipo(),
+						StatusLancamento.PENDENTE));
+			}
+		}
+
+		lancamentos.sort(Comparator.comparing(LancamentoDTO::getAno).thenComparing(LancamentoDTO::getMes));
+		return lancamentos;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Map<TipoLancamento, BigDecimal> projetarPendentes(Long idUsuario, Integer ano, Integer mes) {
+		if (!anoValido(ano) || !mesValido(mes)) {
+			throw new RegraNegocioException("Informe um Mês e um Ano válidos para a projeção.");
+		}
+
+		YearMonth ate = YearMonth.of(ano, mes);
+		Map<TipoLancamento, BigDecimal> totais = new EnumMap<>(TipoLancamento.class);
+		for (Recorrencia recorrencia : repository.buscarParaProjecao(idUsuario, ano, mes)) {
+			long quantidade = contar(recorrencia, ate);
+			if (quantidade > 0) {
+				totais.merge(recorrencia.getTipo(),
+						recorrencia.getValor().multiply(BigDecimal.valueOf(quantidade)), BigDecimal::add);
+			}
+		}
+		return totais;
+	}
+
+	/**
+	 * Ocorrências ainda não materializadas entre {@code de} e {@code ate},
+	 * inclusive, limitadas ao fim da regra.
+	 */
+	private static List<YearMonth> ocorrencias(Recorrencia recorrencia, YearMonth de, YearMonth ate) {
+		YearMonth ocorrencia = proxima(recorrencia);
+		if (ocorrencia == null) {
+			return Collections.emptyList();
+		}
+
+		int passo = recorrencia.getPeriodicidade().getMeses();
+		if (ocorrencia.isBefore(de)) {
+			long saltos = (ChronoUnit.MONTHS.between(ocorrencia, de) + passo - 1) / passo;
+			ocorrencia = ocorrencia.plusMonths(saltos * passo);
+		}
+
+		YearMonth limite = limite(recorrencia, ate);
+		List<YearMonth> ocorrencias = new ArrayList<>();
+		for (; !ocorrencia.isAfter(limite); ocorrencia = ocorrencia.plusMonths(passo)) {
+			ocorrencias.add(ocorrencia);
+		}
+		return ocorrencias;
+	}
+
+	/**
+	 * Quantidade de ocorrências ainda não materializadas até {@code ate},
+	 * sem gerá-las.
+	 */
+	private static long contar(Recorrencia recorrencia, YearMonth ate) {
+		YearMonth proxima = proxima(recorrencia);
+		YearMonth limite = limite(recorrencia, ate);
+		if (proxima == null || proxima.isAfter(limite)) {
+			return 0;
+		}
+		return ChronoUnit.MONTHS.between(proxima, limite) / recorrencia.getPeriodicidade().getMeses() + 1;
+	}
+
+	private static YearMonth limite(Recorrencia recorrencia, YearMonth ate) {
+		YearMonth ultima = ultima(recorrencia);
+		return ultima != null && ultima.isBefore(ate) ? ultima : ate;
+	}
+
+	private static YearMonth inicio(Recorrencia recorrencia) {
+		return YearMonth.of(recorrencia.getAnoInicial(), recorrencia.getMesInicial());
+	}
+
+	private static YearMonth proxima(Recorrencia recorrencia) {
+		return recorrencia.getAnoProximo() == null
+				? null
+				: YearMonth.of(recorrencia.getAnoProximo(), recorrencia.getMesProximo());
+	}
+
+	private static YearMonth ultima(Recorrencia recorrencia) {
+		return recorrencia.getAnoFinal() == null
+				? null
+				: YearMonth.of(recorrencia.getAnoFinal(), recorrencia.getMesFinal());
+	}
+
+	private YearMonth horizonte() {
+		return YearMonth.now().plusMonths(horizonteMeses);
+	}
+}
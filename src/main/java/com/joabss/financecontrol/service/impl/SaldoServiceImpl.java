@@ -0,0 +1,259 @@
+package com.joabss.financecontrol.service.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.joabss.financecontrol.api.dto.PeriodoRelatorioDTO;
+import com.joabss.financecontrol.api.dto.TotalRelatorioDTO;
+import com.joabss.financecontrol.exception.RegraNegocioException;
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.SaldoMensal;
+import com.joabss.financecontrol.model.enums.StatusLancamento;
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+import com.joabss.financecontrol.model.projection.ResumoSaldo;
+import com.joabss.financecontrol.model.repository.LancamentoRepository;
+import com.joabss.financecontrol.model.repository.SaldoMensalRepository;
+import com.joabss.financecontrol.service.SaldoService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class SaldoServiceImpl implements SaldoService {
+
+	private SaldoMensalRepository repository;
+	private LancamentoRepository lancamentoRepository;
+
+	public SaldoServiceImpl(SaldoMensalRepository repository, LancamentoRepository lancamentoRepository) {
+		this.repository = repository;
+		this.lancamentoRepository = lancamentoRepository;
+	}
+
+	@Override
+	@Transactional
+	public void registrar(Lancamento lancamento) {
+		acumular(SaldoMensal.builder()
+				.idUsuario(lancamento.getUsuario().getId())
+				.ano(lancamento.getAno())
+				.mes(lancamento.getMes())
+				.tipo(lancamento.getTipo())
+				.status(lancamento.getStatus())
+				.valor(lancamento.getValor())
+				.quantidade(1L)
+				.build());
+	}
+
+	/**
+	 * Agrupa os lançamentos pela granularidade do saldo mensal, emitindo uma
+	 * única atualização por mês, tipo e status em vez de uma por lançamento.
+	 */
+	@Override
+	@Transactional
+	public void registrarTodos(Collection<Lancamento> lancamentos) {
+		Map<String, SaldoMensal> movimentos = new HashMap<>();
+		for (Lancamento lancamento : lancamentos) {
+			SaldoMensal movimento = SaldoMensal.builder()
+					.idUsuario(lancamento.getUsuario().getId())
+					.ano(lancamento.getAno())
+					.mes(lancamento.getMes())
+					.tipo(lancamento.getTipo())
+					.status(lancamento.getStatus())
+					.valor(lancamento.getValor())
+					.quantidade(1L)
+					.build();
+
+			movimentos.merge(movimento.getIdUsuario() + "/" + chave(movimento), movimento, (atual, novo) -> {
+				atual.setValor(atual.getValor().add(novo.getValor()));
+				atual.setQuantidade(atual.getQuantidade() + novo.getQuantidade());
+				return atual;
+			});
+		}
+		movimentos.values().forEach(this::acumular);
+	}
+
+	@Override
+	@Transactional
+	public void registrar(SaldoMensal movimento) {
+		acumular(new SaldoMensal(movimento.getIdUsuario(), movimento.getAno(), movimento.getMes(),
+				movimento.getTipo(), movimento.getStatus(), movimento.getValor(), movimento.getQuantidade()));
+	}
+
+	@Override
+	@Transactional
+	public Optional<SaldoMensal> estornar(Long idLancamento) {
+		Optional<SaldoMensal> movimento = lancamentoRepository.obterMovimentoSaldo(idLancamento);
+		movimento.ifPresent(estorno -> {
+			estorno.setValor(estorno.getValor().negate());
+			estorno.setQuantidade(-estorno.getQuantidade());
+			acumular(estorno);
+		});
+		return movimento;
+	}
+
+	@Override
+	@Transactional
+	public void estornar(SaldoMensal movimento) {
+		acumular(new SaldoMensal(movimento.getIdUsuario(), movimento.getAno(), movimento.getMes(),
+				movimento.getTipo(), movimento.getStatus(),
+				movimento.getValor().negate(), -movimento.getQuantidade()));
+	}
+
+	/**
+	 * Move movimentos já agrupados do status em que estão para {@code status}:
+	 * duas atualizações do saldo mensal por grupo, independente da quantidade
+	 * de lançamentos alterados.
+	 */
+	@Override
+	@Transactional
+	public void transferirStatus(List<SaldoMensal> movimentos, StatusLancamento status) {
+		for (SaldoMensal movimento : movimentos) {
+			acumular(new SaldoMensal(movimento.getIdUsuario(), movimento.getAno(), movimento.getMes(),
+					movimento.getTipo(), movimento.getStatus(),
+					movimento.getValor().negate(), -movimento.getQuantidade()));
+			acumular(new SaldoMensal(movimento.getIdUsuario(), movimento.getAno(), movimento.getMes(),
+					movimento.getTipo(), status,
+					movimento.getValor(), movimento.getQuantidade()));
+		}
+	}
+
+	private void acumular(SaldoMensal movimento) {
+		repository.acumular(movimento);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public BigDecimal obterSaldo(Long idUsuario) {
+		return obterResumo(idUsuario).getSaldo();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public ResumoSaldo obterResumo(Long idUsuario) {
+		return repository.obterResumoPorUsuario(idUsuario,
+				TipoLancamento.RECEITA, TipoLancamento.DESPESA,
+				StatusLancamento.EFETIVADO, StatusLancamento.PENDENTE);
+	}
+
+	/**
+	 * Relatório por mês ou por ano montado a partir do saldo mensal: uma
+	 * consulta ordenada, sem ler os lançamentos. O saldo acumulado considera
+	 * também os anos anteriores a {@code anoInicial}.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<PeriodoRelatorioDTO> obterRelatorio(Long idUsuario, Integer anoInicial, Integer anoFinal, boolean anual) {
+		if (anoInicial != null && anoFinal != null && anoInicial > anoFinal) {
+			throw new RegraNegocioException("O ano inicial deve ser anterior ou igual ao ano final.");
+		}
+
+		List<PeriodoRelatorioDTO> periodos = new ArrayList<>();
+		PeriodoRelatorioDTO periodo = null;
+		BigDecimal saldoAcumulado = BigDecimal.ZERO;
+
+		for (SaldoMensal saldo : repository.obterSaldosAte(idUsuario, anoFinal == null ? Integer.MAX_VALUE : anoFinal)) {
+			Integer mes = anual ? null : saldo.getMes();
+			if (periodo == null || !periodo.getAno().equals(saldo.getAno()) || !Objects.equals(periodo.getMes(), mes)) {
+				periodo = new PeriodoRelatorioDTO(saldo.getAno(), mes, new ArrayList<>(), BigDecimal.ZERO, saldoAcumulado);
+				periodos.add(periodo);
+			}
+
+			somarTotal(periodo.getTotais(), saldo);
+
+			BigDecimal efeito = efeitoNoSaldo(saldo);
+			saldoAcumulado = saldoAcumulado.add(efeito);
+			periodo.setSaldo(periodo.getSaldo().add(efeito));
+			periodo.setSaldoAcumulado(saldoAcumulado);
+		}
+
+		if (anoInicial != null) {
+			periodos.removeIf(p -> p.getAno() < anoInicial);
+		}
+		return periodos;
+	}
+
+	private void somarTotal(List<TotalRelatorioDTO> totais, SaldoMensal saldo) {
+		String tipo = saldo.getTipo().name();
+		String status = saldo.getStatus().name();
+		for (TotalRelatorioDTO total : totais) {
+			if (total.getTipo().equals(tipo) && total.getStatus().equals(status)) {
+				total.setValor(total.getValor().add(saldo.getValor()));
+				total.setQuantidade(total.getQuantidade() + saldo.getQuantidade());
+				return;
+			}
+		}
+		totais.add(new TotalRelatorioDTO(tipo, status, saldo.getValor(), saldo.getQuantidade()));
+	}
+
+	/**
+	 * Mesma regra do resumo: só lançamentos efetivados alteram o saldo.
+	 */
+	private BigDecimal efeitoNoSaldo(SaldoMensal saldo) {
+		if (saldo.getStatus() != StatusLancamento.EFETIVADO) {
+			return BigDecimal.ZERO;
+		}
+		return saldo.getTipo() == TipoLancamento.RECEITA ? saldo.getValor() : saldo.getValor().negate();
+	}
+
+	/**
+	 * Bloqueia os saldos do usuário antes de ler os lançamentos: uma escrita
+	 * concorrente ou já terminou, e está nos lançamentos lidos, ou espera o
+	 * fim da reconciliação para acumular sobre o valor corrigido. Saldos
+	 * criados por outra transação durante a reconciliação não são
+	 * sobrescritos; se estiverem errados, a próxima execução corrige.
+	 */
+	@Override
+	@Transactional
+	public int reconciliar(Long idUsuario) {
+		List<SaldoMensal> atuais = repository.bloquearPorUsuario(idUsuario);
+
+		Map<String, SaldoMensal> esperados = new HashMap<>();
+		for (SaldoMensal esperado : lancamentoRepository.agruparSaldoMensalPorUsuario(idUsuario)) {
+			esperados.put(chave(esperado), esperado);
+		}
+
+		int divergencias = 0;
+		for (SaldoMensal atual : atuais) {
+			SaldoMensal esperado = esperados.remove(chave(atual));
+
+			if (esperado == null) {
+				if (atual.getQuantidade() != 0 || atual.getValor().signum() != 0) {
+					log.warn("Saldo divergente para o usuário {} em {}: registrado {} ({} lançamentos), esperado 0.",
+							idUsuario, chave(atual), atual.getValor(), atual.getQuantidade());
+					divergencias++;
+				}
+				repository.delete(atual);
+			} else if (atual.getValor().compareTo(esperado.getValor()) != 0
+					|| !atual.getQuantidade().equals(esperado.getQuantidade())) {
+				log.warn("Saldo divergente para o usuário {} em {}: registrado {} ({} lançamentos), esperado {} ({} lançamentos).",
+						idUsuario, chave(atual), atual.getValor(), atual.getQuantidade(),
+						esperado.getValor(), esperado.getQuantidade());
+				atual.setValor(esperado.getValor());
+				atual.setQuantidade(esperado.getQuantidade());
+				divergencias++;
+			}
+		}
+
+		for (SaldoMensal faltante : esperados.values()) {
+			if (repository.inserirSeAusente(faltante) > 0) {
+				log.warn("Saldo ausente para o usuário {} em {}: esperado {} ({} lançamentos).",
+						idUsuario, chave(faltante), faltante.getValor(), faltante.getQuantidade());
+				divergencias++;
+			}
+		}
+
+		return divergencias;
+	}
+
+	private String chave(SaldoMensal saldo) {
+		return saldo.getAno() + "/" + saldo.getMes() + "/" + saldo.getTipo() + "/" + saldo.getStatus();
+	}
+}
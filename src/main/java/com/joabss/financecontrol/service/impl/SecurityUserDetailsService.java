@@ -1,28 +1,48 @@
 package com.joabss.financecontrol.service.impl;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.joabss.financecontrol.model.entity.Usuario;
 import com.joabss.financecontrol.model.repository.UsuarioRepository;
+import com.joabss.financecontrol.service.UsuarioAutenticado;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 @Service
 public class SecurityUserDetailsService implements UserDetailsService {
 	
 	private UsuarioRepository usuarioRepository;
+	private Cache<String, UsuarioAutenticado> usuariosAutenticados;
 
-	public SecurityUserDetailsService(UsuarioRepository usuarioRepository) {
+	public SecurityUserDetailsService(
+			UsuarioRepository usuarioRepository,
+			MeterRegistry meterRegistry,
+			@Value("${jwt.principal.cache.expiracao-segundos:300}") long expiracaoSegundos,
+			@Value("${jwt.principal.cache.max-usuarios:10000}") long maxUsuarios) {
 		this.usuarioRepository = usuarioRepository;
+		this.usuariosAutenticados = Caffeine.newBuilder()
+				.expireAfterWrite(Duration.ofSeconds(expiracaoSegundos))
+				.maximumSize(maxUsuarios)
+				.recordStats()
+				.build();
+		// mesmas tags dos caches do Spring, exigência do formato Prometheus
+		CaffeineCacheMetrics.monitor(meterRegistry, usuariosAutenticados, "usuarioAutenticado",
+				"cacheManager", "seguranca", "name", "usuarioAutenticado");
 	}
 	
 	@Override
 	public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-		Usuario usuarioEncontrado = usuarioRepository
-				.findByEmail(email)
-				.orElseThrow(() -> new UsernameNotFoundException("Email não cadastrado."));
+		Usuario usuarioEncontrado = buscarPorEmail(email);
 		
 		return User.builder()
 				.username(usuarioEncontrado.getEmail())
@@ -31,4 +51,28 @@ public class SecurityUserDetailsService implements UserDetailsService {
 				.build();
 	}
 
+	/**
+	 * Principal usado nas requisições autenticadas por token, sem a senha.
+	 * Fica em cache por {@code jwt.principal.cache.expiracao-segundos}, então
+	 * alterações no usuário devem passar por {@link #invalidar(String)}.
+	 */
+	public UsuarioAutenticado carregarUsuarioAutenticado(String email) throws UsernameNotFoundException {
+		return usuariosAutenticados.get(email, chave -> {
+			Usuario usuarioEncontrado = buscarPorEmail(chave);
+			return new UsuarioAutenticado(usuarioEncontrado.getId(), usuarioEncontrado.getNome(), usuarioEncontrado.getEmail());
+		});
+	}
+
+	public void invalidar(String email) {
+		if (email != null) {
+			usuariosAutenticados.invalidate(email);
+		}
+	}
+
+	private Usuario buscarPorEmail(String email) {
+		return usuarioRepository
+				.findByEmail(email)
+				.orElseThrow(() -> new UsernameNotFoundException("Email não cadastrado."));
+	}
+
 }
@@ -1,6 +1,7 @@
 package com.joabss.financecontrol.service.impl;
 
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -10,18 +11,43 @@ import com.joabss.financecontrol.exception.ErroAutenticacao;
 import com.joabss.financecontrol.exception.RegraNegocioException;
 import com.joabss.financecontrol.model.entity.Usuario;
 import com.joabss.financecontrol.model.repository.UsuarioRepository;
+import com.joabss.financecontrol.service.UsuarioAutenticado;
 import com.joabss.financecontrol.service.UsuarioService;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Service
 public class UsuarioServiceImpl implements UsuarioService {
 
 	private UsuarioRepository repository;
 	private PasswordEncoder encoder;
-
-	public UsuarioServiceImpl(UsuarioRepository repository, PasswordEncoder encoder) {
+	private SecurityUserDetailsService userDetailsService;
+	private Timer verificacaoSenha;
+	private Counter autenticacoesComSucesso;
+	private Counter autenticacoesUsuarioInexistente;
+	private Counter autenticacoesSenhaInvalida;
+
+	public UsuarioServiceImpl(UsuarioRepository repository, PasswordEncoder encoder,
+			SecurityUserDetailsService userDetailsService, MeterRegistry registry) {
 		super();
 		this.repository = repository;
 		this.encoder = encoder;
+		this.userDetailsService = userDetailsService;
+		this.verificacaoSenha = Timer.builder("senha.verificacao")
+				.description("Duração da comparação da senha informada com o hash armazenado")
+				.register(registry);
+		this.autenticacoesComSucesso = contadorAutenticacao(registry, "sucesso");
+		this.autenticacoesUsuarioInexistente = contadorAutenticacao(registry, "usuario_inexistente");
+		this.autenticacoesSenhaInvalida = contadorAutenticacao(registry, "senha_invalida");
+	}
+
+	private static Counter contadorAutenticacao(MeterRegistry registry, String resultado) {
+		return Counter.builder("autenticacao.tentativas")
+				.description("Tentativas de autenticação por resultado")
+				.tag("resultado", resultado)
+				.register(registry);
 	}
 
 	@Override
@@ -29,15 +55,26 @@ public class UsuarioServiceImpl implements UsuarioService {
 		Optional<Usuario> usuario = repository.findByEmail(email);
 
 		if (!usuario.isPresent()) {
+			autenticacoesUsuarioInexistente.increment();
 			throw new ErroAutenticacao("Usuário não encontrado para o email informado.");
 		}
 
+		long inicio = System.nanoTime();
 		boolean senhasBatem = encoder.matches(senha, usuario.get().getSenha());
+		verificacaoSenha.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
 
 		if(!senhasBatem) {
+			autenticacoesSenhaInvalida.increment();
 			throw new ErroAutenticacao("Senha inválida.");
 		}
 
+		if (encoder.upgradeEncoding(usuario.get().getSenha())) {
+			// hash de algoritmo ou custo anterior ao configurado: refeito com a senha já validada
+			usuario.get().setSenha(encoder.encode(senha));
+			repository.save(usuario.get());
+		}
+
+		autenticacoesComSucesso.increment();
 		return usuario.get();
 	}
 
@@ -46,7 +83,9 @@ public class UsuarioServiceImpl implements UsuarioService {
 	public Usuario salvarUsuario(Usuario usuario) {
 		validarEmail(usuario.getEmail());
 		criptografarSenha(usuario);
-		return repository.save(usuario);
+		Usuario usuarioSalvo = repository.save(usuario);
+		userDetailsService.invalidar(usuarioSalvo.getEmail());
+		return usuarioSalvo;
 	}
 
 	private void criptografarSenha(Usuario usuario) {
@@ -68,4 +107,19 @@ public class UsuarioServiceImpl implements UsuarioService {
 		return repository.findById(id);
 	}
 
+	@Override
+	public Optional<Usuario> obterReferencia(Long id) {
+		boolean usuarioAutenticado = id != null && UsuarioAutenticado.atual()
+				.filter(autenticado -> id.equals(autenticado.getId()))
+				.isPresent();
+
+		if (usuarioAutenticado) {
+			// o token só comprova que o usuário existia no login: se tiver sido
+			// removido depois, a gravação falha na chave estrangeira e a API
+			// responde 400 (TratamentoErrosApi)
+			return Optional.of(repository.getOne(id));
+		}
+		return obterPorId(id);
+	}
+
 }
@@ -0,0 +1,28 @@
+package db.migration;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Cria a sequência usada pelo otimizador pooled-lo de {@code Lancamento},
+ * iniciando após o maior id já gerado pela coluna identity. Feita em Java
+ * porque o ajuste do valor inicial não tem sintaxe comum ao PostgreSQL e ao H2.
+ */
+public class V3__criar_sequencia_lancamento extends BaseJavaMigration {
+
+	@Override
+	public void migrate(Context context) throws Exception {
+		try (Statement statement = context.getConnection().createStatement()) {
+			long inicio;
+			try (ResultSet resultado = statement.executeQuery("select coalesce(max(id), 0) + 1 from financas.lancamento")) {
+				resultado.next();
+				inicio = resultado.getLong(1);
+			}
+
+			statement.execute("create sequence financas.seq_lancamento start with " + inicio + " increment by 50");
+		}
+	}
+}
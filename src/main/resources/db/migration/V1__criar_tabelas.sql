@@ -0,0 +1,30 @@
+create table if not exists financas.usuario (
+	id bigserial primary key,
+	nome varchar(255),
+	email varchar(255),
+	senha varchar(255)
+);
+
+create table if not exists financas.lancamento (
+	id bigserial primary key,
+	descricao varchar(255),
+	mes integer,
+	ano integer,
+	id_usuario bigint references financas.usuario (id),
+	valor numeric(19, 2),
+	data_cadastro timestamp,
+	tipo varchar(255),
+	status varchar(255)
+);
+
+create table if not exists financas.saldo_mensal (
+	id bigserial primary key,
+	id_usuario bigint,
+	ano integer,
+	mes integer,
+	tipo varchar(255),
+	status varchar(255),
+	valor numeric(19, 2),
+	quantidade bigint,
+	constraint uk_saldo_mensal unique (id_usuario, ano, mes, tipo, status)
+);
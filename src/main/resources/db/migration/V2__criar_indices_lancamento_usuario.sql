@@ -0,0 +1,8 @@
+-- busca por usuário/ano/mês e paginação por (ano, mes, id)
+create index ix_lancamento_usuario_ano_mes on financas.lancamento (id_usuario, ano, mes, id);
+
+-- totais por usuário, tipo e status sem acessar a tabela
+create index ix_lancamento_usuario_tipo_status on financas.lancamento (id_usuario, tipo, status, valor);
+
+-- findByEmail / existsByEmail
+create unique index ux_usuario_email on financas.usuario (email);
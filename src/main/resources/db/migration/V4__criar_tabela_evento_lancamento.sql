@@ -0,0 +1,16 @@
+-- outbox das alterações de lançamento, consumido por DespachanteEventosLancamento
+create sequence financas.seq_evento_lancamento increment by 50;
+
+create table financas.evento_lancamento (
+	id bigint primary key,
+	tipo_evento varchar(255),
+	id_lancamento bigint,
+	id_usuario bigint,
+	descricao varchar(255),
+	mes integer,
+	ano integer,
+	valor numeric(19, 2),
+	tipo varchar(255),
+	status varchar(255),
+	data_criacao timestamp
+);
@@ -0,0 +1,2 @@
+-- controle de concorrência otimista das atualizações de lançamento
+alter table financas.lancamento add column versao bigint default 0 not null;
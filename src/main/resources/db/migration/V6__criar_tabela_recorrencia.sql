@@ -0,0 +1,24 @@
+-- regras de lançamentos recorrentes, materializadas por MaterializacaoRecorrenciasJob
+create sequence financas.seq_recorrencia increment by 50;
+
+create table financas.recorrencia (
+	id bigint primary key,
+	id_usuario bigint references financas.usuario (id),
+	descricao varchar(255),
+	valor numeric(19, 2),
+	tipo varchar(255),
+	periodicidade varchar(255),
+	mes_inicial integer,
+	ano_inicial integer,
+	mes_final integer,
+	ano_final integer,
+	mes_proximo integer,
+	ano_proximo integer,
+	data_cadastro timestamp
+);
+
+-- regras com ocorrências a materializar até o horizonte
+create index ix_recorrencia_proximo on financas.recorrencia (ano_proximo, mes_proximo);
+
+-- listagem e projeção das regras do usuário
+create index ix_recorrencia_usuario on financas.recorrencia (id_usuario);
@@ -0,0 +1,22 @@
+-- planos de parcelamento, cujas parcelas são lançamentos comuns
+create sequence financas.seq_parcelamento increment by 50;
+
+create table financas.parcelamento (
+	id bigint primary key,
+	id_usuario bigint references financas.usuario (id),
+	descricao varchar(255),
+	valor_total numeric(19, 2),
+	quantidade_parcelas integer,
+	tipo varchar(255),
+	mes_inicial integer,
+	ano_inicial integer,
+	data_cadastro timestamp
+);
+
+alter table financas.lancamento add column id_parcelamento bigint;
+alter table financas.lancamento add column parcela integer;
+alter table financas.lancamento add constraint fk_lancamento_parcelamento
+	foreign key (id_parcelamento) references financas.parcelamento (id);
+
+-- parcelas restantes de um plano, canceladas ou alteradas em um único UPDATE
+create index ix_lancamento_parcelamento on financas.lancamento (id_parcelamento, status, parcela);
@@ -0,0 +1,3 @@
+-- eventos que falham repetidamente deixam de ser entregues depois de lancamento.eventos.max-tentativas
+alter table financas.evento_lancamento add column tentativas integer default 0 not null;
+alter table financas.evento_lancamento add column erro varchar(1000);
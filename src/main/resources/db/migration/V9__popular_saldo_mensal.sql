@@ -0,0 +1,9 @@
+-- bases anteriores ao saldo_mensal já têm lançamentos: recalcula os saldos a partir deles,
+-- como ReconciliacaoSaldoJob faria, para que o saldo não fique zerado até a próxima reconciliação
+delete from financas.saldo_mensal;
+
+insert into financas.saldo_mensal (id_usuario, ano, mes, tipo, status, valor, quantidade)
+select l.id_usuario, l.ano, l.mes, l.tipo, l.status, sum(l.valor), count(*)
+from financas.lancamento l
+where l.id_usuario is not null
+group by l.id_usuario, l.ano, l.mes, l.tipo, l.status;
@@ -0,0 +1,64 @@
+package com.joabss.financecontrol.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.service.UsuarioAutenticado;
+import com.joabss.financecontrol.service.impl.JwtServiceImpl;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Geração e leitura de tokens. {@code obterClaims} verifica a assinatura a
+ * cada chamada; {@code verificar} é o caminho do filtro, que repete o mesmo
+ * token e por isso é servido pelo cache de tokens verificados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+	private static final String CHAVE = "bWluaGFzIGZpbmFuY2FzIGRlc2Vudm9sdmlkbyBwb3Igam9hYmU=";
+
+	private JwtServiceImpl service;
+	private Usuario usuario;
+	private String token;
+
+	@Setup
+	public void preparar() {
+		service = new JwtServiceImpl("30", CHAVE, 10000, new SimpleMeterRegistry());
+		usuario = Usuario.builder().id(1L).nome("Usuário").email("usuario@email.com").build();
+		token = service.gerarToken(usuario);
+	}
+
+	@Benchmark
+	public String gerarToken() {
+		return service.gerarToken(usuario);
+	}
+
+	@Benchmark
+	public Claims obterClaims() {
+		return service.obterClaims(token);
+	}
+
+	@Benchmark
+	public Optional<UsuarioAutenticado> verificar() {
+		return service.verificar(token);
+	}
+}
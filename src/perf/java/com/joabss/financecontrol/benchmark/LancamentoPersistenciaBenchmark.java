@@ -0,0 +1,185 @@
+package com.joabss.financecontrol.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.joabss.financecontrol.FinanceControlApplication;
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.SaldoMensal;
+import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.model.repository.LancamentoRepository;
+import com.joabss.financecontrol.model.repository.UsuarioRepository;
+import com.joabss.financecontrol.service.LancamentoService;
+import com.joabss.financecontrol.service.SaldoService;
+import com.joabss.financecontrol.service.impl.CacheLancamentos;
+
+/**
+ * Caminhos de leitura de lançamentos contra o H2 do perfil de testes, com
+ * {@code quantidade} lançamentos do usuário medido (distribuídos em dez anos)
+ * e outros tantos de demais usuários. Cada leitura tem uma linha de base com
+ * a implementação anterior: Query by Example para a busca e a soma direta da
+ * tabela de lançamentos para o saldo. O saldo é medido com o cache vazio,
+ * comparável à linha de base, e à parte com o valor já em cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class LancamentoPersistenciaBenchmark {
+
+	private static final int USUARIOS = 10;
+	private static final String[] DESCRICOES = {
+			"Salário", "Aluguel", "Mercado", "Farmácia", "Combustível", "Academia", "Internet", "Energia",
+			"Restaurante", "Cinema", "Padaria", "Condomínio", "Seguro do carro", "Plano de saúde" };
+
+	@Param({ "1000", "100000", "1000000" })
+	public int quantidade;
+
+	private ConfigurableApplicationContext contexto;
+	private LancamentoService service;
+	private LancamentoRepository repository;
+	private CacheLancamentos cacheLancamentos;
+	private Lancamento filtroMes;
+	private Lancamento filtroDescricao;
+	private Long idUsuario;
+
+	@Setup(Level.Trial)
+	public void preparar() {
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		contexto = new SpringApplicationBuilder(FinanceControlApplication.class)
+				.profiles("test")
+				.run(
+						"--server.port=0",
+						"--spring.jpa.show-sql=false",
+						"--saldo.reconciliacao.na-inicializacao=false");
+
+		service = contexto.getBean(LancamentoService.class);
+		repository = contexto.getBean(LancamentoRepository.class);
+		cacheLancamentos = contexto.getBean(CacheLancamentos.class);
+
+		List<Usuario> usuarios = new ArrayList<>();
+		for (int i = 0; i < USUARIOS; i++) {
+			usuarios.add(contexto.getBean(UsuarioRepository.class).save(Usuario.builder()
+					.nome("usuario" + i).email("usuario" + i + "@email.com").senha("senha").build()));
+		}
+
+		Usuario usuario = usuarios.get(0);
+		idUsuario = usuario.getId();
+		popular(contexto.getBean(JdbcTemplate.class), usuarios);
+		contexto.getBean(SaldoService.class).reconciliar(idUsuario);
+
+		filtroMes = new Lancamento();
+		filtroMes.setUsuario(usuario);
+		filtroMes.setAno(2015);
+		filtroMes.setMes(6);
+
+		filtroDescricao = new Lancamento();
+		filtroDescricao.setUsuario(usuario);
+		filtroDescricao.setDescricao("seguro");
+	}
+
+	private void popular(JdbcTemplate jdbcTemplate, List<Usuario> usuarios) {
+		Random aleatorio = new Random(42);
+		String insert = "insert into financas.lancamento "
+				+ "(descricao, mes, ano, id_usuario, valor, tipo, status, data_cadastro) values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+		// o usuário medido recebe a quantidade inteira; os demais dividem outro tanto
+		int total = quantidade * 2;
+		List<Object[]> lote = new ArrayList<>();
+		for (int i = 0; i < total; i++) {
+			Usuario usuario = i < quantidade ? usuarios.get(0) : usuarios.get(1 + i % (USUARIOS - 1));
+			boolean receita = aleatorio.nextInt(5) == 0;
+			lote.add(new Object[] {
+					DESCRICOES[aleatorio.nextInt(DESCRICOES.length)] + " " + aleatorio.nextInt(1000),
+					1 + aleatorio.nextInt(12),
+					2010 + aleatorio.nextInt(10),
+					usuario.getId(),
+					BigDecimal.valueOf(1 + aleatorio.nextInt(500000), 2),
+					receita ? "RECEITA" : "DESPESA",
+					aleatorio.nextInt(4) == 0 ? "PENDENTE" : "EFETIVADO",
+					Date.valueOf(LocalDate.now()) });
+
+			if (lote.size() == 10000) {
+				jdbcTemplate.batchUpdate(insert, lote);
+				lote.clear();
+			}
+		}
+		if (!lote.isEmpty()) {
+			jdbcTemplate.batchUpdate(insert, lote);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public List<Lancamento> buscarPorMes() {
+		return service.buscar(filtroMes);
+	}
+
+	@Benchmark
+	public List<Lancamento> buscarPorMesComExemplo() {
+		return repository.findAll(exemplo(filtroMes));
+	}
+
+	@Benchmark
+	public List<Lancamento> buscarPorDescricao() {
+		return service.buscar(filtroDescricao);
+	}
+
+	@Benchmark
+	public List<Lancamento> buscarPorDescricaoComExemplo() {
+		return repository.findAll(exemplo(filtroDescricao));
+	}
+
+	@Benchmark
+	public BigDecimal obterSaldoPorUsuario() {
+		cacheLancamentos.removerSaldo(idUsuario);
+		return service.obterSaldoPorUsuario(idUsuario);
+	}
+
+	@Benchmark
+	public BigDecimal obterSaldoPorUsuarioEmCache() {
+		return service.obterSaldoPorUsuario(idUsuario);
+	}
+
+	@Benchmark
+	public List<SaldoMensal> somarLancamentosDoUsuario() {
+		return repository.agruparSaldoMensalPorUsuario(idUsuario);
+	}
+
+	private Example<Lancamento> exemplo(Lancamento filtro) {
+		return Example.of(filtro, ExampleMatcher.matching()
+				.withIgnoreCase()
+				.withStringMatcher(StringMatcher.CONTAINING));
+	}
+}
@@ -0,0 +1,64 @@
+package com.joabss.financecontrol.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.joabss.financecontrol.config.CodificadoresSenha;
+
+/**
+ * Custo de gerar e de verificar um hash de senha em cada algoritmo suportado
+ * por {@code seguranca.senha.algoritmo}. A configuração tem o formato
+ * {@code algoritmo-custo}, em que o custo é o log2 das rodadas do BCrypt, as
+ * iterações do PBKDF2 ou as iterações do Argon2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class SenhaBenchmark {
+
+	private static final String SENHA = "senha-do-benchmark";
+
+	@Param({ "bcrypt-10", "bcrypt-12", "pbkdf2-185000", "argon2-3" })
+	public String configuracao;
+
+	private PasswordEncoder codificador;
+	private String hash;
+
+	@Setup
+	public void preparar() {
+		String[] partes = configuracao.split("-");
+		String algoritmo = partes[0];
+		int custo = Integer.parseInt(partes[1]);
+		codificador = CodificadoresSenha.criar(algoritmo,
+				CodificadoresSenha.BCRYPT.equals(algoritmo) ? custo : 10,
+				CodificadoresSenha.PBKDF2.equals(algoritmo) ? custo : 185000,
+				CodificadoresSenha.ARGON2.equals(algoritmo) ? custo : 3,
+				4096);
+		hash = codificador.encode(SENHA);
+	}
+
+	@Benchmark
+	public String codificar() {
+		return codificador.encode(SENHA);
+	}
+
+	@Benchmark
+	public boolean verificar() {
+		return codificador.matches(SENHA, hash);
+	}
+}
@@ -0,0 +1,77 @@
+package com.joabss.financecontrol.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.joabss.financecontrol.exception.RegraNegocioException;
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+import com.joabss.financecontrol.service.impl.LancamentoServiceImpl;
+
+/**
+ * Custo de {@link LancamentoServiceImpl#validar(Lancamento)} para um
+ * lançamento válido e para um rejeitado na última regra, que paga a criação
+ * da exceção.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoBenchmark {
+
+	private LancamentoServiceImpl service;
+	private Lancamento valido;
+	private Lancamento semTipo;
+
+	@Setup
+	public void preparar() {
+		service = new LancamentoServiceImpl(null, null, null, null, null);
+
+		valido = Lancamento.builder()
+				.descricao("Salário")
+				.mes(1)
+				.ano(2020)
+				.usuario(Usuario.builder().id(1L).build())
+				.valor(BigDecimal.valueOf(1000))
+				.tipo(TipoLancamento.RECEITA)
+				.build();
+
+		semTipo = Lancamento.builder()
+				.descricao("Salário")
+				.mes(1)
+				.ano(2020)
+				.usuario(Usuario.builder().id(1L).build())
+				.valor(BigDecimal.valueOf(1000))
+				.build();
+	}
+
+	@Benchmark
+	public Lancamento validarLancamentoValido() {
+		service.validar(valido);
+		return valido;
+	}
+
+	@Benchmark
+	public String validarLancamentoInvalido() {
+		try {
+			service.validar(semTipo);
+			return null;
+		} catch (RegraNegocioException e) {
+			return e.getMessage();
+		}
+	}
+}
@@ -0,0 +1,281 @@
+package com.joabss.financecontrol.carga;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joabss.financecontrol.FinanceControlApplication;
+import com.joabss.financecontrol.service.impl.GeradorDadosCarga;
+
+/**
+ * Teste de carga da API. Cada thread simula um cliente que autentica com um
+ * usuário da massa de {@link GeradorDadosCarga} e alterna entre buscar
+ * lançamentos de um mês, consultar o saldo e, eventualmente, autenticar de
+ * novo. Ao final imprime vazão e latências p50/p99 por operação e grava o
+ * mesmo resultado em {@code target/carga-resultado.json}.
+ *
+ * <p>Sem {@code carga.url}, sobe a própria aplicação no H2 do perfil de testes
+ * com o perfil {@code carga}; com {@code carga.url}, usa uma instância já em
+ * execução (por exemplo, com PostgreSQL), que deve ter sido iniciada com o
+ * perfil {@code carga} e a mesma quantidade de usuários.
+ *
+ * <p>Com {@code carga.threads-virtuais=true} a aplicação embarcada sobe com
+ * {@code servidor.threads-virtuais}; rodando o teste duas vezes em um JDK 21,
+ * com e sem a opção e o mesmo {@code carga.threads}, compara-se as threads
+ * virtuais com o pool bloqueante do Tomcat.
+ */
+public class TesteCarga {
+
+	private static final String AUTENTICAR = "autenticar";
+	private static final String BUSCAR = "buscar";
+	private static final String SALDO = "saldo";
+
+	private static final ObjectMapper JSON = new ObjectMapper();
+
+	public static void main(String[] args) throws Exception {
+		String url = System.getProperty("carga.url", "");
+		int usuarios = Integer.getInteger("carga.usuarios", 100);
+		int lancamentosPorUsuario = Integer.getInteger("carga.lancamentos-por-usuario", 1000);
+		int threads = Integer.getInteger("carga.threads", 8);
+		int aquecimento = Integer.getInteger("carga.aquecimento-segundos", 10);
+		int duracao = Integer.getInteger("carga.duracao-segundos", 30);
+		String senha = System.getProperty("carga.senha", "carga");
+		boolean threadsVirtuais = Boolean.getBoolean("carga.threads-virtuais");
+
+		ConfigurableApplicationContext contexto = null;
+		if (url.isEmpty()) {
+			System.setProperty("spring.devtools.restart.enabled", "false");
+			contexto = new SpringApplicationBuilder(FinanceControlApplication.class)
+					.profiles("test", "carga")
+					.run(
+							"--server.port=0",
+							"--spring.jpa.show-sql=false",
+							"--carga.usuarios=" + usuarios,
+							"--carga.lancamentos-por-usuario=" + lancamentosPorUsuario,
+							"--carga.senha=" + senha,
+							"--servidor.threads-virtuais=" + threadsVirtuais);
+			url = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+		}
+
+		try {
+			String base = url;
+			long inicioMedicao = System.nanoTime() + TimeUnit.SECONDS.toNanos(aquecimento);
+			long fim = inicioMedicao + TimeUnit.SECONDS.toNanos(duracao);
+
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			List<Cliente> clientes = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				Cliente cliente = new Cliente(base, usuarios, senha, inicioMedicao, fim);
+				clientes.add(cliente);
+				executor.execute(cliente);
+			}
+			executor.shutdown();
+			executor.awaitTermination(aquecimento + duracao + 60, TimeUnit.SECONDS);
+
+			relatar(clientes, threads, duracao, threadsVirtuais);
+		} finally {
+			if (contexto != null) {
+				contexto.close();
+			}
+		}
+	}
+
+	private static void relatar(List<Cliente> clientes, int threads, int duracao, boolean threadsVirtuais) throws IOException {
+		Map<String, Object> resultado = new LinkedHashMap<>();
+		resultado.put("threads", threads);
+		resultado.put("threadsVirtuais", threadsVirtuais);
+		resultado.put("java", System.getProperty("java.version"));
+		resultado.put("duracaoSegundos", duracao);
+
+		System.out.println();
+		System.out.printf("%-12s %10s %10s %12s %10s %10s %10s%n", "operação", "total", "erros", "vazão (/s)", "p50 (ms)", "p99 (ms)", "máx (ms)");
+		for (String operacao : new String[] { AUTENTICAR, BUSCAR, SALDO }) {
+			List<Long> latencias = new ArrayList<>();
+			int erros = 0;
+			for (Cliente cliente : clientes) {
+				latencias.addAll(cliente.latencias.get(operacao));
+				erros += cliente.erros.get(operacao);
+			}
+			Collections.sort(latencias);
+
+			Map<String, Object> estatisticas = new LinkedHashMap<>();
+			estatisticas.put("total", latencias.size());
+			estatisticas.put("erros", erros);
+			estatisticas.put("vazao", latencias.size() / (double) duracao);
+			estatisticas.put("p50Ms", percentil(latencias, 0.50));
+			estatisticas.put("p99Ms", percentil(latencias, 0.99));
+			estatisticas.put("maximoMs", percentil(latencias, 1.0));
+			resultado.put(operacao, estatisticas);
+
+			System.out.printf("%-12s %10d %10d %12.1f %10.2f %10.2f %10.2f%n", operacao, latencias.size(), erros,
+					estatisticas.get("vazao"), estatisticas.get("p50Ms"), estatisticas.get("p99Ms"), estatisticas.get("maximoMs"));
+		}
+
+		File arquivo = new File("target/carga-resultado.json");
+		arquivo.getParentFile().mkdirs();
+		JSON.writerWithDefaultPrettyPrinter().writeValue(arquivo, resultado);
+		System.out.println();
+		System.out.println("Resultado gravado em " + arquivo.getPath());
+	}
+
+	private static double percentil(List<Long> latencias, double percentil) {
+		if (latencias.isEmpty()) {
+			return 0;
+		}
+		int posicao = (int) Math.ceil(percentil * latencias.size()) - 1;
+		return latencias.get(Math.max(0, posicao)) / 1_000_000.0;
+	}
+
+	private static class Cliente implements Runnable {
+
+		private final String base;
+		private final int usuarios;
+		private final String senha;
+		private final long inicioMedicao;
+		private final long fim;
+		private final Map<String, List<Long>> latencias = new LinkedHashMap<>();
+		private final Map<String, Integer> erros = new LinkedHashMap<>();
+
+		private String token;
+		private long idUsuario;
+
+		Cliente(String base, int usuarios, String senha, long inicioMedicao, long fim) {
+			this.base = base;
+			this.usuarios = usuarios;
+			this.senha = senha;
+			this.inicioMedicao = inicioMedicao;
+			this.fim = fim;
+			for (String operacao : new String[] { AUTENTICAR, BUSCAR, SALDO }) {
+				latencias.put(operacao, new ArrayList<>());
+				erros.put(operacao, 0);
+			}
+		}
+
+		@Override
+		public void run() {
+			ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+			while (System.nanoTime() < fim) {
+				int sorteio = aleatorio.nextInt(100);
+				if (token == null || sorteio < 5) {
+					executar(AUTENTICAR, this::autenticar);
+				} else if (sorteio < 65) {
+					executar(BUSCAR, this::buscar);
+				} else {
+					executar(SALDO, this::saldo);
+				}
+			}
+		}
+
+		private void executar(String operacao, Operacao requisicao) {
+			long inicio = System.nanoTime();
+			boolean sucesso;
+			try {
+				sucesso = requisicao.executar();
+			} catch (IOException e) {
+				sucesso = false;
+			}
+			long termino = System.nanoTime();
+
+			if (inicio >= inicioMedicao && termino <= fim) {
+				if (sucesso) {
+					latencias.get(operacao).add(termino - inicio);
+				} else {
+					erros.merge(operacao, 1, Integer::sum);
+				}
+			}
+		}
+
+		private boolean autenticar() throws IOException {
+			String email = GeradorDadosCarga.email(1 + ThreadLocalRandom.current().nextInt(usuarios));
+			String corpo = JSON.writeValueAsString(new LinkedHashMap<String, String>() {
+				private static final long serialVersionUID = 1L;
+				{
+					put("email", email);
+					put("senha", senha);
+				}
+			});
+
+			HttpURLConnection conexao = abrir("/api/usuarios/autenticar", "POST");
+			conexao.setDoOutput(true);
+			conexao.setRequestProperty("Content-Type", "application/json");
+			try (OutputStream saida = conexao.getOutputStream()) {
+				saida.write(corpo.getBytes(StandardCharsets.UTF_8));
+			}
+
+			if (conexao.getResponseCode() != 200) {
+				ler(conexao);
+				return false;
+			}
+			JsonNode resposta = JSON.readTree(ler(conexao));
+			token = resposta.get("token").asText();
+			idUsuario = resposta.get("id").asLong();
+			return true;
+		}
+
+		private boolean buscar() throws IOException {
+			LocalDate competencia = LocalDate.now().minusMonths(ThreadLocalRandom.current().nextInt(12));
+			return consultar("/api/lancamentos?usuario=" + idUsuario
+					+ "&ano=" + competencia.getYear() + "&mes=" + competencia.getMonthValue());
+		}
+
+		private boolean saldo() throws IOException {
+			return consultar("/api/usuarios/" + idUsuario + "/saldo");
+		}
+
+		private boolean consultar(String caminho) throws IOException {
+			HttpURLConnection conexao = abrir(caminho, "GET");
+			conexao.setRequestProperty("Authorization", "Bearer " + token);
+			int status = conexao.getResponseCode();
+			ler(conexao);
+			return status == 200;
+		}
+
+		private HttpURLConnection abrir(String caminho, String metodo) throws IOException {
+			HttpURLConnection conexao = (HttpURLConnection) new URL(base + caminho).openConnection();
+			conexao.setRequestMethod(metodo);
+			conexao.setConnectTimeout(5000);
+			conexao.setReadTimeout(30000);
+			return conexao;
+		}
+
+		private byte[] ler(HttpURLConnection conexao) throws IOException {
+			InputStream entrada = conexao.getResponseCode() < 400 ? conexao.getInputStream() : conexao.getErrorStream();
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			if (entrada != null) {
+				try (InputStream corpo = entrada) {
+					byte[] buffer = new byte[8192];
+					int lidos;
+					while ((lidos = corpo.read(buffer)) != -1) {
+						bytes.write(buffer, 0, lidos);
+					}
+				}
+			}
+			return bytes.toByteArray();
+		}
+	}
+
+	@FunctionalInterface
+	private interface Operacao {
+		boolean executar() throws IOException;
+	}
+}
@@ -0,0 +1,77 @@
+package com.joabss.financecontrol.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.model.repository.LancamentoRepository;
+import com.joabss.financecontrol.model.repository.SaldoMensalRepository;
+import com.joabss.financecontrol.model.repository.UsuarioRepository;
+import com.joabss.financecontrol.service.JwtService;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:erros;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas",
+		"saldo.reconciliacao.na-inicializacao=false",
+		"jwt.principal.origem=claims" })
+public class TratamentoErrosApiTest {
+
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	SaldoMensalRepository saldoMensalRepository;
+
+	@Autowired
+	JwtService jwtService;
+
+	@BeforeEach
+	public void setUp() {
+		lancamentoRepository.deleteAll();
+		saldoMensalRepository.deleteAll();
+		usuarioRepository.deleteAll();
+	}
+
+	@Test
+	public void deveResponderBadRequestQuandoOUsuarioDoTokenTiverSidoRemovido() throws Exception {
+		// Cenário
+		Usuario usuario = usuarioRepository.save(
+				Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+		String token = "Bearer " + jwtService.gerarToken(usuario);
+		usuarioRepository.delete(usuario);
+
+		// Ação
+		ResultActions resultado = mvc.perform(MockMvcRequestBuilders.post("/api/lancamentos")
+				.header("Authorization", token)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"descricao\":\"Aluguel\",\"mes\":1,\"ano\":2020,\"valor\":10,\"usuario\":" + usuario.getId()
+						+ ",\"tipo\":\"DESPESA\"}"));
+
+		// Verificação
+		resultado.andExpect(status().isBadRequest());
+		assertEquals(0, lancamentoRepository.count());
+	}
+}
@@ -0,0 +1,199 @@
+package com.joabss.financecontrol.api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.joabss.financecontrol.config.ContadorConsultas;
+import com.joabss.financecontrol.config.ContadorConsultasFilter;
+import com.joabss.financecontrol.exception.ConsultasExcedidasException;
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.model.repository.LancamentoRepository;
+import com.joabss.financecontrol.model.repository.LancamentoRepositoryTest;
+import com.joabss.financecontrol.model.repository.SaldoMensalRepository;
+import com.joabss.financecontrol.model.repository.UsuarioRepository;
+import com.joabss.financecontrol.service.JwtService;
+
+/**
+ * Número de comandos SQL por endpoint. Um aumento aqui costuma ser um N+1
+ * novo: revise a consulta antes de atualizar o valor esperado. O principal
+ * vem das claims do token, para que a contagem não dependa do cache de
+ * usuários autenticados.
+ */
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:consultas;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas",
+		"saldo.reconciliacao.na-inicializacao=false",
+		"jwt.principal.origem=claims" })
+public class LancamentoControllerConsultasTest {
+
+	static final String API = "/api/lancamentos";
+
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	SaldoMensalRepository saldoMensalRepository;
+
+	@Autowired
+	JwtService jwtService;
+
+	Usuario usuario;
+	String token;
+
+	@BeforeEach
+	public void setUp() {
+		lancamentoRepository.deleteAll();
+		saldoMensalRepository.deleteAll();
+		usuarioRepository.deleteAll();
+
+		usuario = usuarioRepository.save(
+				Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+		token = "Bearer " + jwtService.gerarToken(usuario);
+	}
+
+	@Test
+	public void deveBuscarLancamentosComConsultasConstantes() throws Exception {
+		// Cenário
+		for (int i = 0; i < 5; i++) {
+			Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+			lancamento.setUsuario(usuario);
+			lancamentoRepository.save(lancamento);
+		}
+
+		// Ação
+		int consultas = executar(MockMvcRequestBuilders.get(API)
+				.param("usuario", usuario.getId().toString()));
+
+		// Verificação
+		assertEquals(1, consultas);
+	}
+
+	@Test
+	public void deveObterLancamentoPorIdComUmaConsulta() throws Exception {
+		// Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento = lancamentoRepository.save(lancamento);
+
+		// Ação
+		int consultas = executar(MockMvcRequestBuilders.get(API + "/" + lancamento.getId()));
+
+		// Verificação
+		assertEquals(1, consultas);
+	}
+
+	@Test
+	public void deveServirLancamentoDoCacheAteQueSejaAlterado() throws Exception {
+		// Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento = lancamentoRepository.save(lancamento);
+		String uri = API + "/" + lancamento.getId();
+		executar(MockMvcRequestBuilders.get(uri));
+
+		// Ação
+		int consultasComCache = executar(MockMvcRequestBuilders.get(uri));
+		executar(MockMvcRequestBuilders.put(uri + "/atualiza-status")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"EFETIVADO\"}"));
+		MvcResult resultado = mvc.perform(MockMvcRequestBuilders.get(uri).header("Authorization", token)).andReturn();
+
+		// Verificação
+		assertEquals(0, consultasComCache);
+		assertEquals(1, resultado.getRequest().getAttribute(ContadorConsultasFilter.ATRIBUTO_CONSULTAS));
+		assertTrue(resultado.getResponse().getContentAsString().contains("EFETIVADO"));
+	}
+
+	@Test
+	public void deveSalvarLancamentoComConsultasConstantes() throws Exception {
+		// Cenário
+		String json = "{\"descricao\":\"Aluguel\",\"mes\":1,\"ano\":2020,\"valor\":" + BigDecimal.TEN
+				+ ",\"usuario\":" + usuario.getId() + ",\"tipo\":\"DESPESA\"}";
+		// a primeira inserção busca os blocos das sequências e cria o saldo do mês
+		executar(MockMvcRequestBuilders.post(API)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(json));
+
+		// Ação
+		int consultas = executar(MockMvcRequestBuilders.post(API)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(json));
+
+		// Verificação: inserção, acúmulo no saldo mensal e evento
+		assertEquals(3, consultas);
+	}
+
+	@Test
+	public void deveAlterarADescricaoComPatchSemMovimentarOSaldo() throws Exception {
+		// Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento = lancamentoRepository.save(lancamento);
+		// o primeiro evento busca o bloco da sequência
+		executar(MockMvcRequestBuilders.patch(API + "/" + lancamento.getId())
+				.contentType("application/merge-patch+json")
+				.content("{\"descricao\":\"Aluguel\"}"));
+
+		// Ação
+		int consultas = executar(MockMvcRequestBuilders.patch(API + "/" + lancamento.getId())
+				.contentType("application/merge-patch+json")
+				.content("{\"descricao\":\"Condomínio\"}"));
+
+		// Verificação: leitura, UPDATE só da descrição e evento, sem tocar no saldo
+		assertEquals(3, consultas);
+	}
+
+	@Test
+	public void deveInterromperComandoAcimaDoLimiteQuandoConfigurado() {
+		// Cenário
+		ContadorConsultas contador = new ContadorConsultas(1, true);
+		contador.iniciar();
+
+		try {
+			// Ação
+			contador.inspect("select 1");
+
+			// Verificação
+			assertThrows(ConsultasExcedidasException.class, () -> contador.inspect("select 2"));
+			assertEquals(2, contador.contagem());
+		} finally {
+			contador.encerrar();
+		}
+	}
+
+	private int executar(MockHttpServletRequestBuilder request) throws Exception {
+		MvcResult resultado = mvc.perform(request.header("Authorization", token))
+				.andExpect(MockMvcResultMatchers.status().is2xxSuccessful())
+				.andReturn();
+		return (Integer) resultado.getRequest().getAttribute(ContadorConsultasFilter.ATRIBUTO_CONSULTAS);
+	}
+}
@@ -0,0 +1,200 @@
+package com.joabss.financecontrol.api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.model.repository.LancamentoRepository;
+import com.joabss.financecontrol.model.repository.SaldoMensalRepository;
+import com.joabss.financecontrol.model.repository.UsuarioRepository;
+import com.joabss.financecontrol.service.JwtService;
+import com.joabss.financecontrol.service.SaldoService;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:lote;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas",
+		"saldo.reconciliacao.na-inicializacao=false",
+		"jwt.principal.origem=claims",
+		"lancamento.lote.tamanho=2" })
+public class LancamentoControllerLoteTest {
+
+	static final String API = "/api/lancamentos/lote";
+
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	SaldoMensalRepository saldoMensalRepository;
+
+	@Autowired
+	SaldoService saldoService;
+
+	@Autowired
+	JwtService jwtService;
+
+	Usuario usuario;
+	String token;
+
+	@BeforeEach
+	public void setUp() {
+		lancamentoRepository.deleteAll();
+		saldoMensalRepository.deleteAll();
+		usuarioRepository.deleteAll();
+
+		usuario = usuarioRepository.save(
+				Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+		token = "Bearer " + jwtService.gerarToken(usuario);
+	}
+
+	@Test
+	public void deveImportarArrayJsonEmVariosLotes() throws Exception {
+		// Cenário
+		String corpo = "[" + json("Aluguel", "DESPESA") + "," + json("Salário", "RECEITA") + ","
+				+ json("Mercado", "DESPESA") + "]";
+
+		// Ação
+		ResultActions resultado = importar(MediaType.APPLICATION_JSON_VALUE, corpo);
+
+		// Verificação
+		resultado
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("$.importados").value(3))
+			.andExpect(jsonPath("$.erros").isEmpty());
+		assertEquals(3, lancamentoRepository.count());
+		assertEquals(0, saldoService.reconciliar(usuario.getId()));
+	}
+
+	@Test
+	public void deveInformarALinhaDeCadaRegistroInvalidoNoNdjson() throws Exception {
+		// Cenário
+		String corpo = json("Aluguel", "DESPESA") + "\n"
+				+ json("", "DESPESA") + "\n"
+				+ "\n"
+				+ json("Salário", "OUTRO") + "\n"
+				+ json("Mercado", "DESPESA") + "\n";
+
+		// Ação
+		ResultActions resultado = importar("application/x-ndjson", corpo);
+
+		// Verificação
+		resultado
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("$.importados").value(2))
+			.andExpect(jsonPath("$.erros.length()").value(2))
+			.andExpect(jsonPath("$.erros[0].linha").value(2))
+			.andExpect(jsonPath("$.erros[0].mensagem").value("Informe uma descrição válida."))
+			.andExpect(jsonPath("$.erros[1].linha").value(4))
+			.andExpect(jsonPath("$.erros[1].mensagem").value("Informe um Tipo e um Status de Lançamento válidos."));
+		assertEquals(2, lancamentoRepository.count());
+	}
+
+	@Test
+	public void deveImportarCsvInformandoALinhaFisicaDoRegistroInvalido() throws Exception {
+		// Cenário
+		String corpo = "descricao,mes,ano,valor,usuario,tipo\n"
+				+ "Aluguel,1,2020,100.00," + usuario.getId() + ",DESPESA\n"
+				+ "Salário,13,2020,1000.00," + usuario.getId() + ",RECEITA\n"
+				+ "Mercado,1,2020,50.00," + usuario.getId() + ",DESPESA\n";
+
+		// Ação
+		ResultActions resultado = importar("text/csv", corpo);
+
+		// Verificação
+		resultado
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("$.importados").value(2))
+			.andExpect(jsonPath("$.erros.length()").value(1))
+			.andExpect(jsonPath("$.erros[0].linha").value(3))
+			.andExpect(jsonPath("$.erros[0].mensagem").value("Informe um Mês válido."));
+		assertEquals(0, saldoService.reconciliar(usuario.getId()));
+	}
+
+	@Test
+	public void deveIgnorarRegistroComCampoMalFormadoEContinuarAImportacao() throws Exception {
+		// Cenário
+		String corpo = json("Aluguel", "DESPESA") + "\n"
+				+ "{\"descricao\":\"Mercado\",\"mes\":1,\"ano\":2020,\"valor\":\"abc\",\"usuario\":" + usuario.getId()
+				+ ",\"tipo\":\"DESPESA\"}\n"
+				+ json("Salário", "RECEITA") + "\n";
+
+		// Ação
+		ResultActions resultado = importar("application/x-ndjson", corpo);
+
+		// Verificação
+		resultado
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("$.importados").value(2))
+			.andExpect(jsonPath("$.erros[0].linha").value(2))
+			.andExpect(jsonPath("$.erros[0].mensagem").value("Registro com formato inválido."));
+	}
+
+	@Test
+	public void deveInterromperAImportacaoQuandoOCorpoNaoForJsonValido() throws Exception {
+		// Cenário
+		String corpo = "[\n" + json("Aluguel", "DESPESA") + ",\n{\"descricao\": \n";
+
+		// Ação
+		ResultActions resultado = importar(MediaType.APPLICATION_JSON_VALUE, corpo);
+
+		// Verificação: o registro anterior ao erro já foi lido e é importado
+		resultado
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("$.importados").value(1))
+			.andExpect(jsonPath("$.erros.length()").value(1))
+			.andExpect(jsonPath("$.erros[0].mensagem").value("Conteúdo inválido, importação interrompida."));
+	}
+
+	@Test
+	public void deveResponderBadRequestQuandoNenhumRegistroForImportado() throws Exception {
+		// Cenário
+		String corpo = json("", "DESPESA") + "\n";
+
+		// Ação
+		ResultActions resultado = importar("application/x-ndjson", corpo);
+
+		// Verificação
+		resultado
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.importados").value(0))
+			.andExpect(jsonPath("$.erros[0].linha").value(1));
+		assertEquals(0, lancamentoRepository.count());
+	}
+
+	private ResultActions importar(String contentType, String corpo) throws Exception {
+		return mvc.perform(MockMvcRequestBuilders.post(API)
+				.header("Authorization", token)
+				.contentType(contentType)
+				.content(corpo));
+	}
+
+	private String json(String descricao, String tipo) {
+		return "{\"descricao\":\"" + descricao + "\",\"mes\":1,\"ano\":2020,\"valor\":" + BigDecimal.TEN
+				+ ",\"usuario\":" + usuario.getId() + ",\"tipo\":\"" + tipo + "\"}";
+	}
+}
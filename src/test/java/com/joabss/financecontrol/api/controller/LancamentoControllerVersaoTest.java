@@ -0,0 +1,235 @@
+package com.joabss.financecontrol.api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.model.enums.StatusLancamento;
+import com.joabss.financecontrol.model.repository.LancamentoRepository;
+import com.joabss.financecontrol.model.repository.LancamentoRepositoryTest;
+import com.joabss.financecontrol.model.repository.SaldoMensalRepository;
+import com.joabss.financecontrol.model.repository.UsuarioRepository;
+import com.joabss.financecontrol.service.JwtService;
+import com.joabss.financecontrol.service.LancamentoService;
+import com.joabss.financecontrol.service.SaldoService;
+
+/**
+ * ETag e pré-condições das atualizações: a versão do lançamento vai no ETag,
+ * {@code If-None-Match} evita reenviar o corpo e {@code If-Match} torna a
+ * gravação condicional. Como em produção, o open-in-view mantém na sessão a
+ * entidade lida pelo controller.
+ */
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:versao;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas",
+		"saldo.reconciliacao.na-inicializacao=false",
+		"jwt.principal.origem=claims" })
+public class LancamentoControllerVersaoTest {
+
+	static final String API = "/api/lancamentos";
+
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	SaldoMensalRepository saldoMensalRepository;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@SpyBean
+	SaldoService saldoService;
+
+	@Autowired
+	JwtService jwtService;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	Usuario usuario;
+	String token;
+	Lancamento lancamento;
+
+	@BeforeEach
+	public void setUp() {
+		lancamentoRepository.deleteAll();
+		saldoMensalRepository.deleteAll();
+		usuarioRepository.deleteAll();
+
+		usuario = usuarioRepository.save(
+				Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+		token = "Bearer " + jwtService.gerarToken(usuario);
+
+		lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento = lancamentoService.salvar(lancamento);
+	}
+
+	@Test
+	public void deveDevolverAVersaoNoETag() throws Exception {
+		// Ação / Verificação
+		executar(MockMvcRequestBuilders.get(API + "/" + lancamento.getId()))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+			.andExpect(jsonPath("$.id").value(lancamento.getId()));
+	}
+
+	@Test
+	public void deveResponderNaoModificadoQuandoOETagForOAtual() throws Exception {
+		// Ação / Verificação
+		executar(MockMvcRequestBuilders.get(API + "/" + lancamento.getId())
+				.header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+			.andExpect(status().isNotModified())
+			.andExpect(content().string(""));
+	}
+
+	@Test
+	public void deveDevolverOCorpoQuandoOETagEstiverDesatualizado() throws Exception {
+		// Cenário
+		atualizar("\"0\"", "Aluguel").andExpect(status().isOk());
+
+		// Ação / Verificação
+		executar(MockMvcRequestBuilders.get(API + "/" + lancamento.getId())
+				.header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+			.andExpect(jsonPath("$.descricao").value("Aluguel"));
+	}
+
+	@Test
+	public void deveAtualizarQuandoOIfMatchForAVersaoAtual() throws Exception {
+		// Ação / Verificação
+		atualizar("\"0\"", "Aluguel")
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+		assertEquals("Aluguel", lancamentoRepository.findById(lancamento.getId()).get().getDescricao());
+	}
+
+	@Test
+	public void deveResponderPreCondicaoFalhouQuandoOIfMatchEstiverDesatualizado() throws Exception {
+		// Cenário
+		atualizar("\"0\"", "Aluguel").andExpect(status().isOk());
+
+		// Ação / Verificação
+		atualizar("\"0\"", "Condomínio").andExpect(status().isPreconditionFailed());
+		assertEquals("Aluguel", lancamentoRepository.findById(lancamento.getId()).get().getDescricao());
+		assertEquals(0, saldoService.reconciliar(usuario.getId()));
+	}
+
+	@Test
+	public void deveResponderConflitoQuandoOutraAtualizacaoChegarPrimeiroSemIfMatch() throws Exception {
+		// Cenário: outra transação grava entre a leitura da versão e o UPDATE
+		Long id = lancamento.getId();
+		Mockito.doAnswer(invocacao -> {
+			Object anterior = invocacao.callRealMethod();
+			jdbcTemplate.update("update financas.lancamento set versao = versao + 1 where id = ?", id);
+			return anterior;
+		}).when(saldoService).estornar(id);
+
+		// Ação / Verificação
+		atualizar(null, "Condomínio").andExpect(status().isConflict());
+		assertEquals(Optional.of(0L), lancamentoRepository.obterVersao(id));
+		assertEquals(0, saldoService.reconciliar(usuario.getId()));
+	}
+
+	@Test
+	public void deveAtualizarOStatusComUmUnicoUpdateQuandoOIfMatchForAVersaoAtual() throws Exception {
+		// Ação / Verificação
+		atualizarStatus("\"0\"", "EFETIVADO")
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+		Lancamento atualizado = lancamentoRepository.findById(lancamento.getId()).get();
+		assertEquals(StatusLancamento.EFETIVADO, atualizado.getStatus());
+		assertEquals(1L, atualizado.getVersao().longValue());
+		assertEquals(0, saldoService.reconciliar(usuario.getId()));
+	}
+
+	@Test
+	public void deveResponderPreCondicaoFalhouAoAtualizarOStatusComIfMatchDesatualizado() throws Exception {
+		// Cenário
+		atualizar("\"0\"", "Aluguel").andExpect(status().isOk());
+
+		// Ação / Verificação
+		atualizarStatus("\"0\"", "EFETIVADO").andExpect(status().isPreconditionFailed());
+		Lancamento atual = lancamentoRepository.findById(lancamento.getId()).get();
+		assertEquals(StatusLancamento.PENDENTE, atual.getStatus());
+		assertEquals(1L, atual.getVersao().longValue());
+		assertEquals(0, saldoService.reconciliar(usuario.getId()));
+	}
+
+	@Test
+	public void deveResponderConflitoQuandoOutraAtualizacaoChegarAntesDaRemocao() throws Exception {
+		// Cenário: outra transação grava depois da leitura do lançamento
+		Long id = lancamento.getId();
+		Mockito.doAnswer(invocacao -> {
+			Object anterior = invocacao.callRealMethod();
+			jdbcTemplate.update("update financas.lancamento set versao = versao + 1 where id = ?", id);
+			return anterior;
+		}).when(saldoService).estornar(id);
+
+		// Ação / Verificação
+		executar(MockMvcRequestBuilders.delete(API + "/" + id)).andExpect(status().isConflict());
+		assertTrue(lancamentoRepository.findById(id).isPresent());
+		assertEquals(0, saldoService.reconciliar(usuario.getId()));
+	}
+
+	private ResultActions atualizarStatus(String ifMatch, String status) throws Exception {
+		return executar(MockMvcRequestBuilders.put(API + "/" + lancamento.getId() + "/atualiza-status")
+				.header(HttpHeaders.IF_MATCH, ifMatch)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"" + status + "\"}"));
+	}
+
+	private ResultActions atualizar(String ifMatch, String descricao) throws Exception {
+		String json = "{\"descricao\":\"" + descricao + "\",\"mes\":1,\"ano\":2019,\"valor\":" + BigDecimal.TEN
+				+ ",\"usuario\":" + usuario.getId() + ",\"tipo\":\"RECEITA\",\"status\":\"PENDENTE\"}";
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.put(API + "/" + lancamento.getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(json);
+		if (ifMatch != null) {
+			request.header(HttpHeaders.IF_MATCH, ifMatch);
+		}
+		return executar(request);
+	}
+
+	private ResultActions executar(MockHttpServletRequestBuilder request)
+			throws Exception {
+		return mvc.perform(request.header("Authorization", token));
+	}
+}
@@ -21,6 +21,7 @@ import com.joabss.financecontrol.exception.ErroAutenticacao;
 import com.joabss.financecontrol.exception.RegraNegocioException;
 import com.joabss.financecontrol.model.entity.Usuario;
 import com.joabss.financecontrol.service.LancamentoService;
+import com.joabss.financecontrol.service.RecorrenciaService;
 import com.joabss.financecontrol.service.UsuarioService;
 
 @ExtendWith(SpringExtension.class)
@@ -41,6 +42,9 @@ public class UsuarioControllerTest {
 	@MockBean
 	LancamentoService lancamentoService;
 
+	@MockBean
+	RecorrenciaService recorrenciaService;
+
 	@Test
 	public void deveAutenticarUmUsuario() throws Exception {
 		// cenario
@@ -0,0 +1,63 @@
+package com.joabss.financecontrol.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.joabss.financecontrol.model.repository.EventoLancamentoRepository;
+import com.joabss.financecontrol.model.repository.ParcelamentoRepository;
+import com.joabss.financecontrol.model.repository.RecorrenciaRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:metricas;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas",
+		"saldo.reconciliacao.na-inicializacao=false",
+		"jwt.principal.origem=claims" })
+public class MetricasRepositorioAspectTest {
+
+	@Autowired
+	MeterRegistry registry;
+
+	@Autowired
+	EventoLancamentoRepository eventoLancamentoRepository;
+
+	@Autowired
+	ParcelamentoRepository parcelamentoRepository;
+
+	@Autowired
+	RecorrenciaRepository recorrenciaRepository;
+
+	@Test
+	public void deveMedirAsChamadasATodosOsRepositoriosDaAplicacao() {
+		// Ação
+		eventoLancamentoRepository.count();
+		parcelamentoRepository.findById(1L);
+		recorrenciaRepository.count();
+
+		// Verificação
+		assertEquals(1, invocacoes("EventoLancamentoRepository", "count").count());
+		assertEquals(1, invocacoes("ParcelamentoRepository", "findById").count());
+		assertEquals(1, invocacoes("RecorrenciaRepository", "count").count());
+	}
+
+	private Timer invocacoes(String repositorio, String metodo) {
+		Timer timer = registry.find("spring.data.repository.invocations")
+				.tag("repository", repositorio)
+				.tag("method", metodo)
+				.timer();
+		assertNotNull(timer, repositorio + "." + metodo);
+		return timer;
+	}
+}
@@ -0,0 +1,120 @@
+package com.joabss.financecontrol.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.joabss.financecontrol.model.entity.EventoLancamento;
+import com.joabss.financecontrol.model.enums.TipoEventoLancamento;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class EventoLancamentoRepositoryTest {
+
+	@Autowired
+	EventoLancamentoRepository repository;
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	@Test
+	public void deveBuscarOsEventosMaisAntigosLimitadosAoLote() {
+		// Cenário
+		EventoLancamento primeiro = entityManager.persist(criarEvento(10L));
+		EventoLancamento segundo = entityManager.persist(criarEvento(11L));
+		entityManager.persist(criarEvento(12L));
+		entityManager.flush();
+		entityManager.clear();
+
+		// Ação
+		List<EventoLancamento> pendentes = repository.buscarPendentes(10, PageRequest.of(0, 2));
+
+		// Verificação
+		assertEquals(2, pendentes.size());
+		assertEquals(primeiro.getId(), pendentes.get(0).getId());
+		assertEquals(segundo.getId(), pendentes.get(1).getId());
+	}
+
+	@Test
+	public void deveRemoverOsEventosEntregues() {
+		// Cenário
+		entityManager.persist(criarEvento(10L));
+		entityManager.persist(criarEvento(11L));
+		EventoLancamento restante = entityManager.persist(criarEvento(12L));
+		entityManager.flush();
+
+		// Ação
+		repository.deleteInBatch(repository.buscarPendentes(10, PageRequest.of(0, 2)));
+		entityManager.clear();
+
+		// Verificação
+		List<Long> ids = repository.findAll().stream().map(EventoLancamento::getId).collect(Collectors.toList());
+		assertEquals(1, ids.size());
+		assertEquals(restante.getId(), ids.get(0));
+	}
+
+	@Test
+	public void naoDeveBuscarOsEventosQueEsgotaramAsTentativas() {
+		// Cenário
+		EventoLancamento esgotado = criarEvento(10L);
+		esgotado.setTentativas(3);
+		entityManager.persist(esgotado);
+		EventoLancamento pendente = entityManager.persist(criarEvento(11L));
+		entityManager.flush();
+		entityManager.clear();
+
+		// Ação
+		List<EventoLancamento> pendentes = repository.buscarPendentes(3, PageRequest.of(0, 2));
+
+		// Verificação
+		assertEquals(1, pendentes.size());
+		assertEquals(pendente.getId(), pendentes.get(0).getId());
+		assertFalse(repository.bloquearPendente(esgotado.getId(), 3).isPresent());
+		assertTrue(repository.bloquearPendente(pendente.getId(), 3).isPresent());
+	}
+
+	@Test
+	public void deveRegistrarAFalhaDeEntrega() {
+		// Cenário
+		EventoLancamento evento = entityManager.persist(criarEvento(10L));
+		entityManager.flush();
+
+		// Ação
+		repository.registrarFalha(evento.getId(), "falhou");
+		entityManager.clear();
+
+		// Verificação
+		EventoLancamento atualizado = repository.findById(evento.getId()).get();
+		assertEquals(1, atualizado.getTentativas().intValue());
+		assertEquals("falhou", atualizado.getErro());
+	}
+
+	private EventoLancamento criarEvento(Long idLancamento) {
+		return EventoLancamento.builder()
+				.tipoEvento(TipoEventoLancamento.CRIADO)
+				.idLancamento(idLancamento)
+				.idUsuario(1L)
+				.descricao("lancamento " + idLancamento)
+				.ano(2019)
+				.mes(1)
+				.dataCriacao(LocalDateTime.now())
+				.build();
+	}
+}
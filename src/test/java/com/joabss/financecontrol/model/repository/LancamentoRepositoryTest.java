@@ -2,13 +2,21 @@ package com.joabss.financecontrol.model.repository;
 
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.PersistenceUnitUtil;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,7 +28,11 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.joabss.financecontrol.api.dto.LancamentoDTO;
 import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.Parcelamento;
+import com.joabss.financecontrol.model.entity.SaldoMensal;
+import com.joabss.financecontrol.model.entity.Usuario;
 import com.joabss.financecontrol.model.enums.StatusLancamento;
 import com.joabss.financecontrol.model.enums.TipoLancamento;
 
@@ -82,6 +94,39 @@ public class LancamentoRepositoryTest {
 		assertEquals(lancamentoAtualizado.getStatus(), StatusLancamento.CANCELADO);
 	}
 
+	@Test
+	public void deveAtualizarOLancamentoSomenteNaVersaoInformada() {
+		// Cenário
+		Lancamento lancamento = criarEPersistirUmLancamento();
+		entityManager.flush();
+		entityManager.clear();
+
+		Lancamento alterado = Lancamento.builder()
+				.id(lancamento.getId())
+				.descricao("Outra descrição")
+				.mes(lancamento.getMes())
+				.ano(lancamento.getAno())
+				.valor(BigDecimal.TEN)
+				.usuario(lancamento.getUsuario())
+				.tipo(lancamento.getTipo())
+				.status(StatusLancamento.EFETIVADO)
+				.versao(lancamento.getVersao())
+				.build();
+
+		// Ação
+		int naVersaoAtual = repository.atualizar(alterado);
+		int naVersaoAnterior = repository.atualizar(alterado);
+		entityManager.clear();
+
+		// Verificação
+		assertEquals(1, naVersaoAtual);
+		assertEquals(0, naVersaoAnterior);
+		Lancamento encontrado = entityManager.find(Lancamento.class, lancamento.getId());
+		assertEquals("Outra descrição", encontrado.getDescricao());
+		assertEquals(StatusLancamento.EFETIVADO, encontrado.getStatus());
+		assertEquals(lancamento.getVersao() + 1, encontrado.getVersao());
+	}
+
 	@Test
 	public void deveBuscarUmLancamentoPorIdobterPorId() {
 		// Cenário
@@ -94,6 +139,312 @@ public class LancamentoRepositoryTest {
 		assertTrue(lancamentoEncontrado.isPresent());
 	}
 
+	@Test
+	public void deveBuscarPaginasPorPosicaoOrdenadasPorAnoMesEId() {
+		// Cenário
+		Usuario usuario = entityManager.persist(
+				Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+		Lancamento marco = criarEPersistirUmLancamento(usuario, 2019, 3);
+		Lancamento janeiro = criarEPersistirUmLancamento(usuario, 2019, 1);
+		Lancamento dezembro = criarEPersistirUmLancamento(usuario, 2018, 12);
+		Lancamento outroJaneiro = criarEPersistirUmLancamento(usuario, 2019, 1);
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+
+		// Ação
+		List<Lancamento> primeiraPagina = repository.buscarPagina(filtro, null, 2);
+		List<Lancamento> segundaPagina = repository.buscarPagina(filtro, primeiraPagina.get(1), 2);
+
+		// Verificação
+		assertEquals(Arrays.asList(dezembro, janeiro), primeiraPagina);
+		assertEquals(Arrays.asList(outroJaneiro, marco), segundaPagina);
+	}
+
+	@Test
+	public void deveBuscarPaginaFiltrandoPorDescricaoSemDiferenciarMaiusculas() {
+		// Cenário
+		Usuario usuario = entityManager.persist(
+				Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+		Lancamento aluguel = criarEPersistirUmLancamento(usuario, 2019, 1);
+		aluguel.setDescricao("Aluguel de Janeiro");
+		criarEPersistirUmLancamento(usuario, 2019, 1);
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		filtro.setDescricao("ALUGUEL");
+
+		// Ação
+		List<Lancamento> pagina = repository.buscarPagina(filtro, null, 10);
+
+		// Verificação
+		assertEquals(Arrays.asList(aluguel), pagina);
+	}
+
+	@Test
+	public void deveBuscarPorDescricaoSemDiferenciarAcentosEFiltrandoPeloTipo() {
+		// Cenário
+		Usuario usuario = entityManager.persist(
+				Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+		Lancamento receita = criarEPersistirUmLancamento(usuario, 2019, 1);
+		receita.setDescricao("Restituição do IR");
+		Lancamento despesa = criarEPersistirUmLancamento(usuario, 2019, 1);
+		despesa.setDescricao("Restituicao parcial");
+		despesa.setTipo(TipoLancamento.DESPESA);
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		filtro.setDescricao("  RESTITUIÇÃO ");
+		filtro.setTipo(TipoLancamento.RECEITA);
+
+		// Ação
+		List<Lancamento> encontrados = repository.buscar(filtro, null);
+
+		// Verificação
+		assertEquals(Arrays.asList(receita), encontrados);
+	}
+
+	@Test
+	public void deveManterOFiltroDeDescricaoAoBuscarPelosIdsCandidatos() {
+		// Cenário
+		Usuario usuario = entityManager.persist(
+				Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+		Lancamento aluguel = criarEPersistirUmLancamento(usuario, 2019, 1);
+		aluguel.setDescricao("Aluguel");
+		Lancamento alterado = criarEPersistirUmLancamento(usuario, 2019, 1);
+		alterado.setDescricao("Condomínio");
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		filtro.setDescricao("aluguel");
+
+		// Ação
+		List<Lancamento> encontrados = repository.buscar(filtro, Arrays.asList(aluguel.getId(), alterado.getId()));
+
+		// Verificação
+		assertEquals(Arrays.asList(aluguel), encontrados);
+	}
+
+	@Test
+	public void deveBuscarLancamentosProjetadosNoDTOSemCarregarOUsuario() {
+		// Cenário
+		Usuario usuario = entityManager.persist(
+				Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+		Lancamento fevereiro = criarEPersistirUmLancamento(usuario, 2019, 2);
+		Lancamento janeiro = criarEPersistirUmLancamento(usuario, 2019, 1);
+		entityManager.flush();
+		entityManager.clear();
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+
+		// Ação
+		List<LancamentoDTO> lancamentos = repository.buscarDTO(filtro, null);
+
+		// Verificação
+		assertEquals(2, lancamentos.size());
+		assertEquals(janeiro.getId(), lancamentos.get(0).getId());
+		assertEquals(fevereiro.getId(), lancamentos.get(1).getId());
+		assertEquals(usuario.getId(), lancamentos.get(0).getUsuario());
+		assertEquals("RECEITA", lancamentos.get(0).getTipo());
+		assertEquals("PENDENTE", lancamentos.get(0).getStatus());
+		assertFalse(entityManager.getEntityManager().contains(janeiro));
+	}
+
+	@Test
+	public void deveObterLancamentoProjetadoNoDTOPorId() {
+		// Cenário
+		Lancamento lancamento = criarEPersistirUmLancamento();
+
+		// Ação
+		Optional<LancamentoDTO> dto = repository.obterDTOPorId(lancamento.getId());
+
+		// Verificação
+		assertTrue(dto.isPresent());
+		assertEquals(lancamento.getDescricao(), dto.get().getDescricao());
+		assertEquals(0, lancamento.getValor().compareTo(dto.get().getValor()));
+	}
+
+	@Test
+	public void deveExportarLancamentosDoUsuarioEmOrdemCronologica() {
+		// Cenário
+		Usuario usuario = entityManager.persist(
+				Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+		Lancamento marco = criarEPersistirUmLancamento(usuario, 2019, 3);
+		Lancamento janeiro = criarEPersistirUmLancamento(usuario, 2019, 1);
+		criarEPersistirUmLancamento();
+		entityManager.flush();
+		entityManager.clear();
+
+		// Ação
+		List<Long> ids;
+		try (Stream<LancamentoDTO> lancamentos = repository.exportarPorUsuario(usuario.getId())) {
+			ids = lancamentos.map(LancamentoDTO::getId).collect(Collectors.toList());
+		}
+
+		// Verificação
+		assertEquals(Arrays.asList(janeiro.getId(), marco.getId()), ids);
+	}
+
+	@Test
+	public void deveCarregarOUsuarioDoLancamentoSobDemanda() {
+		// Cenário
+		Usuario usuario = entityManager.persist(
+				Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+		Lancamento lancamento = criarEPersistirUmLancamento(usuario, 2019, 1);
+		entityManager.flush();
+		entityManager.clear();
+
+		// Ação
+		Lancamento encontrado = repository.findById(lancamento.getId()).get();
+
+		// Verificação
+		PersistenceUnitUtil util = entityManager.getEntityManager().getEntityManagerFactory().getPersistenceUnitUtil();
+		assertFalse(util.isLoaded(encontrado, "usuario"));
+		assertEquals(usuario.getId(), encontrado.getUsuario().getId());
+	}
+
+	@Test
+	public void deveInserirLancamentosEmLoteGerandoIdsDaSequencia() {
+		// Cenário
+		List<Lancamento> lancamentos = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			lancamentos.add(criarLancamento());
+		}
+
+		// Ação
+		List<Lancamento> salvos = repository.inserirEmLote(lancamentos);
+
+		// Verificação
+		assertEquals(120, salvos.stream().map(Lancamento::getId).distinct().count());
+		assertEquals(120, repository.count());
+	}
+
+	@Test
+	public void deveAtualizarStatusDosLancamentosDoFiltroAgrupandoOsMovimentos() {
+		// Cenário
+		Usuario usuario = entityManager.persist(
+				Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+		Lancamento primeiro = criarEPersistirUmLancamento(usuario, 2019, 1);
+		Lancamento segundo = criarEPersistirUmLancamento(usuario, 2019, 1);
+		Lancamento efetivado = criarEPersistirUmLancamento(usuario, 2019, 1);
+		efetivado.setStatus(StatusLancamento.EFETIVADO);
+		Lancamento outroMes = criarEPersistirUmLancamento(usuario, 2019, 2);
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		filtro.setAno(2019);
+		filtro.setMes(1);
+
+		// Ação
+		List<Long> bloqueados = repository.bloquearParaStatus(filtro, null, StatusLancamento.EFETIVADO);
+		List<SaldoMensal> movimentos = repository.agruparMovimentosParaStatus(filtro, bloqueados, StatusLancamento.EFETIVADO);
+		int atualizados = repository.atualizarStatus(filtro, bloqueados, StatusLancamento.EFETIVADO);
+
+		// Verificação
+		assertEquals(Arrays.asList(primeiro.getId(), segundo.getId()), bloqueados);
+		assertEquals(1, movimentos.size());
+		assertEquals(StatusLancamento.PENDENTE, movimentos.get(0).getStatus());
+		assertEquals(2L, movimentos.get(0).getQuantidade());
+		assertEquals(0, BigDecimal.valueOf(20).compareTo(movimentos.get(0).getValor()));
+		assertEquals(2, atualizados);
+		assertEquals(StatusLancamento.EFETIVADO, repository.findById(primeiro.getId()).get().getStatus());
+		assertEquals(StatusLancamento.EFETIVADO, repository.findById(segundo.getId()).get().getStatus());
+		assertEquals(StatusLancamento.PENDENTE, repository.findById(outroMes.getId()).get().getStatus());
+		assertEquals(primeiro.getVersao() + 1, repository.findById(primeiro.getId()).get().getVersao());
+	}
+
+	@Test
+	public void deveAtualizarStatusApenasDosIdsInformados() {
+		// Cenário
+		Lancamento primeiro = criarEPersistirUmLancamento();
+		Lancamento segundo = criarEPersistirUmLancamento();
+
+		// Ação
+		int atualizados = repository.atualizarStatus(new Lancamento(), Arrays.asList(primeiro.getId()),
+				StatusLancamento.CANCELADO);
+
+		// Verificação
+		assertEquals(1, atualizados);
+		assertEquals(StatusLancamento.CANCELADO, repository.findById(primeiro.getId()).get().getStatus());
+		assertEquals(StatusLancamento.PENDENTE, repository.findById(segundo.getId()).get().getStatus());
+	}
+
+	@Test
+	public void deveRedistribuirOValorApenasDasParcelasInformadasComUmUnicoUpdate() {
+		// Cenário
+		Usuario usuario = entityManager.persist(
+				Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+		Parcelamento parcelamento = entityManager.persist(Parcelamento.builder()
+				.usuario(usuario).descricao("Notebook").valorTotal(BigDecimal.valueOf(40))
+				.quantidadeParcelas(4).tipo(TipoLancamento.DESPESA).mesInicial(1).anoInicial(2019).build());
+		Lancamento paga = criarEPersistirUmaParcela(usuario, parcelamento, 1);
+		paga.setStatus(StatusLancamento.EFETIVADO);
+		Lancamento segunda = criarEPersistirUmaParcela(usuario, parcelamento, 2);
+		Lancamento terceira = criarEPersistirUmaParcela(usuario, parcelamento, 3);
+		Lancamento quarta = criarEPersistirUmaParcela(usuario, parcelamento, 4);
+		criarEPersistirUmLancamento(usuario, 2019, 2);
+
+		// Ação
+		List<Long> ids = Arrays.asList(segunda.getId(), terceira.getId());
+		List<SaldoMensal> movimentos = repository.agruparMovimentosPorIds(ids);
+		Integer primeira = repository.obterPrimeiraParcela(ids);
+		int atualizados = repository.atualizarValorParcelas(ids, primeira, new BigDecimal("3.34"), new BigDecimal("3.33"));
+
+		// Verificação
+		assertEquals(2, movimentos.size());
+		assertEquals(2, primeira.intValue());
+		assertEquals(2, atualizados);
+		assertEquals(0, BigDecimal.TEN.compareTo(repository.findById(paga.getId()).get().getValor()));
+		assertEquals(0, new BigDecimal("3.34").compareTo(repository.findById(segunda.getId()).get().getValor()));
+		assertEquals(0, new BigDecimal("3.33").compareTo(repository.findById(terceira.getId()).get().getValor()));
+		assertEquals(0, BigDecimal.TEN.compareTo(repository.findById(quarta.getId()).get().getValor()));
+		assertEquals(segunda.getVersao() + 1, repository.findById(segunda.getId()).get().getVersao());
+	}
+
+	@Test
+	public void deveFiltrarOsLancamentosPeloParcelamento() {
+		// Cenário
+		Usuario usuario = entityManager.persist(
+				Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+		Parcelamento parcelamento = entityManager.persist(Parcelamento.builder()
+				.usuario(usuario).descricao("Notebook").valorTotal(BigDecimal.valueOf(20))
+				.quantidadeParcelas(2).tipo(TipoLancamento.DESPESA).mesInicial(1).anoInicial(2019).build());
+		Lancamento primeira = criarEPersistirUmaParcela(usuario, parcelamento, 1);
+		Lancamento segunda = criarEPersistirUmaParcela(usuario, parcelamento, 2);
+		criarEPersistirUmLancamento(usuario, 2019, 1);
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		filtro.setParcelamento(parcelamento);
+
+		// Ação
+		List<LancamentoDTO> parcelas = repository.buscarDTO(filtro, null);
+
+		// Verificação
+		assertEquals(Arrays.asList(primeira.getId(), segunda.getId()),
+				parcelas.stream().map(LancamentoDTO::getId).collect(Collectors.toList()));
+	}
+
+	private Lancamento criarEPersistirUmaParcela(Usuario usuario, Parcelamento parcelamento, int parcela) {
+		Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setParcelamento(parcelamento);
+		lancamento.setParcela(parcela);
+		lancamento.setMes(parcela);
+		entityManager.persist(lancamento);
+		return lancamento;
+	}
+
+	private Lancamento criarEPersistirUmLancamento(Usuario usuario, int ano, int mes) {
+		Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setAno(ano);
+		lancamento.setMes(mes);
+		entityManager.persist(lancamento);
+		return lancamento;
+	}
+
 	private Lancamento criarEPersistirUmLancamento() {
 		Lancamento lancamento = criarLancamento();
 		entityManager.persist(lancamento);
@@ -0,0 +1,52 @@
+package com.joabss.financecontrol.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+public class MigracaoSaldoMensalTest {
+
+	@Test
+	public void devePopularOSaldoMensalDeUmaBaseQueJaTinhaLancamentos() {
+		// Cenário
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:legado;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas", "sa", "sa");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("create table financas.usuario (id bigserial primary key, nome varchar(255),"
+				+ " email varchar(255), senha varchar(255))");
+		jdbcTemplate.execute("create table financas.lancamento (id bigserial primary key, descricao varchar(255),"
+				+ " mes integer, ano integer, id_usuario bigint references financas.usuario (id), valor numeric(19, 2),"
+				+ " data_cadastro timestamp, tipo varchar(255), status varchar(255))");
+		jdbcTemplate.update("insert into financas.usuario (id, nome) values (1, 'usuario')");
+		jdbcTemplate.update("insert into financas.lancamento (id_usuario, ano, mes, valor, tipo, status)"
+				+ " values (1, 2019, 1, 100.00, 'RECEITA', 'EFETIVADO'), (1, 2019, 1, 50.50, 'RECEITA', 'EFETIVADO'),"
+				+ " (1, 2019, 1, 30.00, 'DESPESA', 'PENDENTE')");
+
+		// Ação
+		Flyway.configure()
+				.dataSource(dataSource)
+				.schemas("financas")
+				.baselineOnMigrate(true)
+				.baselineVersion("0")
+				.load()
+				.migrate();
+
+		// Verificação
+		List<Map<String, Object>> saldos = jdbcTemplate.queryForList("select tipo, valor, quantidade"
+				+ " from financas.saldo_mensal where id_usuario = 1 and ano = 2019 and mes = 1 order by tipo");
+		assertEquals(2, saldos.size());
+		assertEquals("DESPESA", saldos.get(0).get("tipo"));
+		assertEquals(new BigDecimal("30.00"), saldos.get(0).get("valor"));
+		assertEquals(1L, ((Number) saldos.get(0).get("quantidade")).longValue());
+		assertEquals("RECEITA", saldos.get(1).get("tipo"));
+		assertEquals(new BigDecimal("150.50"), saldos.get(1).get("valor"));
+		assertEquals(2L, ((Number) saldos.get(1).get("quantidade")).longValue());
+	}
+}
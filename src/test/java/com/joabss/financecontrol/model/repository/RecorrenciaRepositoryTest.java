@@ -0,0 +1,117 @@
+package com.joabss.financecontrol.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.joabss.financecontrol.model.entity.Recorrencia;
+import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.model.enums.PeriodicidadeRecorrencia;
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class RecorrenciaRepositoryTest {
+
+	@Autowired
+	RecorrenciaRepository repository;
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	@Test
+	public void deveBuscarParaMaterializarApenasRegrasComOcorrenciaAteOMes() {
+		// Cenário
+		Usuario usuario = entityManager.persist(criarUsuario("usuario@email.com"));
+		Recorrencia anoAnterior = entityManager.persist(criarRecorrencia(usuario, 2019, 12));
+		Recorrencia mesmoMes = entityManager.persist(criarRecorrencia(usuario, 2020, 2));
+		entityManager.persist(criarRecorrencia(usuario, 2020, 3));
+		entityManager.persist(criarRecorrencia(usuario, null, null));
+		entityManager.flush();
+		entityManager.clear();
+
+		// Ação
+		List<Long> ids = repository.buscarParaMaterializar(2020, 2, 0L, PageRequest.of(0, 10));
+		List<Long> seguintes = repository.buscarParaMaterializar(2020, 2, anoAnterior.getId(), PageRequest.of(0, 10));
+
+		// Verificação
+		assertEquals(Arrays.asList(anoAnterior.getId(), mesmoMes.getId()), ids);
+		assertEquals(Collections.singletonList(mesmoMes.getId()), seguintes);
+	}
+
+	@Test
+	public void deveBloquearParaMaterializarApenasUmaRegraComOcorrenciaAteOMes() {
+		// Cenário
+		Usuario usuario = entityManager.persist(criarUsuario("usuario@email.com"));
+		Recorrencia pendente = entityManager.persist(criarRecorrencia(usuario, 2020, 2));
+		Recorrencia futura = entityManager.persist(criarRecorrencia(usuario, 2020, 3));
+		entityManager.flush();
+		entityManager.clear();
+
+		// Ação
+		Optional<Recorrencia> bloqueada = repository.bloquearParaMaterializar(pendente.getId(), 2020, 2);
+
+		// Verificação
+		assertTrue(bloqueada.isPresent());
+		assertEquals(pendente.getId(), bloqueada.get().getId());
+		assertFalse(repository.bloquearParaMaterializar(futura.getId(), 2020, 2).isPresent());
+	}
+
+	@Test
+	public void deveBuscarParaProjecaoApenasRegrasDoUsuario() {
+		// Cenário
+		Usuario usuario = entityManager.persist(criarUsuario("usuario@email.com"));
+		Usuario outro = entityManager.persist(criarUsuario("outro@email.com"));
+		Recorrencia doUsuario = entityManager.persist(criarRecorrencia(usuario, 2020, 5));
+		entityManager.persist(criarRecorrencia(outro, 2020, 5));
+		entityManager.persist(criarRecorrencia(usuario, 2021, 1));
+		entityManager.flush();
+		entityManager.clear();
+
+		// Ação
+		List<Recorrencia> recorrencias = repository.buscarParaProjecao(usuario.getId(), 2020, 12);
+
+		// Verificação
+		assertEquals(1, recorrencias.size());
+		assertEquals(doUsuario.getId(), recorrencias.get(0).getId());
+	}
+
+	private Usuario criarUsuario(String email) {
+		return Usuario.builder().nome("usuario").email(email).senha("senha").build();
+	}
+
+	public static Recorrencia criarRecorrencia(Usuario usuario, Integer anoProximo, Integer mesProximo) {
+		return Recorrencia.builder()
+				.usuario(usuario)
+				.descricao("Aluguel")
+				.valor(BigDecimal.valueOf(100))
+				.tipo(TipoLancamento.DESPESA)
+				.periodicidade(PeriodicidadeRecorrencia.MENSAL)
+				.mesInicial(1)
+				.anoInicial(2019)
+				.mesProximo(mesProximo)
+				.anoProximo(anoProximo)
+				.dataCadastro(LocalDate.now())
+				.build();
+	}
+}
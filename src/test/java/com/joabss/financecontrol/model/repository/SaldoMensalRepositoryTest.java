@@ -0,0 +1,172 @@
+package com.joabss.financecontrol.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.SaldoMensal;
+import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.model.enums.StatusLancamento;
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+import com.joabss.financecontrol.model.projection.ResumoSaldo;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class SaldoMensalRepositoryTest {
+
+	@Autowired
+	SaldoMensalRepository repository;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	@Test
+	public void deveAcumularValoresNoSaldoMensalExistente() {
+		// Cenário
+		entityManager.persist(criarSaldo(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100));
+
+		// Ação
+		repository.acumular(criarSaldo(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 50));
+		entityManager.clear();
+
+		// Verificação
+		List<SaldoMensal> saldos = repository.findByIdUsuario(1L);
+		assertEquals(1, saldos.size());
+		assertEquals(0, BigDecimal.valueOf(150).compareTo(saldos.get(0).getValor()));
+		assertEquals(2L, saldos.get(0).getQuantidade());
+	}
+
+	@Test
+	public void deveCriarSaldoMensalAoAcumularQuandoNaoExistir() {
+		// Ação
+		repository.acumular(criarSaldo(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 50));
+		entityManager.clear();
+
+		// Verificação
+		List<SaldoMensal> saldos = repository.findByIdUsuario(1L);
+		assertEquals(1, saldos.size());
+		assertEquals(0, BigDecimal.valueOf(50).compareTo(saldos.get(0).getValor()));
+		assertEquals(1L, saldos.get(0).getQuantidade());
+	}
+
+	@Test
+	public void naoDeveSobrescreverSaldoMensalExistenteAoInserirSeAusente() {
+		// Cenário
+		entityManager.persist(criarSaldo(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100));
+
+		// Ação
+		int inseridos = repository.inserirSeAusente(criarSaldo(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 50));
+		int inseridosOutroStatus = repository.inserirSeAusente(criarSaldo(TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 50));
+		entityManager.clear();
+
+		// Verificação
+		assertEquals(0, inseridos);
+		assertEquals(1, inseridosOutroStatus);
+		assertEquals(2, repository.findByIdUsuario(1L).size());
+		assertEquals(0, BigDecimal.valueOf(100).compareTo(repository.obterSaldosAte(1L, 2019).stream()
+				.filter(s -> s.getStatus() == StatusLancamento.EFETIVADO).findFirst().get().getValor()));
+	}
+
+	@Test
+	public void deveObterResumoSeparandoEfetivadosEPendentes() {
+		// Cenário
+		entityManager.persist(criarSaldo(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100));
+		entityManager.persist(criarSaldo(TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 30));
+		entityManager.persist(criarSaldo(TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 40));
+		entityManager.persist(criarSaldo(TipoLancamento.RECEITA, StatusLancamento.CANCELADO, 500));
+
+		// Ação
+		ResumoSaldo resumo = repository.obterResumoPorUsuario(1L, TipoLancamento.RECEITA, TipoLancamento.DESPESA,
+				StatusLancamento.EFETIVADO, StatusLancamento.PENDENTE);
+
+		// Verificação
+		assertEquals(0, BigDecimal.valueOf(100).compareTo(resumo.getReceitas()));
+		assertEquals(0, BigDecimal.valueOf(30).compareTo(resumo.getDespesas()));
+		assertEquals(0, BigDecimal.valueOf(70).compareTo(resumo.getSaldo()));
+		assertEquals(0, BigDecimal.ZERO.compareTo(resumo.getReceitasPendentes()));
+		assertEquals(0, BigDecimal.valueOf(40).compareTo(resumo.getDespesasPendentes()));
+	}
+
+	@Test
+	public void deveObterResumoZeradoQuandoNaoHouverSaldo() {
+		// Ação
+		ResumoSaldo resumo = repository.obterResumoPorUsuario(1L, TipoLancamento.RECEITA, TipoLancamento.DESPESA,
+				StatusLancamento.EFETIVADO, StatusLancamento.PENDENTE);
+
+		// Verificação
+		assertEquals(0, BigDecimal.ZERO.compareTo(resumo.getSaldo()));
+	}
+
+	@Test
+	public void deveAgruparLancamentosPorMesTipoEStatus() {
+		// Cenário
+		Usuario usuario = entityManager.persist(
+				Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+		Lancamento primeiro = LancamentoRepositoryTest.criarLancamento();
+		primeiro.setUsuario(usuario);
+		Lancamento segundo = LancamentoRepositoryTest.criarLancamento();
+		segundo.setUsuario(usuario);
+		entityManager.persist(primeiro);
+		entityManager.persist(segundo);
+
+		// Ação
+		List<SaldoMensal> agrupados = lancamentoRepository.agruparSaldoMensalPorUsuario(usuario.getId());
+
+		// Verificação
+		assertEquals(1, agrupados.size());
+		assertEquals(0, BigDecimal.valueOf(20).compareTo(agrupados.get(0).getValor()));
+		assertEquals(2L, agrupados.get(0).getQuantidade());
+	}
+
+	@Test
+	public void deveObterSaldosAteOAnoFinalEmOrdemCronologicaSemTotaisZerados() {
+		// Cenário
+		SaldoMensal fevereiro = criarSaldo(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100);
+		fevereiro.setMes(2);
+		SaldoMensal janeiro = criarSaldo(TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 30);
+		SaldoMensal estornado = criarSaldo(TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 0);
+		estornado.setQuantidade(0L);
+		SaldoMensal anoSeguinte = criarSaldo(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 10);
+		anoSeguinte.setAno(2020);
+		entityManager.persist(fevereiro);
+		entityManager.persist(janeiro);
+		entityManager.persist(estornado);
+		entityManager.persist(anoSeguinte);
+
+		// Ação
+		List<SaldoMensal> saldos = repository.obterSaldosAte(1L, 2019);
+
+		// Verificação
+		assertEquals(Arrays.asList(janeiro, fevereiro), saldos);
+	}
+
+	private SaldoMensal criarSaldo(TipoLancamento tipo, StatusLancamento status, long valor) {
+		return SaldoMensal.builder()
+				.idUsuario(1L)
+				.ano(2019)
+				.mes(1)
+				.tipo(tipo)
+				.status(status)
+				.valor(BigDecimal.valueOf(valor))
+				.quantidade(1L)
+				.build();
+	}
+}
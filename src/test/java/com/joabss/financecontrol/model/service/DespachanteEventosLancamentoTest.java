@@ -0,0 +1,133 @@
+package com.joabss.financecontrol.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.joabss.financecontrol.model.entity.EventoLancamento;
+import com.joabss.financecontrol.model.enums.TipoEventoLancamento;
+import com.joabss.financecontrol.model.repository.EventoLancamentoRepository;
+import com.joabss.financecontrol.service.AssinanteEventosLancamento;
+import com.joabss.financecontrol.service.impl.DespachanteEventosLancamento;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = { "lancamento.eventos.lote=2", "lancamento.eventos.max-tentativas=3" })
+public class DespachanteEventosLancamentoTest {
+
+	@SpyBean
+	DespachanteEventosLancamento despachante;
+	@MockBean
+	EventoLancamentoRepository repository;
+	@MockBean
+	AssinanteEventosLancamento assinante;
+	@MockBean
+	PlatformTransactionManager transactionManager;
+
+	@Test
+	public void deveEntregarOsEventosEmLotesERemoverOsEntregues() {
+		// Cenário
+		List<EventoLancamento> primeiroLote = Arrays.asList(evento(1L), evento(2L));
+		List<EventoLancamento> segundoLote = Collections.singletonList(evento(3L));
+		Mockito.when(repository.buscarPendentes(Mockito.anyInt(), Mockito.any(Pageable.class))).thenReturn(primeiroLote, segundoLote);
+
+		// Ação
+		int despachados = despachante.despachar();
+
+		// Verificação
+		assertEquals(3, despachados);
+		Mockito.verify(assinante).processar(primeiroLote);
+		Mockito.verify(assinante).processar(segundoLote);
+		Mockito.verify(repository).deleteInBatch(primeiroLote);
+		Mockito.verify(repository).deleteInBatch(segundoLote);
+	}
+
+	@Test
+	public void naoDeveRemoverOsEventosQuandoUmAssinanteFalhar() {
+		// Cenário
+		EventoLancamento primeiro = evento(1L);
+		EventoLancamento segundo = evento(2L);
+		List<EventoLancamento> lote = Arrays.asList(primeiro, segundo);
+		Mockito.when(repository.buscarPendentes(Mockito.anyInt(), Mockito.any(Pageable.class))).thenReturn(lote);
+		Mockito.when(repository.bloquearPendente(1L, 3)).thenReturn(Optional.of(primeiro));
+		Mockito.when(repository.bloquearPendente(2L, 3)).thenReturn(Optional.of(segundo));
+		Mockito.doThrow(IllegalStateException.class).when(assinante).processar(Mockito.anyList());
+
+		// Ação
+		int despachados = despachante.despachar();
+
+		// Verificação
+		assertEquals(0, despachados);
+		Mockito.verify(repository, Mockito.never()).deleteInBatch(Mockito.any());
+		Mockito.verify(repository, Mockito.never()).delete(Mockito.any());
+		Mockito.verify(repository).registrarFalha(Mockito.eq(1L), Mockito.anyString());
+		Mockito.verify(repository).registrarFalha(Mockito.eq(2L), Mockito.anyString());
+		Mockito.verify(transactionManager, Mockito.times(3)).rollback(Mockito.any());
+	}
+
+	@Test
+	public void deveEntregarOsDemaisEventosQuandoUmEventoFalhar() {
+		// Cenário
+		EventoLancamento primeiro = evento(1L);
+		EventoLancamento segundo = evento(2L);
+		List<EventoLancamento> lote = Arrays.asList(primeiro, segundo);
+		Mockito.when(repository.buscarPendentes(Mockito.anyInt(), Mockito.any(Pageable.class))).thenReturn(lote);
+		Mockito.when(repository.bloquearPendente(1L, 3)).thenReturn(Optional.of(primeiro));
+		Mockito.when(repository.bloquearPendente(2L, 3)).thenReturn(Optional.of(segundo));
+		Mockito.doThrow(IllegalStateException.class).when(assinante).processar(lote);
+		Mockito.doThrow(IllegalStateException.class).when(assinante).processar(Collections.singletonList(primeiro));
+
+		// Ação
+		int despachados = despachante.despachar();
+
+		// Verificação
+		assertEquals(1, despachados);
+		Mockito.verify(assinante).processar(Collections.singletonList(segundo));
+		Mockito.verify(repository).delete(segundo);
+		Mockito.verify(repository, Mockito.never()).delete(primeiro);
+		Mockito.verify(repository).registrarFalha(Mockito.eq(1L), Mockito.contains("IllegalStateException"));
+		Mockito.verify(repository, Mockito.never()).registrarFalha(Mockito.eq(2L), Mockito.anyString());
+	}
+
+	@Test
+	public void naoDeveEntregarUmEventoQueNaoEstaMaisPendente() {
+		// Cenário
+		EventoLancamento evento = evento(1L);
+		List<EventoLancamento> lote = Collections.singletonList(evento);
+		Mockito.when(repository.buscarPendentes(Mockito.anyInt(), Mockito.any(Pageable.class))).thenReturn(lote);
+		Mockito.doThrow(IllegalStateException.class).when(assinante).processar(lote);
+		Mockito.when(repository.bloquearPendente(1L, 3)).thenReturn(Optional.empty());
+
+		// Ação
+		int despachados = despachante.despachar();
+
+		// Verificação
+		assertEquals(0, despachados);
+		Mockito.verify(assinante).processar(lote);
+		Mockito.verify(repository, Mockito.never()).delete(Mockito.any());
+		Mockito.verify(repository, Mockito.never()).registrarFalha(Mockito.any(), Mockito.any());
+	}
+
+	private EventoLancamento evento(Long id) {
+		return EventoLancamento.builder()
+				.id(id)
+				.idLancamento(id)
+				.idUsuario(1L)
+				.tipoEvento(TipoEventoLancamento.CRIADO)
+				.build();
+	}
+}
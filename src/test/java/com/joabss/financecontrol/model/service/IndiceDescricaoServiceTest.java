@@ -0,0 +1,126 @@
+package com.joabss.financecontrol.model.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.model.projection.DescricaoLancamento;
+import com.joabss.financecontrol.model.repository.EventoLancamentoRepository;
+import com.joabss.financecontrol.model.repository.LancamentoRepository;
+import com.joabss.financecontrol.service.impl.IndiceDescricaoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class IndiceDescricaoServiceTest {
+
+	// o índice é mantido entre os testes, por isso cada teste usa um usuário diferente
+	@SpyBean
+	IndiceDescricaoServiceImpl service;
+	@MockBean
+	LancamentoRepository repository;
+	@MockBean
+	EventoLancamentoRepository eventoRepository;
+
+	@Test
+	public void deveEncontrarDescricoesIgnorandoMaiusculasEAcentos() {
+		// Cenário
+		Mockito.when(repository.obterDescricoesPorUsuario(1L)).thenReturn(Arrays.asList(
+				descricao(1L, "Aluguel Março"),
+				descricao(2L, "Salário"),
+				descricao(3L, "Conta de luz")));
+
+		// Ação / Execução
+		Optional<Set<Long>> porTrigrama = service.buscar(1L, "MARCO");
+		Optional<Set<Long>> porTermoCurto = service.buscar(1L, "lá");
+		Optional<Set<Long>> inexistente = service.buscar(1L, "mercado");
+
+		// Verificação
+		assertThat(porTrigrama.get()).containsExactly(1L);
+		assertThat(porTermoCurto.get()).containsExactly(2L);
+		assertThat(inexistente.get()).isEmpty();
+	}
+
+	@Test
+	public void deveCarregarOIndiceDoUsuarioApenasUmaVez() {
+		// Cenário
+		Mockito.when(repository.obterDescricoesPorUsuario(2L)).thenReturn(Arrays.asList(descricao(2L, "Aluguel")));
+
+		// Ação / Execução
+		service.buscar(2L, "aluguel");
+		service.buscar(2L, "gue");
+
+		// Verificação
+		Mockito.verify(repository, Mockito.times(1)).obterDescricoesPorUsuario(2L);
+	}
+
+	@Test
+	public void deveManterOIndiceAtualizadoNasEscritas() {
+		// Cenário
+		Mockito.when(repository.obterDescricoesPorUsuario(3L)).thenReturn(Arrays.asList(descricao(1L, "Aluguel")));
+		service.buscar(3L, "aluguel");
+
+		Lancamento alterado = lancamento(1L, "Condomínio");
+		Lancamento novo = lancamento(2L, "Aluguel de garagem");
+
+		// Ação / Execução
+		service.indexar(alterado);
+		service.indexar(novo);
+
+		// Verificação
+		assertThat(service.buscar(3L, "aluguel").get()).containsExactly(2L);
+		assertThat(service.buscar(3L, "condominio").get()).containsExactly(1L);
+
+		service.remover(novo);
+		assertThat(service.buscar(3L, "aluguel").get()).isEmpty();
+	}
+
+	@Test
+	public void naoDeveResponderEnquantoHouverEventosDoUsuarioNaFila() {
+		// Cenário
+		Mockito.when(repository.obterDescricoesPorUsuario(4L)).thenReturn(Arrays.asList(descricao(1L, "Aluguel")));
+		Mockito.when(eventoRepository.existsByIdUsuario(4L)).thenReturn(true);
+
+		// Ação / Execução
+		Optional<Set<Long>> pendente = service.buscar(4L, "aluguel");
+		Mockito.when(eventoRepository.existsByIdUsuario(4L)).thenReturn(false);
+		Optional<Set<Long>> entregue = service.buscar(4L, "aluguel");
+
+		// Verificação
+		assertThat(pendente).isEmpty();
+		assertThat(entregue.get()).containsExactly(1L);
+	}
+
+	private Lancamento lancamento(Long id, String descricao) {
+		return Lancamento.builder()
+				.id(id)
+				.descricao(descricao)
+				.usuario(Usuario.builder().id(3L).build())
+				.build();
+	}
+
+	private DescricaoLancamento descricao(Long id, String descricao) {
+		return new DescricaoLancamento() {
+			@Override
+			public Long getId() {
+				return id;
+			}
+
+			@Override
+			public String getDescricao() {
+				return descricao;
+			}
+		};
+	}
+}
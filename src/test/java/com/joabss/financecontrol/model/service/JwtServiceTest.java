@@ -0,0 +1,98 @@
+package com.joabss.financecontrol.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.service.UsuarioAutenticado;
+import com.joabss.financecontrol.service.impl.JwtServiceImpl;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@Import(SimpleMeterRegistry.class)
+@TestPropertySource(properties = { "jwt.expiracao=30", "jwt.chave-assinatura=" + JwtServiceTest.CHAVE })
+public class JwtServiceTest {
+
+	static final String CHAVE = "Y2hhdmUgZGUgYXNzaW5hdHVyYSBkb3MgdGVzdGVz";
+
+	@SpyBean
+	JwtServiceImpl service;
+
+	@Test
+	public void deveVerificarOTokenGeradoRetornandoOUsuario() {
+		// Cenário
+		String token = service.gerarToken(criarUsuario());
+
+		// Ação
+		Optional<UsuarioAutenticado> usuario = service.verificar(token);
+
+		// Verificação
+		assertTrue(usuario.isPresent());
+		assertEquals(1L, usuario.get().getId());
+		assertEquals("nome", usuario.get().getNome());
+		assertEquals("email@email.com", usuario.get().getUsername());
+	}
+
+	@Test
+	public void deveVerificarAAssinaturaApenasUmaVezPorToken() {
+		// Cenário
+		Usuario usuario = criarUsuario();
+		usuario.setId(2L);
+		String token = service.gerarToken(usuario);
+
+		// Ação
+		service.verificar(token);
+		service.verificar(token);
+
+		// Verificação
+		Mockito.verify(service, Mockito.times(1)).obterClaims(token);
+	}
+
+	@Test
+	public void naoDeveVerificarTokenComAssinaturaAlterada() {
+		// Cenário
+		String token = service.gerarToken(criarUsuario());
+		String tokenAlterado = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+		// Ação
+		Optional<UsuarioAutenticado> usuario = service.verificar(tokenAlterado);
+
+		// Verificação
+		assertFalse(usuario.isPresent());
+	}
+
+	@Test
+	public void naoDeveVerificarTokenExpirado() {
+		// Cenário
+		String token = Jwts.builder()
+				.setSubject("email@email.com")
+				.setExpiration(new Date(System.currentTimeMillis() - 1000))
+				.signWith(SignatureAlgorithm.HS512, CHAVE)
+				.compact();
+
+		// Ação / Verificação
+		assertFalse(service.verificar(token).isPresent());
+		assertFalse(service.isTokenValido(token));
+	}
+
+	private Usuario criarUsuario() {
+		return Usuario.builder().id(1L).nome("nome").email("email@email.com").build();
+	}
+}
@@ -9,27 +9,41 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
-import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.joabss.financecontrol.api.dto.LancamentoDTO;
+import com.joabss.financecontrol.exception.ConflitoVersaoException;
 import com.joabss.financecontrol.exception.RegraNegocioException;
 import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.SaldoMensal;
 import com.joabss.financecontrol.model.entity.Usuario;
 import com.joabss.financecontrol.model.enums.StatusLancamento;
+import com.joabss.financecontrol.model.enums.TipoEventoLancamento;
 import com.joabss.financecontrol.model.enums.TipoLancamento;
 import com.joabss.financecontrol.model.repository.LancamentoRepository;
 import com.joabss.financecontrol.model.repository.LancamentoRepositoryTest;
+import com.joabss.financecontrol.service.IndiceDescricaoService;
+import com.joabss.financecontrol.service.SaldoService;
+import com.joabss.financecontrol.service.impl.CacheLancamentos;
+import com.joabss.financecontrol.service.impl.EventosLancamento;
 import com.joabss.financecontrol.service.impl.LancamentoServiceImpl;
 
 @ExtendWith(SpringExtension.class)
@@ -40,6 +54,14 @@ public class LancamentoServiceTest {
 	LancamentoServiceImpl service;
 	@MockBean
 	LancamentoRepository repository;
+	@MockBean
+	SaldoService saldoService;
+	@MockBean
+	IndiceDescricaoService indiceDescricaoService;
+	@MockBean
+	CacheLancamentos cacheLancamentos;
+	@MockBean
+	EventosLancamento eventosLancamento;
 
 	@Test
 	public void deveSalvarUmLancamento() {
@@ -58,6 +80,8 @@ public class LancamentoServiceTest {
 			assertNotNull(lancamento);
 			assertEquals(lancamento.getId(), lancamento.getId());
 			assertEquals(lancamento.getStatus(), StatusLancamento.PENDENTE);
+			Mockito.verify(saldoService).registrar(lancamentoSalvo);
+			Mockito.verify(eventosLancamento).registrar(TipoEventoLancamento.CRIADO, lancamentoSalvo);
 
 		});
 	}
@@ -77,6 +101,84 @@ public class LancamentoServiceTest {
 		Mockito.verify(repository, Mockito.never()).save(lancamentoParaSalvar);
 	}
 
+	@Test
+	public void deveSalvarLancamentosEmLote() {
+		// Cenário
+		Lancamento primeiro = LancamentoRepositoryTest.criarLancamento();
+		Lancamento segundo = LancamentoRepositoryTest.criarLancamento();
+		segundo.setStatus(StatusLancamento.EFETIVADO);
+		List<Lancamento> lancamentos = Arrays.asList(primeiro, segundo);
+		Mockito.when(repository.inserirEmLote(lancamentos)).thenReturn(lancamentos);
+
+		// Ação
+		List<Lancamento> salvos = service.salvarEmLote(lancamentos);
+
+		// Verificação
+		assertEquals(2, salvos.size());
+		assertEquals(StatusLancamento.PENDENTE, segundo.getStatus());
+		Mockito.verify(service, Mockito.never()).validar(Mockito.any(Lancamento.class));
+		Mockito.verify(saldoService).registrarTodos(lancamentos);
+		Mockito.verify(saldoService, Mockito.never()).registrar(Mockito.any(Lancamento.class));
+		Mockito.verify(eventosLancamento).registrarTodos(TipoEventoLancamento.CRIADO, lancamentos);
+	}
+
+	@Test
+	public void deveAtualizarStatusEmLoteTransferindoOSaldoUmaVez() {
+		// Cenário
+		List<Long> ids = Arrays.asList(1L, 2L, 3L);
+		Lancamento filtro = new Lancamento();
+		List<SaldoMensal> movimentos = Arrays.asList(new SaldoMensal(1L, 2019, 1, TipoLancamento.RECEITA,
+				StatusLancamento.PENDENTE, BigDecimal.valueOf(30), 3L));
+		Mockito.when(repository.bloquearParaStatus(filtro, ids, StatusLancamento.EFETIVADO)).thenReturn(ids);
+		Mockito.when(repository.agruparMovimentosParaStatus(filtro, ids, StatusLancamento.EFETIVADO)).thenReturn(movimentos);
+		Mockito.when(repository.atualizarStatus(filtro, ids, StatusLancamento.EFETIVADO)).thenReturn(3);
+		List<Lancamento> atualizadosNoBanco = Arrays.asList(Lancamento.builder().id(1L).build(),
+				Lancamento.builder().id(2L).build(), Lancamento.builder().id(3L).build());
+		Mockito.when(repository.buscar(Mockito.any(Lancamento.class), Mockito.eq(ids))).thenReturn(atualizadosNoBanco);
+
+		// Ação
+		int atualizados = service.atualizarStatusEmLote(filtro, ids, StatusLancamento.EFETIVADO);
+
+		// Verificação
+		assertEquals(3, atualizados);
+		Mockito.verify(saldoService).transferirStatus(movimentos, StatusLancamento.EFETIVADO);
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any(Lancamento.class));
+		Mockito.verify(cacheLancamentos).removerMes(1L, 2019, 1);
+		Mockito.verify(cacheLancamentos).removerLancamentos(ids);
+		Mockito.verify(eventosLancamento).registrarTodos(TipoEventoLancamento.ATUALIZADO, atualizadosNoBanco);
+	}
+
+	@Test
+	public void deveAtualizarPeloFiltroApenasOsLancamentosBloqueados() {
+		// Cenário
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(Usuario.builder().id(1L).build());
+		List<Long> bloqueados = Arrays.asList(4L, 7L);
+		Mockito.when(repository.bloquearParaStatus(filtro, null, StatusLancamento.CANCELADO)).thenReturn(bloqueados);
+		Mockito.when(repository.atualizarStatus(filtro, bloqueados, StatusLancamento.CANCELADO)).thenReturn(2);
+
+		// Ação
+		int atualizados = service.atualizarStatusEmLote(filtro, null, StatusLancamento.CANCELADO);
+
+		// Verificação
+		assertEquals(2, atualizados);
+		InOrder ordem = Mockito.inOrder(repository);
+		ordem.verify(repository).bloquearParaStatus(filtro, null, StatusLancamento.CANCELADO);
+		ordem.verify(repository).agruparMovimentosParaStatus(filtro, bloqueados, StatusLancamento.CANCELADO);
+		ordem.verify(repository).atualizarStatus(filtro, bloqueados, StatusLancamento.CANCELADO);
+		Mockito.verify(cacheLancamentos).removerLancamentos(bloqueados);
+	}
+
+	@Test
+	public void naoDeveAtualizarStatusEmLoteSemIdsNemUsuario() {
+		// Ação
+		assertThrows(RegraNegocioException.class,
+				() -> service.atualizarStatusEmLote(new Lancamento(), Collections.emptyList(), StatusLancamento.EFETIVADO));
+
+		// Verificação
+		Mockito.verify(repository, Mockito.never()).atualizarStatus(Mockito.any(), Mockito.any(), Mockito.any());
+	}
+
 	@Test
 	public void deveAtualizarUmLancamento() {
 		// Cenário
@@ -86,7 +188,8 @@ public class LancamentoServiceTest {
 
 		Mockito.doNothing().when(service).validar(lancamentoSalvo);
 
-		Mockito.when(repository.save(lancamentoSalvo)).thenReturn(lancamentoSalvo);
+		Mockito.when(repository.obterVersao(1L)).thenReturn(Optional.of(0L));
+		Mockito.when(repository.atualizar(lancamentoSalvo)).thenReturn(1);
 
 		// Ação / Execução
 		assertDoesNotThrow(() -> {
@@ -94,7 +197,139 @@ public class LancamentoServiceTest {
 		});
 
 		// Verificação
-		Mockito.verify(repository, Mockito.times(1)).save(lancamentoSalvo);
+		Mockito.verify(repository, Mockito.times(1)).atualizar(lancamentoSalvo);
+		Mockito.verify(repository, Mockito.never()).save(lancamentoSalvo);
+		Mockito.verify(saldoService).estornar(lancamentoSalvo.getId());
+		Mockito.verify(saldoService).registrar(lancamentoSalvo);
+		assertEquals(1L, lancamentoSalvo.getVersao());
+	}
+
+	@Test
+	public void deveLancarConflitoAoAtualizarLancamentoAlteradoEmOutraVersao() {
+		// Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1L);
+		lancamento.setVersao(3L);
+
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(repository.atualizar(lancamento)).thenReturn(0);
+
+		// Ação / Execução
+		assertThrows(ConflitoVersaoException.class, () -> service.atualizar(lancamento));
+
+		// Verificação
+		Mockito.verify(repository, Mockito.never()).obterVersao(Mockito.anyLong());
+		Mockito.verify(saldoService, Mockito.never()).registrar(Mockito.any(Lancamento.class));
+		Mockito.verify(eventosLancamento, Mockito.never()).registrar(Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void deveAlterarApenasADescricaoSemMovimentarOSaldo() {
+		// Cenário
+		Lancamento lancamento = lancamentoSalvoNaVersao(0L);
+		Mockito.when(repository.findById(1L)).thenReturn(Optional.of(lancamento));
+
+		Lancamento alteracoes = new Lancamento();
+		alteracoes.setDescricao("Condomínio");
+
+		// Ação / Execução
+		Lancamento atualizado = service.atualizarCampos(1L, null, alteracoes, Collections.singleton("descricao"));
+
+		// Verificação
+		assertEquals("Condomínio", atualizado.getDescricao());
+		assertEquals(BigDecimal.valueOf(10), atualizado.getValor());
+		Mockito.verify(repository).flush();
+		Mockito.verify(saldoService, Mockito.never()).estornar(Mockito.any(SaldoMensal.class));
+		Mockito.verify(saldoService, Mockito.never()).registrar(Mockito.any(Lancamento.class));
+		Mockito.verify(eventosLancamento).registrar(TipoEventoLancamento.ATUALIZADO, lancamento);
+	}
+
+	@Test
+	public void deveMovimentarOSaldoQuandoOValorForAlterado() {
+		// Cenário
+		Lancamento lancamento = lancamentoSalvoNaVersao(0L);
+		Mockito.when(repository.findById(1L)).thenReturn(Optional.of(lancamento));
+
+		Lancamento alteracoes = new Lancamento();
+		alteracoes.setValor(BigDecimal.valueOf(25));
+
+		// Ação / Execução
+		service.atualizarCampos(1L, 0L, alteracoes, Collections.singleton("valor"));
+
+		// Verificação
+		ArgumentCaptor<SaldoMensal> estorno = ArgumentCaptor.forClass(SaldoMensal.class);
+		Mockito.verify(saldoService).estornar(estorno.capture());
+		assertEquals(0, BigDecimal.valueOf(10).compareTo(estorno.getValue().getValor()));
+		Mockito.verify(saldoService).registrar(lancamento);
+		assertEquals(0, BigDecimal.valueOf(25).compareTo(lancamento.getValor()));
+	}
+
+	@Test
+	public void deveValidarApenasOsCamposAlterados() {
+		// Cenário
+		Lancamento lancamento = lancamentoSalvoNaVersao(0L);
+		lancamento.setDescricao(null);
+		Mockito.when(repository.findById(1L)).thenReturn(Optional.of(lancamento));
+
+		Lancamento valorValido = new Lancamento();
+		valorValido.setValor(BigDecimal.ONE);
+		Lancamento valorInvalido = new Lancamento();
+		valorInvalido.setValor(BigDecimal.ZERO);
+
+		// Ação / Execução
+		assertDoesNotThrow(() -> service.atualizarCampos(1L, null, valorValido, Collections.singleton("valor")));
+		RegraNegocioException erro = assertThrows(RegraNegocioException.class,
+				() -> service.atualizarCampos(1L, null, valorInvalido, Collections.singleton("valor")));
+
+		// Verificação
+		assertEquals("Informe um Valor válido.", erro.getMessage());
+	}
+
+	@Test
+	public void naoDeveAlterarCamposParciaisForaDosPermitidosOuEmOutraVersao() {
+		// Cenário
+		Mockito.when(repository.findById(1L)).thenReturn(Optional.of(lancamentoSalvoNaVersao(2L)));
+
+		// Ação / Execução
+		assertThrows(RegraNegocioException.class,
+				() -> service.atualizarCampos(1L, null, new Lancamento(), Collections.singleton("id")));
+		assertThrows(ConflitoVersaoException.class,
+				() -> service.atualizarCampos(1L, 1L, new Lancamento(), Collections.singleton("descricao")));
+
+		// Verificação
+		Mockito.verify(repository, Mockito.never()).flush();
+	}
+
+	private Lancamento lancamentoSalvoNaVersao(Long versao) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1L);
+		lancamento.setUsuario(Usuario.builder().id(1L).build());
+		lancamento.setVersao(versao);
+		return lancamento;
+	}
+
+	@Test
+	public void deveRemoverDoCacheOMesAnteriorEOAtualAoAtualizar() {
+		// Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1L);
+		lancamento.setUsuario(Usuario.builder().id(1L).build());
+		lancamento.setMes(2);
+
+		SaldoMensal anterior = new SaldoMensal(1L, 2019, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE,
+				BigDecimal.TEN, 1L);
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(saldoService.estornar(1L)).thenReturn(Optional.of(anterior));
+		Mockito.when(repository.obterVersao(1L)).thenReturn(Optional.of(0L));
+		Mockito.when(repository.atualizar(lancamento)).thenReturn(1);
+
+		// Ação / Execução
+		service.atualizar(lancamento);
+
+		// Verificação
+		Mockito.verify(cacheLancamentos).removerMes(1L, 2019, 1);
+		Mockito.verify(cacheLancamentos).removerMes(1L, 2019, 2);
+		Mockito.verify(cacheLancamentos).removerLancamento(1L);
 	}
 
 	@Test
@@ -128,7 +363,9 @@ public class LancamentoServiceTest {
 		});
 
 		// Verificação
+		Mockito.verify(saldoService).estornar(lancamentoParaDeletar.getId());
 		Mockito.verify(repository).delete(lancamentoParaDeletar);
+		Mockito.verify(eventosLancamento).registrar(TipoEventoLancamento.REMOVIDO, lancamentoParaDeletar);
 	}
 
 	@Test
@@ -153,7 +390,7 @@ public class LancamentoServiceTest {
 		lancamento.setId(1L);
 
 		List<Lancamento> lista = Arrays.asList(lancamento);
-		Mockito.when(repository.findAll(Mockito.any(Example.class))).thenReturn(lista);
+		Mockito.when(repository.buscar(lancamento, null)).thenReturn(lista);
 
 		// Ação / Execução
 		List<Lancamento> resultado = service.buscar(lancamento);
@@ -162,6 +399,120 @@ public class LancamentoServiceTest {
 		assertThat(resultado).isNotEmpty().hasSize(1).contains(lancamento);
 	}
 
+	@Test
+	public void deveFiltrarLancamentoPelaDescricaoUsandoOIndice() {
+		// Cenário
+		Usuario usuario = Usuario.builder().id(1L).build();
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		filtro.setAno(2019);
+		filtro.setDescricao("aluguel");
+		filtro.setTipo(TipoLancamento.DESPESA);
+		filtro.setStatus(StatusLancamento.PENDENTE);
+
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(10L);
+
+		Set<Long> ids = Collections.singleton(10L);
+		Mockito.when(indiceDescricaoService.buscar(1L, "aluguel")).thenReturn(Optional.of(ids));
+		Mockito.when(repository.buscar(Mockito.any(Lancamento.class), Mockito.eq(ids))).thenReturn(Arrays.asList(lancamento));
+
+		// Ação / Execução
+		List<Lancamento> resultado = service.buscar(filtro);
+
+		// Verificação
+		assertThat(resultado).containsExactly(lancamento);
+		Mockito.verify(repository).buscar(Mockito.argThat(f -> "aluguel".equals(f.getDescricao()) && f.getAno() == 2019
+				&& f.getTipo() == TipoLancamento.DESPESA && f.getStatus() == StatusLancamento.PENDENTE), Mockito.eq(ids));
+	}
+
+	@Test
+	public void deveRetornarVazioQuandoOIndiceNaoEncontrarADescricao() {
+		// Cenário
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(Usuario.builder().id(1L).build());
+		filtro.setDescricao("inexistente");
+
+		Mockito.when(indiceDescricaoService.buscar(1L, "inexistente")).thenReturn(Optional.of(Collections.emptySet()));
+
+		// Ação / Execução
+		List<Lancamento> resultado = service.buscar(filtro);
+
+		// Verificação
+		assertThat(resultado).isEmpty();
+		Mockito.verify(repository, Mockito.never()).buscar(Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void deveBuscarLancamentosProjetadosUsandoOIndiceDeDescricao() {
+		// Cenário
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(Usuario.builder().id(1L).build());
+		filtro.setDescricao("aluguel");
+
+		LancamentoDTO dto = LancamentoDTO.builder().id(10L).descricao("Aluguel").usuario(1L).build();
+
+		Set<Long> ids = Collections.singleton(10L);
+		Mockito.when(indiceDescricaoService.buscar(1L, "aluguel")).thenReturn(Optional.of(ids));
+		Mockito.when(repository.buscarDTO(Mockito.any(Lancamento.class), Mockito.eq(ids))).thenReturn(Arrays.asList(dto));
+
+		// Ação / Execução
+		List<LancamentoDTO> resultado = service.buscarDTO(filtro);
+
+		// Verificação
+		assertThat(resultado).containsExactly(dto);
+		Mockito.verify(repository, Mockito.never()).buscar(Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void deveExportarOsLancamentosDoUsuarioUmAUm() {
+		// Cenário
+		LancamentoDTO primeiro = LancamentoDTO.builder().id(1L).build();
+		LancamentoDTO segundo = LancamentoDTO.builder().id(2L).build();
+		Mockito.when(repository.exportarPorUsuario(1L)).thenReturn(Stream.of(primeiro, segundo));
+
+		// Ação / Execução
+		List<LancamentoDTO> exportados = new ArrayList<>();
+		service.exportar(1L, exportados::add);
+
+		// Verificação
+		assertThat(exportados).containsExactly(primeiro, segundo);
+	}
+
+	@Test
+	public void deveBuscarPaginaIndicandoQueHaMaisResultados() {
+		// Cenário
+		Lancamento filtro = new Lancamento();
+		Lancamento primeiro = LancamentoRepositoryTest.criarLancamento();
+		primeiro.setId(1L);
+		Lancamento segundo = LancamentoRepositoryTest.criarLancamento();
+		segundo.setId(2L);
+
+		Mockito.when(repository.buscarPagina(filtro, null, 2)).thenReturn(Arrays.asList(primeiro, segundo));
+
+		// Ação / Execução
+		Slice<Lancamento> pagina = service.buscarPagina(filtro, null, 1);
+
+		// Verificação
+		assertThat(pagina.getContent()).containsExactly(primeiro);
+		assertTrue(pagina.hasNext());
+	}
+
+	@Test
+	public void deveLimitarOTamanhoDaPaginaAoMaximoConfigurado() {
+		// Cenário
+		Lancamento filtro = new Lancamento();
+		Mockito.when(repository.buscarPagina(Mockito.eq(filtro), Mockito.isNull(), Mockito.anyInt()))
+				.thenReturn(Collections.emptyList());
+
+		// Ação / Execução
+		Slice<Lancamento> pagina = service.buscarPagina(filtro, null, 5000);
+
+		// Verificação
+		Mockito.verify(repository).buscarPagina(filtro, null, 101);
+		assertFalse(pagina.hasNext());
+	}
+
 	@Test
 	public void deveAtualizarOStatusDeUmLancamento() {
 		// Cenário
@@ -280,7 +631,15 @@ public class LancamentoServiceTest {
 
 	@Test
 	public void DeveObterSaldoPorUsuario() {
+		// Cenário
+		Long idUsuario = 1L;
+		Mockito.when(saldoService.obterSaldo(idUsuario)).thenReturn(BigDecimal.valueOf(150));
+
+		// Ação / Execução
+		BigDecimal saldo = service.obterSaldoPorUsuario(idUsuario);
 
+		// Verificação
+		assertEquals(BigDecimal.valueOf(150), saldo);
 	}
 
 	@Test
@@ -0,0 +1,62 @@
+package com.joabss.financecontrol.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.joabss.financecontrol.service.RecorrenciaService;
+import com.joabss.financecontrol.service.impl.MaterializacaoRecorrenciasJob;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "recorrencia.materializacao.lote=2")
+public class MaterializacaoRecorrenciasJobTest {
+
+	@SpyBean
+	MaterializacaoRecorrenciasJob job;
+	@MockBean
+	RecorrenciaService recorrenciaService;
+
+	@Test
+	public void devePercorrerAsRegrasPorPaginasDeIds() {
+		// Cenário
+		Mockito.when(recorrenciaService.buscarParaMaterializar(0L, 2)).thenReturn(Arrays.asList(1L, 2L));
+		Mockito.when(recorrenciaService.buscarParaMaterializar(2L, 2)).thenReturn(Collections.singletonList(3L));
+		Mockito.when(recorrenciaService.materializar(Mockito.anyLong())).thenReturn(true);
+		Mockito.when(recorrenciaService.materializar(2L)).thenReturn(false);
+
+		// Ação
+		int materializadas = job.materializar();
+
+		// Verificação
+		assertEquals(2, materializadas);
+		Mockito.verify(recorrenciaService).materializar(3L);
+		Mockito.verify(recorrenciaService, Mockito.never()).buscarParaMaterializar(3L, 2);
+	}
+
+	@Test
+	public void deveContinuarNasDemaisRegrasQuandoUmaFalhar() {
+		// Cenário
+		Mockito.when(recorrenciaService.buscarParaMaterializar(0L, 2)).thenReturn(Arrays.asList(1L, 2L));
+		Mockito.when(recorrenciaService.buscarParaMaterializar(2L, 2)).thenReturn(Collections.emptyList());
+		Mockito.when(recorrenciaService.materializar(1L)).thenThrow(IllegalStateException.class);
+		Mockito.when(recorrenciaService.materializar(2L)).thenReturn(true);
+
+		// Ação
+		int materializadas = job.materializar();
+
+		// Verificação
+		assertEquals(1, materializadas);
+		Mockito.verify(recorrenciaService).materializar(2L);
+	}
+}
@@ -0,0 +1,157 @@
+package com.joabss.financecontrol.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.Parcelamento;
+import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.model.enums.StatusLancamento;
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+import com.joabss.financecontrol.model.repository.LancamentoRepository;
+import com.joabss.financecontrol.model.repository.ParcelamentoRepository;
+import com.joabss.financecontrol.model.repository.SaldoMensalRepository;
+import com.joabss.financecontrol.model.repository.UsuarioRepository;
+import com.joabss.financecontrol.service.LancamentoService;
+import com.joabss.financecontrol.service.ParcelamentoService;
+import com.joabss.financecontrol.service.SaldoService;
+
+/**
+ * Operações sobre as parcelas restantes de um plano disputando com
+ * alterações de parcelas isoladas. Algumas podem falhar por conflito, mas o
+ * saldo mensal e o valor total do plano devem continuar coerentes com as
+ * parcelas gravadas.
+ */
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:parcelamento;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000;INIT=CREATE SCHEMA IF NOT EXISTS financas",
+		"saldo.reconciliacao.na-inicializacao=false" })
+public class ParcelamentoConcorrenciaTest {
+
+	static final int PARCELAS = 12;
+	static final int RODADAS = 10;
+
+	@Autowired
+	ParcelamentoService parcelamentoService;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	SaldoService saldoService;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	ParcelamentoRepository parcelamentoRepository;
+
+	@Autowired
+	SaldoMensalRepository saldoMensalRepository;
+
+	Usuario usuario;
+	Long idParcelamento;
+	List<Long> parcelas;
+
+	@BeforeEach
+	public void setUp() {
+		lancamentoRepository.deleteAll();
+		parcelamentoRepository.deleteAll();
+		saldoMensalRepository.deleteAll();
+		usuarioRepository.deleteAll();
+
+		usuario = usuarioRepository.save(
+				Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+		List<Lancamento> salvas = parcelamentoService.salvar(Parcelamento.builder()
+				.usuario(usuario)
+				.descricao("Notebook")
+				.valorTotal(new BigDecimal("1200.00"))
+				.quantidadeParcelas(PARCELAS)
+				.tipo(TipoLancamento.DESPESA)
+				.mesInicial(1)
+				.anoInicial(2020)
+				.build());
+		idParcelamento = salvas.get(0).getParcelamento().getId();
+		parcelas = new ArrayList<>();
+		salvas.forEach(parcela -> parcelas.add(parcela.getId()));
+	}
+
+	@Test
+	public void deveManterOSaldoEOValorTotalCoerentesSobConcorrencia() throws Exception {
+		// Cenário
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		CountDownLatch largada = new CountDownLatch(1);
+		AtomicInteger concluidas = new AtomicInteger();
+		List<Callable<Void>> tarefas = new ArrayList<>();
+		for (int rodada = 0; rodada < RODADAS; rodada++) {
+			BigDecimal valorRestante = BigDecimal.valueOf(500 + rodada * 37, 2).multiply(BigDecimal.TEN);
+			tarefas.add(() -> executar(largada, concluidas, () -> parcelamentoService.atualizarRestantes(
+					parcelamentoService.obterPorId(idParcelamento).get(), valorRestante)));
+
+			Long parcela = parcelas.get(rodada % PARCELAS);
+			StatusLancamento status = rodada % 2 == 0 ? StatusLancamento.EFETIVADO : StatusLancamento.PENDENTE;
+			tarefas.add(() -> executar(largada, concluidas, () -> lancamentoService.atualizarStatus(
+					lancamentoService.obterPorId(parcela).get(), status)));
+		}
+		tarefas.add(() -> executar(largada, concluidas, () -> parcelamentoService.cancelarRestantes(
+				parcelamentoService.obterPorId(idParcelamento).get())));
+
+		// Ação
+		List<Future<Void>> resultados = new ArrayList<>();
+		tarefas.forEach(tarefa -> resultados.add(executor.submit(tarefa)));
+		largada.countDown();
+		for (Future<Void> resultado : resultados) {
+			resultado.get(60, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		// Verificação
+		assertTrue(concluidas.get() > 0);
+		assertEquals(0, saldoService.reconciliar(usuario.getId()));
+
+		BigDecimal somaParcelas = lancamentoRepository.findAll().stream()
+				.map(Lancamento::getValor)
+				.reduce(BigDecimal.ZERO, BigDecimal::add);
+		assertEquals(somaParcelas, parcelamentoRepository.findById(idParcelamento).get().getValorTotal());
+	}
+
+	/**
+	 * Espera a largada e executa a operação; uma falha por conflito ou
+	 * bloqueio só desfaz a própria transação.
+	 */
+	private Void executar(CountDownLatch largada, AtomicInteger concluidas, Runnable operacao) throws InterruptedException {
+		largada.await();
+		try {
+			operacao.run();
+			concluidas.incrementAndGet();
+		} catch (RuntimeException e) {
+			// conflito de versão, plano sem parcelas pendentes ou vítima de deadlock
+		}
+		return null;
+	}
+}
@@ -0,0 +1,211 @@
+package com.joabss.financecontrol.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.AdditionalAnswers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.joabss.financecontrol.exception.RegraNegocioException;
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.Parcelamento;
+import com.joabss.financecontrol.model.entity.SaldoMensal;
+import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.model.enums.StatusLancamento;
+import com.joabss.financecontrol.model.enums.TipoEventoLancamento;
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+import com.joabss.financecontrol.model.repository.LancamentoRepository;
+import com.joabss.financecontrol.model.repository.ParcelamentoRepository;
+import com.joabss.financecontrol.service.LancamentoService;
+import com.joabss.financecontrol.service.SaldoService;
+import com.joabss.financecontrol.service.impl.CacheLancamentos;
+import com.joabss.financecontrol.service.impl.EventosLancamento;
+import com.joabss.financecontrol.service.impl.ParcelamentoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ParcelamentoServiceTest {
+
+	@SpyBean
+	ParcelamentoServiceImpl service;
+	@MockBean
+	ParcelamentoRepository repository;
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+	@MockBean
+	LancamentoService lancamentoService;
+	@MockBean
+	SaldoService saldoService;
+	@MockBean
+	CacheLancamentos cacheLancamentos;
+	@MockBean
+	EventosLancamento eventosLancamento;
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void deveGerarTodasAsParcelasEmUmLoteComASobraNaPrimeira() {
+		// Cenário
+		Parcelamento parcelamento = criarParcelamento();
+		Mockito.when(repository.save(parcelamento)).thenReturn(parcelamento);
+		Mockito.when(lancamentoService.salvarEmLote(Mockito.anyList())).then(AdditionalAnswers.returnsFirstArg());
+
+		// Ação
+		List<Lancamento> parcelas = service.salvar(parcelamento);
+
+		// Verificação
+		ArgumentCaptor<List<Lancamento>> lote = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(lancamentoService).salvarEmLote(lote.capture());
+		assertEquals(3, lote.getValue().size());
+		assertEquals(parcelas, lote.getValue());
+
+		assertEquals(new BigDecimal("33.34"), parcelas.get(0).getValor());
+		assertEquals(new BigDecimal("33.33"), parcelas.get(1).getValor());
+		assertEquals(new BigDecimal("33.33"), parcelas.get(2).getValor());
+		assertEquals("Notebook (1/3)", parcelas.get(0).getDescricao());
+		assertEquals(1, parcelas.get(2).getMes().intValue());
+		assertEquals(2020, parcelas.get(2).getAno().intValue());
+		assertEquals(3, parcelas.get(2).getParcela().intValue());
+		assertEquals(parcelamento, parcelas.get(2).getParcelamento());
+	}
+
+	@Test
+	public void naoDeveSalvarUmParcelamentoComMenosDeUmCentavoPorParcela() {
+		// Cenário
+		Parcelamento parcelamento = criarParcelamento();
+		parcelamento.setValorTotal(new BigDecimal("0.02"));
+
+		// Ação
+		assertThrows(RegraNegocioException.class, () -> service.salvar(parcelamento));
+
+		// Verificação
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+		Mockito.verify(lancamentoService, Mockito.never()).salvarEmLote(Mockito.anyList());
+	}
+
+	@Test
+	public void naoDeveSalvarUmParcelamentoCujaUltimaParcelaPasseDoAno9999() {
+		// Cenário
+		Parcelamento parcelamento = criarParcelamento();
+		parcelamento.setAnoInicial(9999);
+		parcelamento.setMesInicial(12);
+
+		// Ação
+		assertThrows(RegraNegocioException.class, () -> service.salvar(parcelamento));
+
+		// Verificação
+		Mockito.verify(lancamentoService, Mockito.never()).salvarEmLote(Mockito.anyList());
+	}
+
+	@Test
+	public void deveCancelarAsParcelasPendentesDoPlanoEmLote() {
+		// Cenário
+		Parcelamento parcelamento = criarParcelamento();
+		parcelamento.setId(1L);
+		Mockito.when(repository.obterParaAtualizar(1L)).thenReturn(Optional.of(parcelamento));
+		Mockito.when(lancamentoService.atualizarStatusEmLote(Mockito.any(), Mockito.isNull(),
+				Mockito.eq(StatusLancamento.CANCELADO))).thenReturn(2);
+
+		// Ação
+		int cancelados = service.cancelarRestantes(parcelamento);
+
+		// Verificação
+		assertEquals(2, cancelados);
+		ArgumentCaptor<Lancamento> filtro = ArgumentCaptor.forClass(Lancamento.class);
+		Mockito.verify(lancamentoService).atualizarStatusEmLote(filtro.capture(), Mockito.isNull(),
+				Mockito.eq(StatusLancamento.CANCELADO));
+		assertEquals(parcelamento, filtro.getValue().getParcelamento());
+		assertEquals(StatusLancamento.PENDENTE, filtro.getValue().getStatus());
+		InOrder ordem = Mockito.inOrder(repository, lancamentoService);
+		ordem.verify(repository).obterParaAtualizar(1L);
+		ordem.verify(lancamentoService).atualizarStatusEmLote(Mockito.any(), Mockito.isNull(), Mockito.any());
+	}
+
+	@Test
+	public void deveRedistribuirOValorRestanteAPartirDoPlanoBloqueado() {
+		// Cenário
+		Parcelamento parcelamento = criarParcelamento();
+		parcelamento.setId(1L);
+		Parcelamento bloqueado = criarParcelamento();
+		bloqueado.setId(1L);
+		bloqueado.setValorTotal(new BigDecimal("90.00"));
+		Mockito.when(repository.obterParaAtualizar(1L)).thenReturn(Optional.of(bloqueado));
+		Mockito.when(lancamentoRepository.bloquearParcelas(1L, StatusLancamento.PENDENTE)).thenReturn(Arrays.asList(2L, 3L));
+		SaldoMensal fevereiro = new SaldoMensal(1L, 2019, 2, TipoLancamento.DESPESA, StatusLancamento.PENDENTE,
+				new BigDecimal("33.33"), 1L);
+		SaldoMensal marco = new SaldoMensal(1L, 2019, 3, TipoLancamento.DESPESA, StatusLancamento.PENDENTE,
+				new BigDecimal("33.33"), 1L);
+		SaldoMensal fevereiroAtualizado = new SaldoMensal(1L, 2019, 2, TipoLancamento.DESPESA, StatusLancamento.PENDENTE,
+				new BigDecimal("25.01"), 1L);
+		Mockito.when(lancamentoRepository.agruparMovimentosPorIds(Arrays.asList(2L, 3L)))
+			.thenReturn(Arrays.asList(fevereiro, marco), Collections.singletonList(fevereiroAtualizado));
+		Mockito.when(lancamentoRepository.obterPrimeiraParcela(Arrays.asList(2L, 3L))).thenReturn(2);
+		Mockito.when(lancamentoRepository.atualizarValorParcelas(Mockito.any(), Mockito.anyInt(),
+				Mockito.any(), Mockito.any())).thenReturn(2);
+		List<Lancamento> parcelas = Arrays.asList(Lancamento.builder().id(2L).build(), Lancamento.builder().id(3L).build());
+		Mockito.when(lancamentoRepository.buscar(Mockito.any(Lancamento.class), Mockito.eq(Arrays.asList(2L, 3L))))
+			.thenReturn(parcelas);
+
+		// Ação
+		int atualizados = service.atualizarRestantes(parcelamento, new BigDecimal("50.01"));
+
+		// Verificação
+		assertEquals(2, atualizados);
+		Mockito.verify(lancamentoRepository).atualizarValorParcelas(Arrays.asList(2L, 3L), 2,
+				new BigDecimal("25.01"), new BigDecimal("25.00"));
+		Mockito.verify(saldoService).estornar(fevereiro);
+		Mockito.verify(saldoService).estornar(marco);
+		Mockito.verify(saldoService).registrar(fevereiroAtualizado);
+		assertEquals(new BigDecimal("73.35"), bloqueado.getValorTotal());
+		Mockito.verify(repository).save(bloqueado);
+		Mockito.verify(eventosLancamento).registrarTodos(TipoEventoLancamento.ATUALIZADO, parcelas);
+		Mockito.verify(cacheLancamentos).removerLancamentos(Arrays.asList(2L, 3L));
+		InOrder ordem = Mockito.inOrder(repository, lancamentoRepository);
+		ordem.verify(repository).obterParaAtualizar(1L);
+		ordem.verify(lancamentoRepository).bloquearParcelas(1L, StatusLancamento.PENDENTE);
+		ordem.verify(lancamentoRepository).agruparMovimentosPorIds(Arrays.asList(2L, 3L));
+	}
+
+	@Test
+	public void naoDeveAtualizarUmParcelamentoSemParcelasPendentes() {
+		// Cenário
+		Parcelamento parcelamento = criarParcelamento();
+		parcelamento.setId(1L);
+		Mockito.when(repository.obterParaAtualizar(1L)).thenReturn(Optional.of(parcelamento));
+		Mockito.when(lancamentoRepository.bloquearParcelas(1L, StatusLancamento.PENDENTE))
+			.thenReturn(Collections.emptyList());
+
+		// Ação
+		assertThrows(RegraNegocioException.class, () -> service.atualizarRestantes(parcelamento, BigDecimal.TEN));
+
+		// Verificação
+		Mockito.verify(lancamentoRepository, Mockito.never()).atualizarValorParcelas(
+				Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+	}
+
+	private Parcelamento criarParcelamento() {
+		return Parcelamento.builder()
+				.usuario(Usuario.builder().id(1L).build())
+				.descricao("Notebook")
+				.valorTotal(new BigDecimal("100.00"))
+				.quantidadeParcelas(3)
+				.tipo(TipoLancamento.DESPESA)
+				.mesInicial(11)
+				.anoInicial(2019)
+				.build();
+	}
+}
@@ -0,0 +1,182 @@
+package com.joabss.financecontrol.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.joabss.financecontrol.api.dto.LancamentoDTO;
+import com.joabss.financecontrol.exception.RegraNegocioException;
+import com.joabss.financecontrol.model.entity.Lancamento;
+import com.joabss.financecontrol.model.entity.Recorrencia;
+import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.model.enums.PeriodicidadeRecorrencia;
+import com.joabss.financecontrol.model.enums.StatusLancamento;
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+import com.joabss.financecontrol.model.repository.RecorrenciaRepository;
+import com.joabss.financecontrol.model.repository.RecorrenciaRepositoryTest;
+import com.joabss.financecontrol.service.LancamentoService;
+import com.joabss.financecontrol.service.impl.RecorrenciaServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "recorrencia.horizonte-meses=1")
+public class RecorrenciaServiceTest {
+
+	@SpyBean
+	RecorrenciaServiceImpl service;
+	@MockBean
+	RecorrenciaRepository repository;
+	@MockBean
+	LancamentoService lancamentoService;
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void deveMaterializarAsOcorrenciasAteOHorizonteAoSalvar() {
+		// Cenário
+		YearMonth inicio = YearMonth.now().minusMonths(2);
+		Recorrencia recorrencia = criarRecorrencia(inicio, null);
+		Mockito.when(repository.save(recorrencia)).thenReturn(recorrencia);
+
+		// Ação
+		service.salvar(recorrencia);
+
+		// Verificação
+		ArgumentCaptor<List<Lancamento>> lancamentos = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(lancamentoService).salvarEmLote(lancamentos.capture());
+		assertEquals(4, lancamentos.getValue().size());
+		assertEquals(inicio.getMonthValue(), lancamentos.getValue().get(0).getMes().intValue());
+		assertEquals(YearMonth.now().plusMonths(1).getMonthValue(), lancamentos.getValue().get(3).getMes().intValue());
+
+		YearMonth proximo = YearMonth.now().plusMonths(2);
+		assertEquals(proximo.getYear(), recorrencia.getAnoProximo().intValue());
+		assertEquals(proximo.getMonthValue(), recorrencia.getMesProximo().intValue());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void deveEncerrarARegraAoMaterializarAUltimaOcorrencia() {
+		// Cenário
+		YearMonth inicio = YearMonth.now().minusMonths(3);
+		Recorrencia recorrencia = criarRecorrencia(inicio, inicio.plusMonths(1));
+		YearMonth horizonte = YearMonth.now().plusMonths(1);
+		Mockito.when(repository.bloquearParaMaterializar(1L, horizonte.getYear(), horizonte.getMonthValue()))
+			.thenReturn(Optional.of(recorrencia));
+
+		// Ação
+		boolean materializada = service.materializar(1L);
+
+		// Verificação
+		assertTrue(materializada);
+		ArgumentCaptor<List<Lancamento>> lancamentos = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(lancamentoService).salvarEmLote(lancamentos.capture());
+		assertEquals(2, lancamentos.getValue().size());
+		assertNull(recorrencia.getAnoProximo());
+		assertNull(recorrencia.getMesProximo());
+	}
+
+	@Test
+	public void naoDeveMaterializarUmaRegraQueJaNaoEstaPendente() {
+		// Cenário
+		Mockito.when(repository.bloquearParaMaterializar(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt()))
+			.thenReturn(Optional.empty());
+
+		// Ação
+		boolean materializada = service.materializar(1L);
+
+		// Verificação
+		assertFalse(materializada);
+		Mockito.verify(lancamentoService, Mockito.never()).salvarEmLote(Mockito.anyList());
+	}
+
+	@Test
+	public void naoDeveSalvarUmaRecorrenciaQueTerminaAntesDeComecar() {
+		// Cenário
+		YearMonth inicio = YearMonth.of(2020, 5);
+		Recorrencia recorrencia = criarRecorrencia(inicio, inicio.minusMonths(1));
+
+		// Ação
+		RegraNegocioException erro = assertThrows(RegraNegocioException.class, () -> service.salvar(recorrencia));
+
+		// Verificação
+		assertEquals("O fim da recorrência deve ser igual ou posterior ao início.", erro.getMessage());
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+		Mockito.verify(lancamentoService, Mockito.never()).salvarEmLote(Mockito.any());
+	}
+
+	@Test
+	public void deveProjetarAsOcorrenciasNaoMaterializadasDoPeriodo() {
+		// Cenário
+		Recorrencia recorrencia = criarRecorrencia(YearMonth.of(2020, 1), null);
+		recorrencia.setAnoProximo(2030);
+		recorrencia.setMesProximo(10);
+		Mockito.when(repository.buscarParaProjecao(1L, 2030, 12)).thenReturn(Collections.singletonList(recorrencia));
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(Usuario.builder().id(1L).build());
+		filtro.setAno(2030);
+		filtro.setDescricao("alug");
+
+		// Ação
+		List<LancamentoDTO> projetados = service.projetar(filtro);
+		filtro.setDescricao("salário");
+		List<LancamentoDTO> semDescricao = service.projetar(filtro);
+
+		// Verificação
+		assertEquals(3, projetados.size());
+		assertNull(projetados.get(0).getId());
+		assertEquals(10, projetados.get(0).getMes().intValue());
+		assertEquals(12, projetados.get(2).getMes().intValue());
+		assertEquals(StatusLancamento.PENDENTE.name(), projetados.get(0).getStatus());
+		assertTrue(semDescricao.isEmpty());
+	}
+
+	@Test
+	public void deveSomarOsPendentesProjetadosPorTipoSemGerarAsOcorrencias() {
+		// Cenário
+		Recorrencia salario = criarRecorrencia(YearMonth.of(2030, 1), YearMonth.of(2030, 6));
+		salario.setTipo(TipoLancamento.RECEITA);
+		Recorrencia seguro = criarRecorrencia(YearMonth.of(2030, 5), null);
+		seguro.setPeriodicidade(PeriodicidadeRecorrencia.ANUAL);
+		seguro.setValor(BigDecimal.valueOf(50));
+		Mockito.when(repository.buscarParaProjecao(1L, 2032, 4)).thenReturn(Arrays.asList(salario, seguro));
+
+		// Ação
+		Map<TipoLancamento, BigDecimal> pendentes = service.projetarPendentes(1L, 2032, 4);
+
+		// Verificação
+		assertEquals(0, BigDecimal.valueOf(600).compareTo(pendentes.get(TipoLancamento.RECEITA)));
+		assertEquals(0, BigDecimal.valueOf(100).compareTo(pendentes.get(TipoLancamento.DESPESA)));
+	}
+
+	private Recorrencia criarRecorrencia(YearMonth inicio, YearMonth fim) {
+		Recorrencia recorrencia = RecorrenciaRepositoryTest.criarRecorrencia(
+				Usuario.builder().id(1L).build(), inicio.getYear(), inicio.getMonthValue());
+		recorrencia.setMesInicial(inicio.getMonthValue());
+		recorrencia.setAnoInicial(inicio.getYear());
+		if (fim != null) {
+			recorrencia.setMesFinal(fim.getMonthValue());
+			recorrencia.setAnoFinal(fim.getYear());
+		}
+		return recorrencia;
+	}
+}
@@ -0,0 +1,117 @@
+package com.joabss.financecontrol.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.joabss.financecontrol.api.dto.PeriodoRelatorioDTO;
+import com.joabss.financecontrol.exception.RegraNegocioException;
+import com.joabss.financecontrol.model.entity.SaldoMensal;
+import com.joabss.financecontrol.model.enums.StatusLancamento;
+import com.joabss.financecontrol.model.enums.TipoLancamento;
+import com.joabss.financecontrol.model.repository.LancamentoRepository;
+import com.joabss.financecontrol.model.repository.SaldoMensalRepository;
+import com.joabss.financecontrol.service.impl.SaldoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class SaldoServiceTest {
+
+	@SpyBean
+	SaldoServiceImpl service;
+	@MockBean
+	SaldoMensalRepository repository;
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+
+	@Test
+	public void deveMontarRelatorioMensalComSaldoAcumulado() {
+		// Cenário
+		Mockito.when(repository.obterSaldosAte(1L, Integer.MAX_VALUE)).thenReturn(Arrays.asList(
+				criarSaldo(2019, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 1000),
+				criarSaldo(2019, 1, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 300),
+				criarSaldo(2019, 1, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 50),
+				criarSaldo(2019, 2, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 200)));
+
+		// Ação / Execução
+		List<PeriodoRelatorioDTO> relatorio = service.obterRelatorio(1L, null, null, false);
+
+		// Verificação
+		assertEquals(2, relatorio.size());
+		assertEquals(3, relatorio.get(0).getTotais().size());
+		assertEquals(0, BigDecimal.valueOf(700).compareTo(relatorio.get(0).getSaldo()));
+		assertEquals(0, BigDecimal.valueOf(700).compareTo(relatorio.get(0).getSaldoAcumulado()));
+		assertEquals(Integer.valueOf(2), relatorio.get(1).getMes());
+		assertEquals(0, BigDecimal.valueOf(-200).compareTo(relatorio.get(1).getSaldo()));
+		assertEquals(0, BigDecimal.valueOf(500).compareTo(relatorio.get(1).getSaldoAcumulado()));
+	}
+
+	@Test
+	public void deveMontarRelatorioAnualAcumulandoAnosAnterioresAoInicial() {
+		// Cenário
+		Mockito.when(repository.obterSaldosAte(1L, 2020)).thenReturn(Arrays.asList(
+				criarSaldo(2019, 5, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100),
+				criarSaldo(2020, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 10),
+				criarSaldo(2020, 3, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 20)));
+
+		// Ação / Execução
+		List<PeriodoRelatorioDTO> relatorio = service.obterRelatorio(1L, 2020, 2020, true);
+
+		// Verificação
+		assertEquals(1, relatorio.size());
+		assertNull(relatorio.get(0).getMes());
+		assertEquals(1, relatorio.get(0).getTotais().size());
+		assertEquals(0, BigDecimal.valueOf(30).compareTo(relatorio.get(0).getTotais().get(0).getValor()));
+		assertEquals(Long.valueOf(2), relatorio.get(0).getTotais().get(0).getQuantidade());
+		assertEquals(0, BigDecimal.valueOf(30).compareTo(relatorio.get(0).getSaldo()));
+		assertEquals(0, BigDecimal.valueOf(130).compareTo(relatorio.get(0).getSaldoAcumulado()));
+	}
+
+	@Test
+	public void deveLancarErroQuandoAnoInicialForPosteriorAoFinal() {
+		// Ação / Execução
+		assertThrows(RegraNegocioException.class, () -> service.obterRelatorio(1L, 2021, 2020, false));
+
+		// Verificação
+		Mockito.verify(repository, Mockito.never()).obterSaldosAte(Mockito.anyLong(), Mockito.anyInt());
+	}
+
+	@Test
+	public void deveBloquearSaldosAntesDeLerOsLancamentosNaReconciliacao() {
+		// Cenário
+		SaldoMensal divergente = criarSaldo(2019, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100);
+		SaldoMensal faltante = criarSaldo(2019, 2, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 30);
+		Mockito.when(repository.bloquearPorUsuario(1L)).thenReturn(Arrays.asList(divergente));
+		Mockito.when(lancamentoRepository.agruparSaldoMensalPorUsuario(1L)).thenReturn(Arrays.asList(
+				criarSaldo(2019, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 80), faltante));
+		Mockito.when(repository.inserirSeAusente(faltante)).thenReturn(1);
+
+		// Ação / Execução
+		int divergencias = service.reconciliar(1L);
+
+		// Verificação
+		assertEquals(2, divergencias);
+		assertEquals(0, BigDecimal.valueOf(80).compareTo(divergente.getValor()));
+		InOrder ordem = Mockito.inOrder(repository, lancamentoRepository);
+		ordem.verify(repository).bloquearPorUsuario(1L);
+		ordem.verify(lancamentoRepository).agruparSaldoMensalPorUsuario(1L);
+		ordem.verify(repository).inserirSeAusente(faltante);
+	}
+
+	private SaldoMensal criarSaldo(int ano, int mes, TipoLancamento tipo, StatusLancamento status, long valor) {
+		return new SaldoMensal(1L, ano, mes, tipo, status, BigDecimal.valueOf(valor), 1L);
+	}
+}
@@ -0,0 +1,82 @@
+package com.joabss.financecontrol.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.joabss.financecontrol.model.entity.Usuario;
+import com.joabss.financecontrol.model.repository.UsuarioRepository;
+import com.joabss.financecontrol.service.UsuarioAutenticado;
+import com.joabss.financecontrol.service.impl.SecurityUserDetailsService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@Import(SimpleMeterRegistry.class)
+public class SecurityUserDetailsServiceTest {
+
+	@SpyBean
+	SecurityUserDetailsService service;
+
+	@MockBean
+	UsuarioRepository repository;
+
+	@Test
+	public void deveConsultarOUsuarioUmaVezEnquantoEstiverEmCache() {
+		// Cenário
+		Mockito.when(repository.findByEmail("cache@email.com")).thenReturn(Optional.of(criarUsuario("cache@email.com")));
+
+		// Ação
+		UsuarioAutenticado primeiro = service.carregarUsuarioAutenticado("cache@email.com");
+		UsuarioAutenticado segundo = service.carregarUsuarioAutenticado("cache@email.com");
+
+		// Verificação
+		assertEquals(1L, primeiro.getId());
+		assertEquals("nome", primeiro.getNome());
+		assertEquals("", segundo.getPassword());
+		Mockito.verify(repository, Mockito.times(1)).findByEmail("cache@email.com");
+	}
+
+	@Test
+	public void deveConsultarNovamenteOUsuarioInvalidado() {
+		// Cenário
+		Mockito.when(repository.findByEmail("invalidado@email.com")).thenReturn(Optional.of(criarUsuario("invalidado@email.com")));
+		service.carregarUsuarioAutenticado("invalidado@email.com");
+
+		// Ação
+		service.invalidar("invalidado@email.com");
+		service.carregarUsuarioAutenticado("invalidado@email.com");
+
+		// Verificação
+		Mockito.verify(repository, Mockito.times(2)).findByEmail("invalidado@email.com");
+	}
+
+	@Test
+	public void naoDeveGuardarEmCacheUsuarioNaoEncontrado() {
+		// Cenário
+		Mockito.when(repository.findByEmail("inexistente@email.com")).thenReturn(Optional.empty());
+
+		// Ação
+		assertThrows(UsernameNotFoundException.class, () -> service.carregarUsuarioAutenticado("inexistente@email.com"));
+		assertThrows(UsernameNotFoundException.class, () -> service.carregarUsuarioAutenticado("inexistente@email.com"));
+
+		// Verificação
+		Mockito.verify(repository, Mockito.times(2)).findByEmail("inexistente@email.com");
+	}
+
+	private Usuario criarUsuario(String email) {
+		return Usuario.builder().id(1L).nome("nome").email(email).senha("senha").build();
+	}
+}
@@ -2,6 +2,7 @@ package com.joabss.financecontrol.model.service;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -12,6 +13,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -19,10 +24,15 @@ import com.joabss.financecontrol.exception.ErroAutenticacao;
 import com.joabss.financecontrol.exception.RegraNegocioException;
 import com.joabss.financecontrol.model.entity.Usuario;
 import com.joabss.financecontrol.model.repository.UsuarioRepository;
+import com.joabss.financecontrol.service.UsuarioAutenticado;
+import com.joabss.financecontrol.service.impl.SecurityUserDetailsService;
 import com.joabss.financecontrol.service.impl.UsuarioServiceImpl;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
+@Import(SimpleMeterRegistry.class)
 public class UsuarioServiceTest {
 
 	@SpyBean
@@ -31,6 +41,12 @@ public class UsuarioServiceTest {
 	@MockBean
 	UsuarioRepository repository;
 
+	@MockBean
+	PasswordEncoder encoder;
+
+	@MockBean
+	SecurityUserDetailsService userDetailsService;
+
 	@Test
 	public void deveSalvarUmUsuario() {
 		assertDoesNotThrow(() -> {
@@ -78,15 +94,34 @@ public class UsuarioServiceTest {
 
 			Usuario usuario = criarusuario();
 			Mockito.when(repository.findByEmail(email)).thenReturn(Optional.of(usuario));
+			Mockito.when(encoder.matches(senha, usuario.getSenha())).thenReturn(true);
 
 			// Ação
 			Usuario result = service.autenticar(email, senha);
 
 			// Verificação
 			assertNotNull(result);
+			Mockito.verify(repository, Mockito.never()).save(Mockito.any(Usuario.class));
 		});
 	}
 
+	@Test
+	public void deveRefazerOHashDaSenhaAoAutenticarQuandoOAlgoritmoMudou() {
+		// Cenario
+		Usuario usuario = criarusuario();
+		Mockito.when(repository.findByEmail("email@email.com")).thenReturn(Optional.of(usuario));
+		Mockito.when(encoder.matches("senha", "senha")).thenReturn(true);
+		Mockito.when(encoder.upgradeEncoding("senha")).thenReturn(true);
+		Mockito.when(encoder.encode("senha")).thenReturn("{argon2}hash");
+
+		// Ação
+		service.autenticar("email@email.com", "senha");
+
+		// Verificação
+		assertEquals("{argon2}hash", usuario.getSenha());
+		Mockito.verify(repository).save(usuario);
+	}
+
 	@Test
 	public void deveLancarErroQuandoNaoEncontrarUsuarioCadastradoComEmailInformado() {
 		// Cenario
@@ -104,11 +139,16 @@ public class UsuarioServiceTest {
 		// Cenario
 		Usuario usuario = criarusuario();
 		Mockito.when(repository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(usuario));
+		Mockito.when(encoder.matches("1234", usuario.getSenha())).thenReturn(false);
 
 		// Ação
 		assertThrows(ErroAutenticacao.class, () -> {
 			service.autenticar("email@email.com", "1234");
 		});
+
+		// Verificação
+		Mockito.verify(encoder, Mockito.never()).upgradeEncoding(Mockito.anyString());
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any(Usuario.class));
 	}
 
 	@Test // validarEmail
@@ -133,6 +173,47 @@ public class UsuarioServiceTest {
 		});
 	}
 
+	@Test
+	public void deveObterReferenciaSemConsultarQuandoForOUsuarioAutenticado() {
+		try {
+			// Cenário
+			UsuarioAutenticado autenticado = new UsuarioAutenticado(1L, "nome", "email@email.com");
+			SecurityContextHolder.getContext().setAuthentication(
+					new UsernamePasswordAuthenticationToken(autenticado, null, autenticado.getAuthorities()));
+			Usuario referencia = criarusuario();
+			Mockito.when(repository.getOne(1L)).thenReturn(referencia);
+
+			// Ação
+			Optional<Usuario> usuario = service.obterReferencia(1L);
+
+			// Verificação
+			assertEquals(Optional.of(referencia), usuario);
+			Mockito.verify(repository, Mockito.never()).findById(Mockito.anyLong());
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+
+	@Test
+	public void deveConsultarOUsuarioQuandoNaoForOUsuarioAutenticado() {
+		try {
+			// Cenário
+			UsuarioAutenticado autenticado = new UsuarioAutenticado(1L, "nome", "email@email.com");
+			SecurityContextHolder.getContext().setAuthentication(
+					new UsernamePasswordAuthenticationToken(autenticado, null, autenticado.getAuthorities()));
+			Mockito.when(repository.findById(2L)).thenReturn(Optional.empty());
+
+			// Ação
+			Optional<Usuario> usuario = service.obterReferencia(2L);
+
+			// Verificação
+			assertFalse(usuario.isPresent());
+			Mockito.verify(repository, Mockito.never()).getOne(Mockito.anyLong());
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+
 	public static Usuario criarusuario() {
 		return Usuario.builder().nome("nome").email("email@email.com").senha("senha").id(1L).build();
 	}